@@ -38,43 +38,35 @@ public class App {
             SplashScreen splash = new SplashScreen(null);
             splash.setVisible(true);
             SwingWorker<AuthController, String> initializer = new SwingWorker<>() {
+                private StartupLoader startupLoader;
+
                 @Override
                 protected AuthController doInBackground() throws Exception {
                     try {
                         publish("Initializing Core Components...");
-                        Thread.sleep(200);
-
-                        publish("Setting up Data Paths...");
                         final String dataDir = "data/";
                         final String idFile = dataDir + "next_ids.dat";
                         final String logFile = dataDir + "logs.dat";
-                        Thread.sleep(200);
 
                         publish("Initializing ID Generator...");
                         IdGenerator sharedIdGenerator = new IdGenerator(idFile);
                         System.out.println("Shared IdGenerator initialized.");
-                        Thread.sleep(200);
-
-                        publish("Initializing Data Access Objects (DAO)...");
-                        IUserDAO userDAO = new UserDAOImpl(dataDir + "users.dat", sharedIdGenerator);
-                        ITeacherDAO teacherDAO = new TeacherDAOImpl(dataDir + "teachers.dat", sharedIdGenerator);
-                        IEduClassDAO eduClassDAO = new EduClassDAOImpl(dataDir + "educlasses.dat", sharedIdGenerator);
-                        IStudentDAO studentDAO = new StudentDAOImpl(dataDir + "students.dat", sharedIdGenerator, eduClassDAO);
-                        ICourseDAO courseDAO = new CourseDAOImpl(dataDir + "courses.dat", sharedIdGenerator);
-                        IRoomDAO roomDAO = new RoomDAOImpl(dataDir + "rooms.dat", sharedIdGenerator);
-                        IScheduleDAO scheduleDAO = new ScheduleDAOImpl(dataDir + "schedules.dat", sharedIdGenerator);
-                        IAcademicRecordDAO academicRecordDAO = new AcademicRecordDAOImpl(dataDir + "academic_records.dat", sharedIdGenerator);
-                        System.out.println("ALL DAOs initialized.");
-                        Thread.sleep(200);
-
-                        publish("Initializing Services...");
+
+                        publish("Loading User Accounts...");
+                        startupLoader = new StartupLoader();
+                        UserDAOImpl userDAO = startupLoader.load("users", () -> new UserDAOImpl(dataDir + "users.dat", sharedIdGenerator));
+                        ITeacherDAO teacherDAO = startupLoader.eager(ITeacherDAO.class, "teachers", () -> new TeacherDAOImpl(dataDir + "teachers.dat", sharedIdGenerator));
+                        IEduClassDAO eduClassDAO = startupLoader.eager(IEduClassDAO.class, "classes", () -> new EduClassDAOImpl(dataDir + "educlasses.dat", sharedIdGenerator));
+                        IStudentDAO studentDAO = startupLoader.eager(IStudentDAO.class, "students", () -> new StudentDAOImpl(dataDir + "students.dat", sharedIdGenerator, eduClassDAO));
+                        ICourseDAO courseDAO = startupLoader.eager(ICourseDAO.class, "courses", () -> new CourseDAOImpl(dataDir + "courses.dat", sharedIdGenerator));
+                        IRoomDAO roomDAO = startupLoader.eager(IRoomDAO.class, "rooms", () -> new RoomDAOImpl(dataDir + "rooms.dat", sharedIdGenerator));
+                        IScheduleDAO scheduleDAO = startupLoader.lazy(IScheduleDAO.class, "schedules", () -> new ScheduleDAOImpl(dataDir + "schedules.dat", sharedIdGenerator));
+                        IAcademicRecordDAO academicRecordDAO = startupLoader.lazy(IAcademicRecordDAO.class, "academic records", () -> new AcademicRecordDAOImpl(dataDir + "academic_records.dat", sharedIdGenerator));
+                        IAssignmentDAO assignmentDAO = startupLoader.lazy(IAssignmentDAO.class, "assignments", () -> new AssignmentDAOImpl(sharedIdGenerator));
                         LogService logService = new LogService(logFile);
-                        System.out.println("LogService initialized.");
-                        Thread.sleep(200);
 
                         publish("Checking Default Admin Account...");
-                        initializeDefaultAdminAccount((UserDAOImpl) userDAO);
-                        Thread.sleep(200);
+                        initializeDefaultAdminAccount(userDAO);
 
                         publish("Initializing Authentication Controller...");
                         AuthController authController = new AuthController(
@@ -87,6 +79,7 @@ public class App {
                                 scheduleDAO,
                                 logService,
                                 academicRecordDAO,
+                                assignmentDAO,
                                 sharedIdGenerator);
                         authController.setTeacherDAO(teacherDAO);
                         authController.setStudentDAO(studentDAO);
@@ -97,10 +90,8 @@ public class App {
                         authController.setLogService(logService);
                         authController.setAcademicRecordDAO(academicRecordDAO);
                         System.out.println("AuthController initialized.");
-                        Thread.sleep(200);
 
                         publish("Initialization Complete!");
-                        Thread.sleep(300);
 
                         return authController;
                     } catch (Throwable t) {
@@ -130,6 +121,7 @@ public class App {
                         System.out.println("LoginView initialized.");
                         loginView.setVisible(true);
                         System.out.println("Application startup complete.");
+                        startupLoader.warmUp();
 
                     } catch (InterruptedException | ExecutionException e) {
                         System.err.println("Initialization failed in background thread!");
@@ -35,6 +35,7 @@ public class AuthController {
     private LoginView loginView;
     private User loggedInUser;
     private IAcademicRecordDAO recordDAO;
+    private final IAssignmentDAO assignmentDAO;
     private final IdGenerator idGenerator;
 
         public AuthController(
@@ -47,6 +48,7 @@ public class AuthController {
                 IScheduleDAO scheduleDAO,
                 LogService logService,
                 IAcademicRecordDAO recordDAO,
+                IAssignmentDAO assignmentDAO,
                 IdGenerator idGenerator)
         {
             if (userDAO == null) throw new IllegalArgumentException("UserDAO cannot be null");
@@ -58,6 +60,7 @@ public class AuthController {
             if (scheduleDAO == null) throw new IllegalArgumentException("ScheduleDAO cannot be null");
             if (logService == null) throw new IllegalArgumentException("LogService cannot be null");
             if (recordDAO == null) throw new IllegalArgumentException("AcademicRecordDAO cannot be null");
+            if (assignmentDAO == null) throw new IllegalArgumentException("AssignmentDAO cannot be null");
             if (idGenerator == null) throw new IllegalArgumentException("IdGenerator cannot be null");
 
             this.userDAO = userDAO;
@@ -69,6 +72,7 @@ public class AuthController {
             this.scheduleDAO = scheduleDAO;
             this.logService = logService;
             this.recordDAO = recordDAO;
+            this.assignmentDAO = assignmentDAO;
             this.idGenerator = idGenerator;
         }
 
@@ -293,6 +297,7 @@ public class AuthController {
                         this.getScheduleDAO(),
                         this.getLogService(),
                         this.getAcademicRecordDAO(),
+                        this.assignmentDAO,
                         this.idGenerator
                 );
                 MainView mainView = new MainView(mainController);
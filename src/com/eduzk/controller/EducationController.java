@@ -81,7 +81,7 @@ public class EducationController implements ClassListChangeListener {
             switch (currentUser.getRole()) {
                 case ADMIN:
                 case TEACHER:
-                    classes = classDAO.getAll();
+                    classes = new ArrayList<>(classDAO.getAll());
                     break;
                 case STUDENT:
                 default:
@@ -129,8 +129,9 @@ public class EducationController implements ClassListChangeListener {
             }
             System.out.println("[Controller] Fetched Students count: " + this.studentsForSelectedClass.size());
 
+            Map<Integer, AcademicRecord> recordsByStudent = recordsByStudentForClass(classId);
             this.academicRecordsForSelectedClass = this.studentsForSelectedClass.stream()
-                    .map(student -> findOrCreateRecordForStudent(student.getStudentId(), classId))
+                    .map(student -> findOrCreateRecordForStudent(recordsByStudent, student.getStudentId(), classId))
                     .collect(Collectors.toList());
             System.out.println("[Controller] Generated/Fetched Academic Records count: " + this.academicRecordsForSelectedClass.size());
 
@@ -265,17 +266,25 @@ public class EducationController implements ClassListChangeListener {
         }
     }
 
-    private AcademicRecord findOrCreateRecordForStudent(int studentId, int classId) {
+    private Map<Integer, AcademicRecord> recordsByStudentForClass(int classId) {
+        Map<Integer, AcademicRecord> recordsByStudent = new HashMap<>();
         try {
-            Optional<AcademicRecord> existingRecord = recordDAO.findByStudentAndClass(studentId, classId);
-            return existingRecord.orElseGet(() -> {
-                System.out.println("Creating new in-memory AcademicRecord for student " + studentId + " in class " + classId);
-                return new AcademicRecord(studentId, classId);
-            });
+            for (AcademicRecord record : recordDAO.findAllByClassId(classId)) {
+                recordsByStudent.putIfAbsent(record.getStudentId(), record);
+            }
         } catch (DataAccessException e) {
-            System.err.println("Error finding/creating record for student " + studentId + " in class " + classId + ": " + e.getMessage());
-            return new AcademicRecord(studentId, classId);
+            System.err.println("Error loading academic records for class " + classId + ": " + e.getMessage());
+        }
+        return recordsByStudent;
+    }
+
+    private AcademicRecord findOrCreateRecordForStudent(Map<Integer, AcademicRecord> recordsByStudent, int studentId, int classId) {
+        AcademicRecord existingRecord = recordsByStudent.get(studentId);
+        if (existingRecord != null) {
+            return existingRecord;
         }
+        System.out.println("Creating new in-memory AcademicRecord for student " + studentId + " in class " + classId);
+        return new AcademicRecord(studentId, classId);
     }
 
     public void updateRecordInMemory(int rowIndex, String subjectKey, Object value) {
@@ -420,6 +429,15 @@ public class EducationController implements ClassListChangeListener {
                 e.printStackTrace();
             }
         }
+        try {
+            recordDAO.flush();
+        } catch (DataAccessException e) {
+            errorCount += successCount;
+            successCount = 0;
+            String msg = "Failed to write grade changes to disk: " + e.getMessage();
+            System.err.println(msg);
+            errorMessages.add(0, msg);
+        }
         System.out.println("Save operation complete. Success: " + successCount + ", Errors: " + errorCount);
         String logDetails = String.format("Saved %d/%d records for Class '%s' (ID %d). Errors: %d",
                 successCount, recordsToSave.size(), currentClassName, currentSelectedClassId, errorCount);
@@ -498,8 +516,9 @@ public class EducationController implements ClassListChangeListener {
                     .sorted(Comparator.comparing(Student::getFullName, String.CASE_INSENSITIVE_ORDER))
                     .collect(Collectors.toList());
 
+            Map<Integer, AcademicRecord> recordsByStudent = recordsByStudentForClass(classId);
             recordsForExport = studentsForExport.stream()
-                    .map(student -> findOrCreateRecordForStudent(student.getStudentId(), classId))
+                    .map(student -> findOrCreateRecordForStudent(recordsByStudent, student.getStudentId(), classId))
                     .collect(Collectors.toList());
 
         } catch (DataAccessException e) {
@@ -776,17 +795,17 @@ public class EducationController implements ClassListChangeListener {
                 if (educationPanel != null) educationPanel.displayAssignments(Collections.emptyList());
                 return;
             }
-            int studentClassId = studentClasses.get(0).getClassId();
-            String studentClassName = studentClasses.get(0).getClassName();
+            List<Integer> studentClassIds = studentClasses.stream().map(EduClass::getClassId).collect(Collectors.toList());
+            String studentClassNames = studentClasses.stream().map(EduClass::getClassName).collect(Collectors.joining(", "));
 
-            System.out.println("Student " + studentId + " belongs to class ID: " + studentClassId + " (" + studentClassName + ")");
+            System.out.println("Student " + studentId + " belongs to class IDs: " + studentClassIds + " (" + studentClassNames + ")");
 
 
-            List<Assignment> assignments = assignmentDAO.findByClassId(studentClassId);
+            List<Assignment> assignments = assignmentDAO.findByClassIds(studentClassIds);
 
             if (educationPanel != null) {
                 educationPanel.displayAssignments(assignments);
-                writeLog("Viewed Assignments", "Student viewed assignments for their class: " + studentClassName);
+                writeLog("Viewed Assignments", "Student viewed assignments for their classes: " + studentClassNames);
             }
         } catch (DataAccessException e) {
             System.err.println("Error loading assignments for student " + studentId + ": " + e.getMessage());
@@ -794,12 +813,6 @@ public class EducationController implements ClassListChangeListener {
             if (educationPanel != null) {
                 educationPanel.displayAssignments(Collections.emptyList());
             }
-        } catch (IndexOutOfBoundsException e) {
-            System.err.println("Error: Could not determine class for student " + studentId + " from DAO results.");
-            UIUtils.showErrorMessage(educationPanel, "Error", "Could not determine your class to load assignments.");
-            if (educationPanel != null) {
-                educationPanel.displayAssignments(Collections.emptyList());
-            }
         }
 
     }
@@ -837,8 +850,9 @@ public class EducationController implements ClassListChangeListener {
                     .sorted(Comparator.comparing(Student::getFullName))
                     .collect(Collectors.toList());
 
+            Map<Integer, AcademicRecord> recordsByStudent = recordsByStudentForClass(classId);
             for (Student student : studentsInClass) {
-                Optional<AcademicRecord> recordOpt = recordDAO.findByStudentAndClass(student.getStudentId(), classId);
+                Optional<AcademicRecord> recordOpt = Optional.ofNullable(recordsByStudent.get(student.getStudentId()));
                 String achievement = "(Chưa có dữ liệu để xét)";
                 if (recordOpt.isPresent()) {
                     AcademicRecord actualRecord = recordOpt.get();
@@ -4,17 +4,29 @@ import com.eduzk.model.dao.interfaces.LogEventListener;
 import com.eduzk.model.entities.LogEntry;
 import com.eduzk.model.entities.Role;
 import com.eduzk.model.entities.User;
+import com.eduzk.model.dao.impl.LogPage;
+import com.eduzk.model.dao.impl.LogQuery;
 import com.eduzk.model.dao.impl.LogService;
 import com.eduzk.view.panels.LogsPanel;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 public class LogController implements LogEventListener {
 
     private final LogService logService;
     private final User currentUser;
     private LogsPanel logsPanel;
+    // New entries wait here and reach the panel at most once per interval, whatever the write rate.
+    private static final int LIVE_TAIL_INTERVAL_MILLIS = 250;
+    private final ConcurrentLinkedQueue<PendingEntry> pendingEntries = new ConcurrentLinkedQueue<>();
+    // Sequence of the newest entry the panel shows; pending entries at or below it are already on screen. EDT only.
+    private long shownThrough;
+    private final AtomicBoolean tailFlushScheduled = new AtomicBoolean();
+    private final Timer tailTimer;
 
     public LogController(LogService logService, User currentUser) {
         if (logService == null || currentUser == null) {
@@ -22,6 +34,8 @@ public class LogController implements LogEventListener {
         }
         this.logService = logService;
         this.currentUser = currentUser;
+        this.tailTimer = new Timer(LIVE_TAIL_INTERVAL_MILLIS, e -> flushPendingEntries());
+        this.tailTimer.setRepeats(false);
 
         this.logService.addLogEventListener(this);
     }
@@ -33,13 +47,12 @@ public class LogController implements LogEventListener {
             requestPanelRefresh();
         }
     }
-    public List<LogEntry> getAllLogsForDisplay() {
+    public LogPage queryLogsForDisplay(LogQuery query) {
         if (currentUser.getRole() == Role.ADMIN) {
-            System.out.println("LogController: Admin requested all logs for display.");
-            return logService.getAllLogs();
+            return logService.queryLogs(query);
         } else {
             System.err.println("LogController: Access denied for user " + currentUser.getUsername() + " to get logs.");
-            return Collections.emptyList();
+            return LogPage.empty(query.getOffset());
         }
     }
 
@@ -64,7 +77,64 @@ public class LogController implements LogEventListener {
         }
     }
 
+    // Called on the log writer thread; the first batch after a quiet period arms the timer on the EDT.
+    @Override
+    public void logsAdded(List<LogEntry> newLogEntries, long lastSequence) {
+        if (currentUser.getRole() != Role.ADMIN || newLogEntries.isEmpty()) {
+            return;
+        }
+        long sequence = lastSequence - newLogEntries.size();
+        for (LogEntry entry : newLogEntries) {
+            pendingEntries.add(new PendingEntry(entry, ++sequence));
+        }
+        if (tailFlushScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(tailTimer::restart);
+        }
+    }
+
+    // The panel now shows the log as of this page; later pending entries are still to come.
+    public void markShown(LogPage page) {
+        shownThrough = page.getSequence();
+    }
+
+    public long getShownThrough() {
+        return shownThrough;
+    }
+
+    // Oldest first; clears the pending entries, dropping those the panel already shows.
+    public List<LogEntry> takePendingEntries() {
+        List<LogEntry> taken = new ArrayList<>();
+        PendingEntry pending;
+        while ((pending = pendingEntries.poll()) != null) {
+            if (pending.sequence > shownThrough) {
+                taken.add(pending.entry);
+                shownThrough = pending.sequence;
+            }
+        }
+        return taken;
+    }
+
+    private void flushPendingEntries() {
+        tailFlushScheduled.set(false);
+        List<LogEntry> newEntries = takePendingEntries();
+        if (logsPanel != null && !newEntries.isEmpty()) {
+            logsPanel.prependNewEntries(newEntries);
+        }
+    }
+
+    private static final class PendingEntry {
+        final LogEntry entry;
+        final long sequence;
+
+        PendingEntry(LogEntry entry, long sequence) {
+            this.entry = entry;
+            this.sequence = sequence;
+        }
+    }
+
     public void cleanupListener() {
+        tailTimer.stop();
+        pendingEntries.clear();
         if (this.logService != null) {
             this.logService.removeLogEventListener(this);
             System.out.println("LogController: Unregistered listener from LogService.");
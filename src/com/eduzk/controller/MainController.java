@@ -2,8 +2,8 @@ package com.eduzk.controller;
 
 import java.io.IOException;
 import javax.swing.*;
-import com.eduzk.model.dao.impl.AssignmentDAOImpl;
 import com.eduzk.model.dao.impl.IdGenerator;
+import com.eduzk.model.dao.impl.WriteBehindScheduler;
 import com.eduzk.model.dao.interfaces.*;
 import com.eduzk.model.entities.*;
 import com.eduzk.model.entities.Role;
@@ -42,6 +42,21 @@ public class MainController {
     private final IAssignmentDAO assignmentDAO;
     private final IdGenerator idGenerator;
 
+    // Saves are written in the background, so a failure has to be reported here rather than to the action that caused it.
+    private final WriteBehindScheduler.FailureListener writeFailureListener = new WriteBehindScheduler.FailureListener() {
+        @Override
+        public void writeFailed(String dataFilePath, Exception error) {
+            SwingUtilities.invokeLater(() -> UIUtils.showErrorMessage(mainView, "Save Error",
+                    "Recent changes could not be saved to " + dataFilePath + ".\nThe application keeps retrying in the background.\nError: " + error.getMessage()));
+        }
+
+        @Override
+        public void writeRecovered(String dataFilePath) {
+            SwingUtilities.invokeLater(() -> UIUtils.showInfoMessage(mainView, "Changes Saved",
+                    "Pending changes to " + dataFilePath + " have now been saved."));
+        }
+    };
+
     public MainController(User loggedInUser,
                           AuthController authController,
                           IUserDAO userDAO,
@@ -53,11 +68,15 @@ public class MainController {
                           IScheduleDAO scheduleDAO,
                           LogService logService,
                           IAcademicRecordDAO recordDAO,
+                          IAssignmentDAO assignmentDAO,
                           IdGenerator idGenerator)
     {
         if (recordDAO == null) {
             throw new IllegalArgumentException("AcademicRecordDAO cannot be null in MainController");
         }
+        if (assignmentDAO == null) {
+            throw new IllegalArgumentException("AssignmentDAO cannot be null in MainController");
+        }
 
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null in MainController");
@@ -73,18 +92,7 @@ public class MainController {
         this.loggedInUser = loggedInUser;
         this.authController = authController;
 
-        try {
-            this.assignmentDAO = new AssignmentDAOImpl(this.idGenerator);
-        } catch (Exception e) {
-            System.err.println("!!! CRITICAL ERROR INITIALIZING AssignmentDAO !!!");
-            e.printStackTrace();
-            JOptionPane.showMessageDialog(null,
-                    "Failed to initialize Assignment Data Access Object.\nError: " + e.getMessage(),
-                    "Initialization Error",
-                    JOptionPane.ERROR_MESSAGE);
-            System.exit(1);
-            throw new RuntimeException("Failed to initialize AssignmentDAO", e);
-        }
+        this.assignmentDAO = assignmentDAO;
 
         EduClassController tempEduClassController = null;
         try {
@@ -176,6 +184,7 @@ public class MainController {
 
         mainView.configureViewForUser(loggedInUser);
         mainView.refreshSelectedTab();
+        WriteBehindScheduler.getInstance().addFailureListener(writeFailureListener);
     }
 
     public User getLoggedInUser() {
@@ -188,7 +197,14 @@ public class MainController {
 
     public void exitApplication() {
         if (UIUtils.showConfirmDialog(mainView, "Exit Confirmation", "Are you sure you want to exit EduManager?")) {
+            List<String> unsaved = WriteBehindScheduler.getInstance().flushAll();
+            if (!unsaved.isEmpty() && !UIUtils.showConfirmDialog(mainView, "Unsaved Changes",
+                    "Changes to the following files could not be saved:\n" + String.join("\n", unsaved)
+                            + "\n\nExit anyway and lose these changes?")) {
+                return;
+            }
             System.out.println("Exiting application...");
+            WriteBehindScheduler.getInstance().removeFailureListener(writeFailureListener);
             if (this.logController != null) this.logController.cleanupListener();
             if (this.educationController != null) this.educationController.cleanup();
 
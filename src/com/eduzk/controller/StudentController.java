@@ -1,6 +1,7 @@
 package com.eduzk.controller;
 
 import com.eduzk.model.entities.*;
+import com.eduzk.model.dao.interfaces.BatchResult;
 import com.eduzk.model.dao.interfaces.IStudentDAO;
 import com.eduzk.model.dao.interfaces.IEduClassDAO;
 import com.eduzk.model.entities.Role;
@@ -27,10 +28,13 @@ import com.eduzk.view.MainView;
 import java.util.HashMap;
 import java.util.Map;
 import com.eduzk.model.dao.impl.LogService;
+import com.eduzk.model.dao.impl.Transaction;
+import com.eduzk.model.dao.impl.TransactionManager;
 import com.eduzk.model.entities.LogEntry;
 import com.eduzk.utils.PasswordUtils;
 
 public class StudentController {
+    private static final int SEARCH_RESULT_LIMIT = 1000;
     private final IStudentDAO studentDAO;
     private final User currentUser;
     private final IEduClassDAO eduClassDAO;
@@ -114,12 +118,18 @@ public class StudentController {
         return -1;
     }
 
-    public List<Student> searchStudentsByName(String name) {
-        if (!ValidationUtils.isNotEmpty(name)) {
+    public List<Student> searchStudents(String query) {
+        if (!ValidationUtils.isNotEmpty(query)) {
             return getAllStudents();
         }
         try {
-            return studentDAO.findByName(name);
+            List<Student> results = studentDAO.search(query, SEARCH_RESULT_LIMIT + 1);
+            if (results.size() > SEARCH_RESULT_LIMIT) {
+                results = new ArrayList<>(results.subList(0, SEARCH_RESULT_LIMIT));
+                UIUtils.showInfoMessage(studentPanel, "Search Results", "More than " + SEARCH_RESULT_LIMIT + " students match '" + query
+                        + "'. Showing the best " + SEARCH_RESULT_LIMIT + ", refine the search to narrow them down.");
+            }
+            return results;
         } catch (DataAccessException e) {
             System.err.println("Error searching students: " + e.getMessage());
             UIUtils.showErrorMessage(studentPanel, "Error", "Failed to search students.");
@@ -139,77 +149,37 @@ public class StudentController {
             UIUtils.showWarningMessage(studentPanel, "Validation Error", "A valid Phone Number is required (used as username).");
             return false;
         }
-        boolean studentAddSuccess = false;
-        boolean userCreatedSuccessfully = false;
-        try {
-            studentDAO.add(student);
-            studentAddSuccess = true;
-
-            if (student.getStudentId() > 0) {
-                String defaultUsername = student.getPhone();
-                String defaultPassword = "123456";
-
-                User newUser = new User();
-                newUser.setUsername(defaultUsername);
-                String hashedPassword = PasswordUtils.hashPassword(defaultPassword);
-                newUser.setPassword(hashedPassword);
-                newUser.setRole(Role.STUDENT);
-                newUser.setActive(true);
-                newUser.setStudentId(student.getStudentId());
-                newUser.setTeacherId(null);
-                newUser.setRequiresPasswordChange(true);
-
-                try {
-                    if (userDAO.findByUsername(newUser.getUsername()).isPresent()) {
-                        throw new DataAccessException("Phone number '" + newUser.getUsername() + "' is already registered as a username.");
-                    }
-                    if (userDAO.findByStudentId(newUser.getStudentId()).isPresent()) {
-                        throw new DataAccessException("An account for student ID " + newUser.getStudentId() + " already exists.");
-                    }
-                    userDAO.add(newUser);
-                    userCreatedSuccessfully = true;
-                    System.out.println("Automatically created User account for Student ID: " + student.getStudentId() + " with username (phone): " + defaultUsername);
-                    writeAddLog("Added Student", student);
-
-                    if (studentPanel != null) {
-                        studentPanel.refreshTable();
-                        if (userCreatedSuccessfully) {
-                            UIUtils.showInfoMessage(studentPanel, "Success", "Student and linked User account added successfully.");
-                        }
-                        if (userCreatedSuccessfully && mainView != null) {
-                            mainView.refreshAccountsPanelData();
-                        }
-                        return true;
-                    }
-
-                } catch (DataAccessException e) {
-                    System.err.println("!!! FAILED to add User account for Student ID " + student.getStudentId() + " !!! DAO Error: " + e.getMessage());
-                    e.printStackTrace();
-                    UIUtils.showWarningMessage(studentPanel, "User Creation Failed", "Student added, but failed to create linked user account:\n" + e.getMessage());
-                    writeAddLog("Added Student (User Failed)", student);
-                    if (studentPanel != null) studentPanel.refreshTable();
-                    return true;
-                } catch (Exception ex) {
-                    System.err.println("!!! UNEXPECTED ERROR adding User account for Student ID " + student.getStudentId() + " !!! Error: " + ex.getMessage());
-                    ex.printStackTrace();
-                    UIUtils.showErrorMessage(studentPanel, "Unexpected Error", "An unexpected error occurred while creating the user account.");
-                    writeAddLog("Added Student (User Error)", student);
-                    if (studentPanel != null) studentPanel.refreshTable();
-                    return true;
-                }
-            } else {
-                System.err.println("Could not get Student ID after adding student. User account not created.");
-                UIUtils.showWarningMessage(studentPanel, "User Creation Failed", "Student added, but could not get ID to create linked user account.");
-                writeAddLog("Added Student (ID Error)", student);
-                if (studentPanel != null) studentPanel.refreshTable();
-                return true;
+        User newUser = new User();
+        newUser.setUsername(student.getPhone());
+        newUser.setPassword(PasswordUtils.hashPassword("123456"));
+        newUser.setRole(Role.STUDENT);
+        newUser.setActive(true);
+        newUser.setTeacherId(null);
+        newUser.setRequiresPasswordChange(true);
+
+        try (Transaction transaction = TransactionManager.getInstance().begin()) {
+            if (userDAO.findByUsername(newUser.getUsername()).isPresent()) {
+                throw new DataAccessException("Phone number '" + newUser.getUsername() + "' is already registered as a username.");
             }
-
+            studentDAO.add(student);
+            newUser.setStudentId(student.getStudentId());
+            userDAO.add(newUser);
+            transaction.commit();
         } catch (DataAccessException | IllegalArgumentException e) {
             System.err.println("Error adding student: " + e.getMessage());
             UIUtils.showErrorMessage(studentPanel, "Error", "Failed to add student: " + e.getMessage());
             return false;
         }
+
+        System.out.println("Automatically created User account for Student ID: " + student.getStudentId() + " with username (phone): " + newUser.getUsername());
+        writeAddLog("Added Student", student);
+        if (studentPanel != null) {
+            studentPanel.refreshTable();
+            UIUtils.showInfoMessage(studentPanel, "Success", "Student and linked User account added successfully.");
+        }
+        if (mainView != null) {
+            mainView.refreshAccountsPanelData();
+        }
         return true;
     }
 
@@ -380,40 +350,38 @@ public class StudentController {
                         int actualStudentSuccessCount = 0;
                         int actualUserSuccessCount = 0;
 
-                        for (int i = 0; i < validStudentsToImport.size(); i++) {
-                            Student studentToAdd = validStudentsToImport.get(i);
-                            User userToCreate = validUsersToCreate.get(i);
-                            boolean studentAdded = false;
-                            boolean userAdded = false;
-                            String currentProcessingInfo = " (Student: " + studentToAdd.getFullName() + ", User: " + userToCreate.getUsername() + ")";
-
-                            try {
-                                studentDAO.add(studentToAdd);
-                                if (studentToAdd.getStudentId() > 0) {
-                                    studentAdded = true;
-                                    userToCreate.setStudentId(studentToAdd.getStudentId());
-
-                                    if (userDAO.findByStudentId(userToCreate.getStudentId()).isPresent()){
-                                        throw new DataAccessException("Account for student ID " + userToCreate.getStudentId() + " already exists.");
-                                    }
-
-                                    userDAO.add(userToCreate);
-                                    userAdded = true;
-
+                        try (Transaction transaction = TransactionManager.getInstance().begin()) {
+                            BatchResult<Student> studentResult = studentDAO.addAll(validStudentsToImport);
+                            List<User> usersToCreate = new ArrayList<>();
+                            for (BatchResult.Outcome<Student> outcome : studentResult.getOutcomes()) {
+                                User userToCreate = validUsersToCreate.get(outcome.getIndex());
+                                if (outcome.isSuccess()) {
+                                    actualStudentSuccessCount++;
+                                    userToCreate.setStudentId(outcome.getItem().getStudentId());
+                                    usersToCreate.add(userToCreate);
                                 } else {
-                                    throw new DataAccessException("Failed to get generated ID for student." + currentProcessingInfo);
+                                    String errorMsg = "Import Save Error (Student: " + outcome.getItem().getFullName() + "): " + outcome.getErrorMessage();
+                                    System.err.println(errorMsg);
+                                    errors.add(errorMsg);
                                 }
+                            }
 
-                                if(studentAdded && userAdded){
-                                    actualStudentSuccessCount++;
+                            BatchResult<User> userResult = userDAO.addAll(usersToCreate);
+                            List<Integer> orphanedStudentIds = new ArrayList<>();
+                            for (BatchResult.Outcome<User> outcome : userResult.getOutcomes()) {
+                                if (outcome.isSuccess()) {
                                     actualUserSuccessCount++;
+                                } else {
+                                    orphanedStudentIds.add(outcome.getItem().getStudentId());
+                                    String errorMsg = "Import Save Error (User: " + outcome.getItem().getUsername() + "): " + outcome.getErrorMessage();
+                                    System.err.println(errorMsg);
+                                    errors.add(errorMsg);
                                 }
-
-                            } catch (Exception addEx) {
-                                String errorMsg = "Import Save Error" + currentProcessingInfo + ": " + addEx.getMessage();
-                                System.err.println(errorMsg);
-                                errors.add(errorMsg);
                             }
+                            if (!orphanedStudentIds.isEmpty()) {
+                                actualStudentSuccessCount -= studentDAO.deleteByIds(orphanedStudentIds);
+                            }
+                            transaction.commit();
                         }
 
                         Map<String, Object> resultData = new HashMap<>();
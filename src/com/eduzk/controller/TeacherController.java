@@ -1,6 +1,7 @@
 package com.eduzk.controller;
 
 import com.eduzk.model.entities.*;
+import com.eduzk.model.dao.interfaces.BatchResult;
 import com.eduzk.model.dao.interfaces.ITeacherDAO;
 import com.eduzk.model.exceptions.DataAccessException;
 import com.eduzk.utils.DateUtils;
@@ -24,10 +25,13 @@ import java.util.*;
 import java.util.Map;
 import java.util.HashMap;
 import com.eduzk.model.dao.impl.LogService;
+import com.eduzk.model.dao.impl.Transaction;
+import com.eduzk.model.dao.impl.TransactionManager;
 import com.eduzk.utils.PasswordUtils;
 import com.eduzk.view.MainView;
 
 public class TeacherController {
+    private static final int SEARCH_RESULT_LIMIT = 1000;
 
     private final ITeacherDAO teacherDAO;
     private final User currentUser;
@@ -60,12 +64,18 @@ public class TeacherController {
         }
     }
 
-    public List<Teacher> searchTeachersBySpecialization(String specialization) {
-        if (!ValidationUtils.isNotEmpty(specialization)) {
+    public List<Teacher> searchTeachers(String query) {
+        if (!ValidationUtils.isNotEmpty(query)) {
             return getAllTeachers();
         }
         try {
-            return teacherDAO.findBySpecialization(specialization);
+            List<Teacher> results = teacherDAO.search(query, SEARCH_RESULT_LIMIT + 1);
+            if (results.size() > SEARCH_RESULT_LIMIT) {
+                results = new ArrayList<>(results.subList(0, SEARCH_RESULT_LIMIT));
+                UIUtils.showInfoMessage(teacherPanel, "Search Results", "More than " + SEARCH_RESULT_LIMIT + " teachers match '" + query
+                        + "'. Showing the best " + SEARCH_RESULT_LIMIT + ", refine the search to narrow them down.");
+            }
+            return results;
         } catch (DataAccessException e) {
             System.err.println("Error searching teachers: " + e.getMessage());
             UIUtils.showErrorMessage(teacherPanel, "Error", "Failed to search teachers.");
@@ -83,67 +93,38 @@ public class TeacherController {
             return false;
         }
 
-        boolean userCreatedSuccessfully = false;
-        try {
-            teacherDAO.add(teacher);
-            System.out.println("Teacher added with ID: " + teacher.getTeacherId());
-
-            if (teacher.getTeacherId() > 0) {
-                String defaultUsername = teacher.getEmail();
-                String defaultPassword = "123456";
-                User newUser = new User();
-                newUser.setUsername(defaultUsername);
-                String hashedPassword = PasswordUtils.hashPassword(defaultPassword);
-                newUser.setPassword(hashedPassword);
-                newUser.setRole(Role.TEACHER);
-                newUser.setActive(teacher.isActive());
-                newUser.setTeacherId(teacher.getTeacherId());
-                newUser.setStudentId(null);
-
-                newUser.setRequiresPasswordChange(true);
-
-                try {
-                    if (userDAO.findByUsername(newUser.getUsername()).isPresent()) {
-                        throw new DataAccessException("Username (Email) '" + newUser.getUsername() + "' already exists for another user account.");
-                    }
-                    userDAO.add(newUser);
-                    userCreatedSuccessfully = true;
-                    System.out.println("Successfully created User account for Teacher ID: " + teacher.getTeacherId());
-                    writeAddLog("Added Teacher & User", teacher);
-
-                } catch (DataAccessException | IllegalArgumentException e) {
-                    System.err.println("!!! FAILED to add User account for Teacher ID " + teacher.getTeacherId() + " !!! DAO Error: " + e.getMessage());
-                    UIUtils.showWarningMessage(teacherPanel, "User Creation Failed", "Teacher added, but failed to create linked user account:\n" + e.getMessage());
-                    writeAddLog("Added Teacher (User Failed)", teacher);
-                } catch (Exception ex) {
-                    System.err.println("!!! UNEXPECTED ERROR adding User account for Teacher ID " + teacher.getTeacherId() + " !!! Error: " + ex.getMessage());
-                    ex.printStackTrace();
-                    UIUtils.showErrorMessage(teacherPanel, "Unexpected Error", "An unexpected error occurred while creating the user account.");
-                    writeAddLog("Added Teacher (User Error)", teacher);
-                }
-            } else {
-                System.err.println("Could not get Teacher ID after adding teacher. User account not created.");
-                UIUtils.showWarningMessage(teacherPanel, "User Creation Failed", "Teacher added, but could not get ID to create linked user account.");
-                writeAddLog("Added Teacher (ID Error)", teacher);
-            }
-
-            if (teacherPanel != null) {
-                teacherPanel.refreshTable();
-            }
-            if (userCreatedSuccessfully && mainView != null) {
-                mainView.refreshAccountsPanelData();
+        User newUser = new User();
+        newUser.setUsername(teacher.getEmail());
+        newUser.setPassword(PasswordUtils.hashPassword("123456"));
+        newUser.setRole(Role.TEACHER);
+        newUser.setActive(teacher.isActive());
+        newUser.setStudentId(null);
+        newUser.setRequiresPasswordChange(true);
+
+        try (Transaction transaction = TransactionManager.getInstance().begin()) {
+            if (userDAO.findByUsername(newUser.getUsername()).isPresent()) {
+                throw new DataAccessException("Username (Email) '" + newUser.getUsername() + "' already exists for another user account.");
             }
-            if(userCreatedSuccessfully) {
-                UIUtils.showInfoMessage(teacherPanel, "Success", "Teacher and linked User account added successfully.");
-            }
-
-            return true;
-
+            teacherDAO.add(teacher);
+            newUser.setTeacherId(teacher.getTeacherId());
+            userDAO.add(newUser);
+            transaction.commit();
         } catch (DataAccessException | IllegalArgumentException e) {
             System.err.println("Error adding teacher: " + e.getMessage());
             UIUtils.showErrorMessage(teacherPanel, "Error", "Failed to add teacher: " + e.getMessage());
             return false;
         }
+
+        System.out.println("Successfully created Teacher ID " + teacher.getTeacherId() + " and linked User account.");
+        writeAddLog("Added Teacher & User", teacher);
+        if (teacherPanel != null) {
+            teacherPanel.refreshTable();
+        }
+        if (mainView != null) {
+            mainView.refreshAccountsPanelData();
+        }
+        UIUtils.showInfoMessage(teacherPanel, "Success", "Teacher and linked User account added successfully.");
+        return true;
     }
 
     public boolean updateTeacher(Teacher teacher) {
@@ -399,37 +380,38 @@ public class TeacherController {
                         int actualTeacherSuccessCount = 0;
                         int actualUserSuccessCount = 0;
 
-                        for (int i = 0; i < validTeachersToImport.size(); i++) {
-                            Teacher teacherToAdd = validTeachersToImport.get(i);
-                            User userToCreate = validUsersToCreate.get(i);
-                            boolean teacherAdded = false;
-                            boolean userAdded = false;
-                            String currentProcessingInfo = " (Teacher: " + teacherToAdd.getFullName() + ", User: " + userToCreate.getUsername() + ")";
-
-                            try {
-                                teacherDAO.add(teacherToAdd);
-                                if (teacherToAdd.getTeacherId() > 0) {
-                                    teacherAdded = true;
-                                    userToCreate.setTeacherId(teacherToAdd.getTeacherId());
-                                    if (userDAO.findByTeacherId(userToCreate.getTeacherId()).isPresent()){
-                                        throw new DataAccessException("Account for Teacher ID " + userToCreate.getTeacherId() + " already exists.");
-                                    }
-                                    userDAO.add(userToCreate);
-                                    userAdded = true;
+                        try (Transaction transaction = TransactionManager.getInstance().begin()) {
+                            BatchResult<Teacher> teacherResult = teacherDAO.addAll(validTeachersToImport);
+                            List<User> usersToCreate = new ArrayList<>();
+                            for (BatchResult.Outcome<Teacher> outcome : teacherResult.getOutcomes()) {
+                                User userToCreate = validUsersToCreate.get(outcome.getIndex());
+                                if (outcome.isSuccess()) {
+                                    actualTeacherSuccessCount++;
+                                    userToCreate.setTeacherId(outcome.getItem().getTeacherId());
+                                    usersToCreate.add(userToCreate);
                                 } else {
-                                    throw new DataAccessException("Failed to get generated ID for teacher." + currentProcessingInfo);
+                                    String errorMsg = "Import Save Error (Teacher: " + outcome.getItem().getFullName() + "): " + outcome.getErrorMessage();
+                                    System.err.println(errorMsg);
+                                    errors.add(errorMsg);
                                 }
+                            }
 
-                                if(teacherAdded && userAdded){
-                                    actualTeacherSuccessCount++;
+                            BatchResult<User> userResult = userDAO.addAll(usersToCreate);
+                            List<Integer> orphanedTeacherIds = new ArrayList<>();
+                            for (BatchResult.Outcome<User> outcome : userResult.getOutcomes()) {
+                                if (outcome.isSuccess()) {
                                     actualUserSuccessCount++;
+                                } else {
+                                    orphanedTeacherIds.add(outcome.getItem().getTeacherId());
+                                    String errorMsg = "Import Save Error (User: " + outcome.getItem().getUsername() + "): " + outcome.getErrorMessage();
+                                    System.err.println(errorMsg);
+                                    errors.add(errorMsg);
                                 }
-
-                            } catch (Exception addEx) {
-                                String errorMsg = "Import Save Error" + currentProcessingInfo + ": " + addEx.getMessage();
-                                System.err.println(errorMsg);
-                                errors.add(errorMsg);
                             }
+                            if (!orphanedTeacherIds.isEmpty()) {
+                                actualTeacherSuccessCount -= teacherDAO.deleteMultiple(orphanedTeacherIds);
+                            }
+                            transaction.commit();
                         }
 
                         Map<String, Object> resultData = new HashMap<>();
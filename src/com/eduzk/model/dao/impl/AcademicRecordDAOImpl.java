@@ -1,29 +1,64 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.AcademicRecordCodec;
 import com.eduzk.model.dao.interfaces.IAcademicRecordDAO;
 import com.eduzk.model.entities.AcademicRecord;
 import com.eduzk.model.exceptions.DataAccessException;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class AcademicRecordDAOImpl extends BaseDAO<AcademicRecord> implements IAcademicRecordDAO {
     private final IdGenerator idGenerator;
+    // The indexes only hold keys and ids. The constructor fills all three from one decode pass over the mapped file, and
+    // the decoded records are not kept.
+    private final UniqueIndex<AcademicRecord, Long> studentClassIndex =
+            uniqueIndex("studentClass", record -> studentClassKey(record.getStudentId(), record.getClassId()));
+    private final GroupIndex<AcademicRecord, Integer> classIndex = hashIndex("classId", AcademicRecord::getClassId);
+    private final GroupIndex<AcademicRecord, Integer> studentIndex = hashIndex("studentId", AcademicRecord::getStudentId);
+
     public AcademicRecordDAOImpl(String dataFilePath, IdGenerator idGenerator) {
-        super(dataFilePath);
+        super(dataFilePath, AcademicRecordCodec.INSTANCE, StorageMode.MAPPED);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null");
         }
         this.idGenerator = idGenerator;
+        buildIndexes();
+    }
+
+    @Override
+    protected int getEntityId(AcademicRecord record) {
+        return record.getRecordId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.ACADEMIC_RECORD_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(AcademicRecord record, int id) {
+        record.setRecordId(id);
+    }
+
+    private static long studentClassKey(int studentId, int classId) {
+        return ((long) studentId << 32) | (classId & 0xFFFFFFFFL);
+    }
+
+    @Override
+    protected int resolveExistingId(AcademicRecord record) {
+        int existingId = super.resolveExistingId(record);
+        if (existingId != -1) {
+            return existingId;
+        }
+        return studentClassIndex.get(studentClassKey(record.getStudentId(), record.getClassId()));
     }
 
     @Override
     public Optional<AcademicRecord> findByStudentAndClass(int studentId, int classId) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(r -> r.getStudentId() == studentId && r.getClassId() == classId)
-                    .findFirst();
+            int recordId = studentClassIndex.get(studentClassKey(studentId, classId));
+            return Optional.ofNullable(recordId != UniqueIndex.MISSING ? findById(recordId) : null);
         } finally {
             lock.readLock().unlock();
         }
@@ -33,9 +68,17 @@ public class AcademicRecordDAOImpl extends BaseDAO<AcademicRecord> implements IA
     public List<AcademicRecord> findAllByStudentId(int studentId) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(r -> r.getStudentId() == studentId)
-                    .collect(Collectors.toList());
+            return findAllById(studentIndex.get(studentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<AcademicRecord> findAllByClassId(int classId) {
+        lock.readLock().lock();
+        try {
+            return findAllById(classIndex.get(classId));
         } finally {
             lock.readLock().unlock();
         }
@@ -46,38 +89,22 @@ public class AcademicRecordDAOImpl extends BaseDAO<AcademicRecord> implements IA
         if (record == null) {
             throw new IllegalArgumentException("AcademicRecord cannot be null.");
         }
+        ensureMaterialized();
         lock.writeLock().lock();
         try {
             int recordId = record.getRecordId();
-            boolean found = false;
-            if (recordId > 0) {
-                for (int i = 0; i < dataList.size(); i++) {
-                    if (dataList.get(i).getRecordId() == recordId) {
-                        dataList.set(i, record);
-                        found = true;
-                        break;
-                    }
-                }
-            }
+            boolean found = recordId > 0 && replace(record);
             if (!found) {
-                Optional<AcademicRecord> existingOpt = findByStudentAndClassInternal(record.getStudentId(), record.getClassId());
-                if (existingOpt.isPresent()) {
-                    AcademicRecord existingRecord = existingOpt.get();
-                    record.setRecordId(existingRecord.getRecordId());
-                    for (int i = 0; i < dataList.size(); i++) {
-                        if (dataList.get(i).getRecordId() == existingRecord.getRecordId()) {
-                            dataList.set(i, record);
-                            found = true;
-                            break;
-                        }
-                    }
+                int existingId = studentClassIndex.get(studentClassKey(record.getStudentId(), record.getClassId()));
+                if (existingId != UniqueIndex.MISSING) {
+                    record.setRecordId(existingId);
+                    found = replace(record);
                 }
             }
             if (!found) {
                 record.setRecordId(idGenerator.getNextAcademicRecordId());
-                dataList.add(record);
+                insert(record);
             }
-            saveData();
         } finally {
             lock.writeLock().unlock();
         }
@@ -86,22 +113,8 @@ public class AcademicRecordDAOImpl extends BaseDAO<AcademicRecord> implements IA
     @Override
     public void delete(int recordId) throws DataAccessException {
         if (recordId <= 0) return;
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(r -> r.getRecordId() == recordId);
-            if (removed) {
-                saveData();
-            } else {
-                System.err.println("Warning: AcademicRecord with ID " + recordId + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(recordId) == null) {
+            System.err.println("Warning: AcademicRecord with ID " + recordId + " not found for deletion.");
         }
     }
-
-    private Optional<AcademicRecord> findByStudentAndClassInternal(int studentId, int classId) {
-        return dataList.stream()
-                .filter(r -> r.getStudentId() == studentId && r.getClassId() == classId)
-                .findFirst();
-    }
 }
\ No newline at end of file
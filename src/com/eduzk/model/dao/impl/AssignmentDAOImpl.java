@@ -1,20 +1,23 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.AssignmentCodec;
 import com.eduzk.model.dao.interfaces.IAssignmentDAO;
 import com.eduzk.model.entities.Assignment;
 import com.eduzk.model.exceptions.DataAccessException;
-import java.util.Comparator;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class AssignmentDAOImpl extends BaseDAO<Assignment> implements IAssignmentDAO {
 
     private static final String DATA_FILE_PATH = "data/assignments.dat";
     private final IdGenerator idGenerator;
+    private final AssignmentDueIndex dueIndex = customIndex(new AssignmentDueIndex("due"));
 
     public AssignmentDAOImpl(IdGenerator idGenerator) {
-        super(DATA_FILE_PATH);
+        super(DATA_FILE_PATH, AssignmentCodec.INSTANCE);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null for AssignmentDAOImpl");
         }
@@ -22,33 +25,77 @@ public class AssignmentDAOImpl extends BaseDAO<Assignment> implements IAssignmen
         System.out.println("AssignmentDAOImpl initialized. Data loaded from: " + DATA_FILE_PATH);
     }
 
+    @Override
+    protected int getEntityId(Assignment assignment) {
+        return assignment.getAssignmentId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.ASSIGNMENT_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(Assignment assignment, int id) {
+        assignment.setAssignmentId(id);
+    }
+
+    @Override
+    protected void beforeBatchWrite(Assignment assignment, boolean isNew) {
+        if (assignment.getTitle() == null || assignment.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Assignment title cannot be empty.");
+        }
+        if (assignment.getEduClassId() <= 0) {
+            throw new IllegalArgumentException("Assignment must be associated with a valid Class ID.");
+        }
+        if (!isNew) {
+            Assignment existing = dataList.get(indexOfId(assignment.getAssignmentId()));
+            assignment.setCreatedAt(existing.getCreatedAt());
+        }
+        assignment.touch();
+    }
+
     @Override
     public Assignment getById(int id) throws DataAccessException {
+        return findById(id);
+    }
+
+    @Override
+    public List<Assignment> findByClassId(int classId) throws DataAccessException {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(a -> a.getAssignmentId() == id)
-                    .findFirst()
-                    .orElse(null);
+            return dueIndex.forClass(classId);
         } finally {
             lock.readLock().unlock();
         }
     }
 
     @Override
-    public List<Assignment> findByClassId(int classId) throws DataAccessException {
+    public List<Assignment> findByClassIds(Collection<Integer> classIds) throws DataAccessException {
+        return findDueBetween(classIds, null, null);
+    }
+
+    @Override
+    public List<Assignment> findDueBetween(Collection<Integer> classIds, LocalDateTime from, LocalDateTime to) throws DataAccessException {
+        if (classIds == null || classIds.isEmpty()) {
+            return new ArrayList<>();
+        }
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(a -> a.getEduClassId() == classId)
-                    .sorted(Comparator.comparing(Assignment::getDueDateTime, Comparator.nullsLast(Comparator.naturalOrder())) // Sort by due date
-                            .thenComparing(Assignment::getCreatedAt))
-                    .collect(Collectors.toList());
+            return dueIndex.forClasses(classIds, from, to);
         } finally {
             lock.readLock().unlock();
         }
     }
 
+    @Override
+    public List<Assignment> findOverdue(Collection<Integer> classIds, LocalDateTime asOf) throws DataAccessException {
+        if (asOf == null) {
+            throw new IllegalArgumentException("Reference time for overdue assignments cannot be null.");
+        }
+        return findDueBetween(classIds, null, asOf);
+    }
+
     @Override
     public void add(Assignment assignment) throws DataAccessException {
         if (assignment == null) {
@@ -65,8 +112,7 @@ public class AssignmentDAOImpl extends BaseDAO<Assignment> implements IAssignmen
         try {
             assignment.setAssignmentId(idGenerator.getNextAssignmentId());
             assignment.touch();
-            this.dataList.add(assignment);
-            saveData();
+            insert(assignment);
             System.out.println("Added new assignment: ID=" + assignment.getAssignmentId() + ", Title=" + assignment.getTitle());
         } finally {
             lock.writeLock().unlock();
@@ -90,18 +136,16 @@ public class AssignmentDAOImpl extends BaseDAO<Assignment> implements IAssignmen
 
         lock.writeLock().lock();
         try {
-            Optional<Assignment> existingOpt = dataList.stream()
-                    .filter(a -> a.getAssignmentId() == assignment.getAssignmentId())
-                    .findFirst();
+            Optional<Assignment> existingOpt = Optional.ofNullable(findById(assignment.getAssignmentId()));
 
             if (existingOpt.isPresent()) {
-                Assignment existing = existingOpt.get();
+                Assignment existing = copyOf(existingOpt.get());
                 existing.setEduClassId(assignment.getEduClassId());
                 existing.setTitle(assignment.getTitle());
                 existing.setDescription(assignment.getDescription());
                 existing.setDueDateTime(assignment.getDueDateTime());
                 existing.touch();
-                saveData();
+                replace(existing);
                 System.out.println("Updated assignment: ID=" + assignment.getAssignmentId());
             } else {
                 throw new DataAccessException("Assignment with ID " + assignment.getAssignmentId() + " not found for update.");
@@ -113,17 +157,10 @@ public class AssignmentDAOImpl extends BaseDAO<Assignment> implements IAssignmen
 
     @Override
     public void delete(int id) throws DataAccessException {
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(a -> a.getAssignmentId() == id);
-            if (removed) {
-                saveData();
-                System.out.println("Deleted assignment: ID=" + id);
-            } else {
-                throw new DataAccessException("Assignment with ID " + id + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(id) != null) {
+            System.out.println("Deleted assignment: ID=" + id);
+        } else {
+            throw new DataAccessException("Assignment with ID " + id + " not found for deletion.");
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Assignment;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+final class AssignmentDueIndex extends EntityIndex<Assignment> {
+
+    // Same order as the class assignment list: due date (undated last), then creation time, then id.
+    static final class DueKey implements Comparable<DueKey> {
+        final int assignmentId;
+        final int classId;
+        final LocalDateTime dueDateTime;
+        final LocalDateTime createdAt;
+
+        DueKey(Assignment assignment) {
+            this(assignment.getAssignmentId(), assignment.getEduClassId(), assignment.getDueDateTime(), assignment.getCreatedAt());
+        }
+
+        private DueKey(int assignmentId, int classId, LocalDateTime dueDateTime, LocalDateTime createdAt) {
+            this.assignmentId = assignmentId;
+            this.classId = classId;
+            this.dueDateTime = dueDateTime;
+            this.createdAt = createdAt;
+        }
+
+        static DueKey firstDueAt(LocalDateTime dueDateTime) {
+            return new DueKey(Integer.MIN_VALUE, 0, dueDateTime, LocalDateTime.MIN);
+        }
+
+        @Override
+        public int compareTo(DueKey other) {
+            int byDue = compareNullsLast(dueDateTime, other.dueDateTime);
+            if (byDue != 0) {
+                return byDue;
+            }
+            int byCreated = compareNullsLast(createdAt, other.createdAt);
+            return byCreated != 0 ? byCreated : Integer.compare(assignmentId, other.assignmentId);
+        }
+
+        private static int compareNullsLast(LocalDateTime a, LocalDateTime b) {
+            if (a == null || b == null) {
+                return a == b ? 0 : (a == null ? 1 : -1);
+            }
+            return a.compareTo(b);
+        }
+    }
+
+    private final Map<Integer, NavigableMap<DueKey, Assignment>> byClass = new HashMap<>();
+    private final Map<Integer, DueKey> keysById = new HashMap<>();
+
+    AssignmentDueIndex(String name) {
+        super(name);
+    }
+
+    @Override
+    void put(int id, Assignment assignment) {
+        remove(id);
+        DueKey key = new DueKey(assignment);
+        keysById.put(key.assignmentId, key);
+        byClass.computeIfAbsent(key.classId, classId -> new TreeMap<>()).put(key, assignment);
+    }
+
+    @Override
+    void remove(int assignmentId) {
+        DueKey key = keysById.remove(assignmentId);
+        if (key == null) {
+            return;
+        }
+        NavigableMap<DueKey, Assignment> assignments = byClass.get(key.classId);
+        if (assignments != null) {
+            assignments.remove(key);
+            if (assignments.isEmpty()) {
+                byClass.remove(key.classId);
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        byClass.clear();
+        keysById.clear();
+    }
+
+    List<Assignment> forClass(int classId) {
+        NavigableMap<DueKey, Assignment> assignments = byClass.get(classId);
+        return assignments != null ? new ArrayList<>(assignments.values()) : new ArrayList<>();
+    }
+
+    // A null bound leaves that side of the range open; an open upper bound also includes undated assignments.
+    List<Assignment> forClasses(Collection<Integer> classIds, LocalDateTime dueFrom, LocalDateTime dueBefore) {
+        List<Iterator<Map.Entry<DueKey, Assignment>>> sources = new ArrayList<>();
+        for (Integer classId : new LinkedHashSet<>(classIds)) {
+            NavigableMap<DueKey, Assignment> assignments = classId != null ? byClass.get(classId) : null;
+            if (assignments == null) {
+                continue;
+            }
+            if (dueFrom != null) {
+                assignments = assignments.tailMap(DueKey.firstDueAt(dueFrom), true);
+            }
+            if (dueBefore != null) {
+                assignments = assignments.headMap(DueKey.firstDueAt(dueBefore), false);
+            }
+            if (!assignments.isEmpty()) {
+                sources.add(assignments.entrySet().iterator());
+            }
+        }
+        return merge(sources);
+    }
+
+    private static final class Cursor {
+        final Iterator<Map.Entry<DueKey, Assignment>> source;
+        Map.Entry<DueKey, Assignment> head;
+
+        Cursor(Iterator<Map.Entry<DueKey, Assignment>> source) {
+            this.source = source;
+            this.head = source.next();
+        }
+
+        boolean advance() {
+            head = source.hasNext() ? source.next() : null;
+            return head != null;
+        }
+    }
+
+    // Each class is already sorted, so a k-way merge avoids re-sorting the combined list.
+    private static List<Assignment> merge(List<Iterator<Map.Entry<DueKey, Assignment>>> sources) {
+        List<Assignment> merged = new ArrayList<>();
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Math.max(1, sources.size()),
+                (a, b) -> a.head.getKey().compareTo(b.head.getKey()));
+        for (Iterator<Map.Entry<DueKey, Assignment>> source : sources) {
+            cursors.add(new Cursor(source));
+        }
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            merged.add(cursor.head.getValue());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+}
@@ -1,30 +1,115 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.EntityCodec;
+import com.eduzk.model.dao.impl.codec.EntityFileFormat;
+import com.eduzk.model.dao.interfaces.BatchResult;
 import com.eduzk.model.exceptions.DataAccessException;
 import com.eduzk.model.exceptions.ScheduleConflictException;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.locks.ReadWriteLock;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 public abstract class BaseDAO<T extends Serializable> {
+    public static final long DEFAULT_WRITE_BEHIND_MILLIS = 200;
+    private static final int PARALLEL_INDEX_REBUILD_THRESHOLD = 20_000;
+
+    private enum BatchMode { INSERT, UPDATE, UPSERT }
+
     protected final String dataFilePath;
     protected final List<T> dataList;
-    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
-    protected BaseDAO(String dataFilePath) {
+    private volatile List<T> snapshot;
+    private final IntIndexMap idIndex = new IntIndexMap();
+    // Set when legacy data holds an id twice; only then does a removal need to look for the next holder.
+    private boolean duplicateIds;
+    private final List<EntityIndex<T>> entityIndexes = new ArrayList<>();
+    private final List<EntityIndex<T>> unbuiltIndexes = new ArrayList<>();
+    protected final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final List<DataJournal.Record> pendingRecords = new ArrayList<>();
+    private final AtomicBoolean snapshotDirty = new AtomicBoolean(false);
+    private final AtomicInteger openTransactions = new AtomicInteger();
+    // Leading pendingRecords that belong to committed transactions still held in the transaction journal, and the
+    // newest such transaction. Both are guarded by pendingRecords.
+    private int backlogRecords;
+    private long backlogTxId;
+    private volatile long writeBehindMillis = DEFAULT_WRITE_BEHIND_MILLIS;
+    private final EntityCodec<T> codec;
+    private final StorageMode storageMode;
+    private final DataJournal journal;
+    private volatile CompactionStats compactionStats;
+    private volatile MappedRecordFile<T> mappedFile;
+    private final Map<Integer, T> mappedOverrides = new LinkedHashMap<>();
+    private final Map<Integer, T> mappedAppends = new LinkedHashMap<>();
+
+    protected BaseDAO(String dataFilePath, EntityCodec<T> codec) {
+        this(dataFilePath, codec, StorageMode.SNAPSHOT);
+    }
+
+    protected BaseDAO(String dataFilePath, EntityCodec<T> codec, StorageMode storageMode) {
+        if (codec == null) {
+            throw new IllegalArgumentException("EntityCodec cannot be null for " + dataFilePath);
+        }
         this.dataFilePath = dataFilePath;
         this.dataList = new ArrayList<>();
+        this.codec = codec;
+        this.storageMode = storageMode != null ? storageMode : StorageMode.SNAPSHOT;
+        this.journal = this.storageMode != StorageMode.SNAPSHOT ? new DataJournal(dataFilePath + ".journal") : null;
+        this.compactionStats = CompactionStats.empty(dataFilePath);
         loadData();
+        if (journal != null) {
+            JournalCompactor.getInstance().register(this);
+        }
+        WriteBehindScheduler.getInstance().register(this);
+        TransactionManager.getInstance().register(this);
+    }
+
+    protected abstract int getEntityId(T item);
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    public long getWriteBehindWindow() {
+        return writeBehindMillis;
+    }
+
+    public void setWriteBehindWindow(long millis) {
+        this.writeBehindMillis = Math.max(0L, millis);
     }
 
-    @SuppressWarnings("unchecked")
     protected void loadData() {
         lock.writeLock().lock();
         try {
+            this.snapshot = null;
+            this.dataList.clear();
+            this.idIndex.clear();
+            releaseMapping();
+            this.mappedOverrides.clear();
+            this.mappedAppends.clear();
+            boolean rewriteSnapshot = false;
             File file = new File(dataFilePath);
-            if (!file.exists() || file.length() == 0) {
-                this.dataList.clear();
+            File previous = DurableFiles.previousGeneration(file);
+            if ((!file.exists() || file.length() == 0) && previous.exists() && previous.length() > 0) {
+                System.err.println("Warning: Data file " + dataFilePath + " is missing or empty, restoring previous generation.");
+                readSnapshot(previous);
+                rewriteSnapshot = true;
+            } else if (!file.exists() || file.length() == 0) {
                 if (!file.exists()) {
                     try {
                         File parentDir = file.getParentFile();
@@ -36,70 +121,1010 @@ public abstract class BaseDAO<T extends Serializable> {
                         System.err.println("Warning: Could not create data file on initial load: " + dataFilePath + " - " + createEx.getMessage());
                     }
                 }
-                return;
-            }
-            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
-                Object readObject = ois.readObject();
-                if (readObject instanceof List) {
+            } else {
+                try {
+                    rewriteSnapshot = readSnapshot(file);
+                } catch (IOException e) {
+                    if (!previous.exists() || previous.length() == 0) {
+                        throw e;
+                    }
+                    System.err.println("Warning: Data file " + dataFilePath + " failed verification (" + e.getMessage() + "), falling back to previous generation.");
                     this.dataList.clear();
-                    this.dataList.addAll((List<T>) readObject);
-                } else {
-                    throw new DataAccessException("Data file does not contain a valid List: " + dataFilePath);
+                    releaseMapping();
+                    File corrupt = new File(dataFilePath + ".corrupt");
+                    Files.move(file.toPath(), corrupt.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    readSnapshot(previous);
+                    rewriteSnapshot = true;
                 }
             }
-        } catch (EOFException e) {
-            this.dataList.clear();
+            rebuildIdIndex();
+            reloaded();
+            if (journal != null) {
+                replayJournal();
+            }
+            if (rewriteSnapshot) {
+                System.out.println("BaseDAO: Rewriting " + dataFilePath + " in current binary format (" + (mappedFile != null ? mappedFile.size() : dataList.size()) + " records).");
+                saveData();
+            }
         } catch (FileNotFoundException e) {
             System.err.println("DEBUG: BaseDAO.loadData - Gặp FileNotFoundException (lỗi logic?): " + dataFilePath);
             this.dataList.clear();
+            this.idIndex.clear();
         } catch (IOException | ClassNotFoundException e) {
             this.dataList.clear();
+            this.idIndex.clear();
             throw new DataAccessException("Error loading data from file: " + dataFilePath, e);
         } finally {
+            invalidateSnapshot();
             lock.writeLock().unlock();
         }
     }
 
-    protected void saveData() {
+    @SuppressWarnings("unchecked")
+    private boolean readSnapshot(File file) throws IOException, ClassNotFoundException {
+        if (EntityFileFormat.isBinary(file) && storageMode == StorageMode.MAPPED) {
+            this.mappedFile = MappedRecordFile.open(file, codec);
+            return false;
+        }
+        if (EntityFileFormat.isBinary(file)) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                this.dataList.addAll(EntityFileFormat.readAll(in, codec));
+            }
+            return false;
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            Object readObject = ois.readObject();
+            if (readObject instanceof List) {
+                this.dataList.addAll((List<T>) readObject);
+            } else {
+                throw new DataAccessException("Data file does not contain a valid List: " + dataFilePath);
+            }
+        } catch (EOFException e) {
+            this.dataList.clear();
+        }
+        System.out.println("BaseDAO: Migrating " + dataFilePath + " from Java serialization (" + dataList.size() + " records).");
+        return true;
+    }
+
+    private void replayJournal() throws IOException {
+        int replayed = journal.replay(new DataJournal.Visitor() {
+            @Override
+            public void put(int id, byte[] payload) throws IOException {
+                applyPut(id, deserializeItem(payload));
+            }
+
+            @Override
+            public void remove(int id) {
+                applyRemove(id);
+            }
+        });
+        if (replayed > 0) {
+            System.out.println("BaseDAO: Replayed " + replayed + " journal records for " + dataFilePath);
+        }
+    }
+
+    private void applyPut(int id, T item) {
+        stored(id, item);
+        if (mappedFile != null) {
+            (mappedFile.containsId(id) ? mappedOverrides : mappedAppends).put(id, item);
+            return;
+        }
+        int index = positionOf(id);
+        if (index != -1) {
+            dataList.set(index, item);
+        } else {
+            dataList.add(item);
+            indexAppended(item);
+        }
+    }
+
+    private void applyRemove(int id) {
+        removed(id);
+        if (mappedFile != null) {
+            if (mappedFile.containsId(id)) {
+                mappedOverrides.put(id, null);
+            } else {
+                mappedAppends.remove(id);
+            }
+            return;
+        }
+        int index = positionOf(id);
+        if (index != -1) {
+            removeAt(index);
+        }
+    }
+
+    protected void ensureMaterialized() {
+        if (mappedFile == null) {
+            return;
+        }
         lock.writeLock().lock();
         try {
-            File file = new File(dataFilePath);
+            MappedRecordFile<T> source = mappedFile;
+            if (source == null) {
+                return;
+            }
+            List<T> items = new ArrayList<>(source.size() + mappedAppends.size());
+            for (int i = 0; i < source.size(); i++) {
+                int id = source.idAt(i);
+                if (mappedOverrides.containsKey(id)) {
+                    T override = mappedOverrides.get(id);
+                    if (override != null) {
+                        items.add(override);
+                    }
+                } else {
+                    items.add(source.decodeAt(i));
+                }
+            }
+            items.addAll(mappedAppends.values());
+            dataList.clear();
+            dataList.addAll(items);
+            rebuildIdIndex();
+            mappedOverrides.clear();
+            mappedAppends.clear();
+            releaseMapping();
+            invalidateSnapshot();
+            System.out.println("BaseDAO: Materialized " + items.size() + " mapped records for " + dataFilePath);
+        } catch (IOException e) {
+            throw new DataAccessException("Error decoding mapped data file: " + dataFilePath, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock.
+    private void releaseMapping() {
+        MappedRecordFile<T> source = mappedFile;
+        mappedFile = null;
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    protected T findById(int id) {
+        lock.readLock().lock();
+        try {
+            MappedRecordFile<T> source = mappedFile;
+            if (source != null) {
+                if (mappedAppends.containsKey(id)) {
+                    return mappedAppends.get(id);
+                }
+                if (mappedOverrides.containsKey(id)) {
+                    return mappedOverrides.get(id);
+                }
+                return source.decodeById(id);
+            }
+            int index = positionOf(id);
+            return index != -1 ? dataList.get(index) : null;
+        } catch (IOException e) {
+            throw new DataAccessException("Error decoding mapped record " + id + " from: " + dataFilePath, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-            File parentDir = file.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                if (!parentDir.mkdirs()) {
-                    throw new DataAccessException("Could not create directory for data file: " + parentDir.getAbsolutePath());
+    protected List<T> query(Predicate<? super T> filter) {
+        lock.readLock().lock();
+        try {
+            MappedRecordFile<T> source = mappedFile;
+            if (source == null) {
+                return dataList.stream().filter(filter).collect(Collectors.toList());
+            }
+            List<T> result = new ArrayList<>();
+            for (int i = 0; i < source.size(); i++) {
+                int id = source.idAt(i);
+                T item = mappedOverrides.containsKey(id) ? mappedOverrides.get(id) : source.decodeAt(i);
+                if (item != null && filter.test(item)) {
+                    result.add(item);
+                }
+            }
+            for (T item : mappedAppends.values()) {
+                if (filter.test(item)) {
+                    result.add(item);
                 }
             }
-            try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
-                oos.writeObject(new ArrayList<>(this.dataList));
+            return result;
+        } catch (IOException e) {
+            throw new DataAccessException("Error scanning mapped data file: " + dataFilePath, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    protected void saveData() {
+        ensureMaterialized();
+        lock.writeLock().lock();
+        snapshotLock.lock();
+        try {
+            writeSnapshot(new ArrayList<>(this.dataList));
+            if (journal != null) {
+                journal.truncate();
             }
         } catch (IOException e) {
             throw new DataAccessException("Error saving data to file: " + dataFilePath, e);
         } finally {
+            snapshotLock.unlock();
             lock.writeLock().unlock();
         }
     }
 
-    public List<T> getAll() {
+    private void writeSnapshot(List<T> items) throws IOException {
+        DurableFiles.replace(new File(dataFilePath), out -> EntityFileFormat.writeAll(out, items, codec, this::getEntityId));
+    }
+
+    boolean needsCompaction() {
+        return journal != null
+                && (journal.getRecordCount() >= JournalCompactor.MAX_JOURNAL_RECORDS
+                || journal.getSizeBytes() >= JournalCompactor.MAX_JOURNAL_BYTES);
+    }
+
+    public void compact() {
+        if (journal == null) {
+            return;
+        }
+        if (!JournalCompactor.getInstance().owns(this)) {
+            System.err.println("Warning: Not compacting " + dataFilePath + ", a newer instance has opened the file.");
+            return;
+        }
+        long startNanos = System.nanoTime();
+        if (mappedFile != null && compactMapped(startNanos)) {
+            return;
+        }
+        List<T> items;
+        long journalBytes;
         lock.readLock().lock();
         try {
-            return new ArrayList<>(this.dataList);
+            if (!canCompact() || !snapshotLock.tryLock()) {
+                return;
+            }
+            try {
+                items = new ArrayList<>(this.dataList);
+                journalBytes = journal.rotate();
+            } catch (IOException e) {
+                snapshotLock.unlock();
+                throw new DataAccessException("Error rotating journal for: " + dataFilePath, e);
+            }
         } finally {
             lock.readLock().unlock();
         }
+        try {
+            long previousSnapshotBytes = new File(dataFilePath).length();
+            writeSnapshot(items);
+            journal.discardRotated();
+            long reclaimed = previousSnapshotBytes + journalBytes - new File(dataFilePath).length();
+            long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            compactionStats = compactionStats.next(System.currentTimeMillis(), durationMillis, Math.max(0L, reclaimed));
+            System.out.println("BaseDAO: Compacted " + dataFilePath + " in " + durationMillis + " ms, reclaimed " + reclaimed + " bytes.");
+        } catch (IOException e) {
+            throw new DataAccessException("Error compacting data file: " + dataFilePath, e);
+        } finally {
+            snapshotLock.unlock();
+        }
     }
 
-    public void add(T item) throws ScheduleConflictException {
-        if (item == null) {
-            throw new IllegalArgumentException("Cannot add a null item.");
+    // A mapped store folds its journal into a new file and maps that instead. The old mapping must be released
+    // before the file is replaced, so this runs under the write lock rather than alongside readers.
+    private boolean compactMapped(long startNanos) {
+        lock.writeLock().lock();
+        if (!canCompact() || !snapshotLock.tryLock()) {
+            lock.writeLock().unlock();
+            return true;
+        }
+        try {
+            MappedRecordFile<T> source = mappedFile;
+            if (source == null) {
+                return false;
+            }
+            List<T> items = query(item -> true);
+            long journalBytes = journal.rotate();
+            long previousSnapshotBytes = new File(dataFilePath).length();
+            releaseMapping();
+            try {
+                writeSnapshot(items);
+                mappedFile = MappedRecordFile.open(new File(dataFilePath), codec);
+            } catch (IOException e) {
+                // Keep serving the merged records from memory; the rotated journal still covers them on disk.
+                useMaterialized(items);
+                throw e;
+            }
+            mappedOverrides.clear();
+            mappedAppends.clear();
+            journal.discardRotated();
+            long reclaimed = previousSnapshotBytes + journalBytes - new File(dataFilePath).length();
+            long durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            compactionStats = compactionStats.next(System.currentTimeMillis(), durationMillis, Math.max(0L, reclaimed));
+            System.out.println("BaseDAO: Compacted mapped " + dataFilePath + " in " + durationMillis + " ms, reclaimed " + reclaimed + " bytes.");
+            return true;
+        } catch (IOException e) {
+            throw new DataAccessException("Error compacting mapped data file: " + dataFilePath, e);
+        } finally {
+            snapshotLock.unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    // A snapshot taken now would either hold another transaction's uncommitted changes or fold later changes in
+    // ahead of a commit the transaction journal may still replay. The next flush asks again.
+    private boolean canCompact() {
+        if (openTransactions.get() > 0) {
+            return false;
+        }
+        synchronized (pendingRecords) {
+            return backlogTxId == 0;
+        }
+    }
+
+    private void useMaterialized(List<T> items) {
+        dataList.clear();
+        dataList.addAll(items);
+        rebuildIdIndex();
+        mappedOverrides.clear();
+        mappedAppends.clear();
+        invalidateSnapshot();
+    }
+
+    public CompactionStats getCompactionStats() {
+        return compactionStats;
+    }
+
+    protected int indexOfId(int id) {
+        ensureMaterialized();
+        return positionOf(id);
+    }
+
+    private int positionOf(int id) {
+        return idIndex.get(id);
+    }
+
+    protected final <K> UniqueIndex<T, K> uniqueIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+        return register(new UniqueIndex<>(name, keyExtractor));
+    }
+
+    protected final <K> GroupIndex<T, K> hashIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+        return register(new GroupIndex<T, K>(name, item -> Collections.singletonList(keyExtractor.apply(item)), false));
+    }
+
+    protected final <K extends Comparable<? super K>> GroupIndex<T, K> orderedIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+        return register(new GroupIndex<T, K>(name, item -> Collections.singletonList(keyExtractor.apply(item)), true));
+    }
+
+    protected final <K> GroupIndex<T, K> multiValuedIndex(String name, Function<? super T, ? extends Collection<? extends K>> keysExtractor) {
+        return register(new GroupIndex<>(name, keysExtractor, false));
+    }
+
+    protected final <I extends EntityIndex<T>> I customIndex(I index) {
+        return register(index);
+    }
+
+    // Subclasses register indexes from field initializers, after loadData has run. Over a plain list each index is built
+    // on registration; a mapped store only queues it, and its constructor calls buildIndexes() to fill every queued
+    // index from one decode pass.
+    private <I extends EntityIndex<T>> I register(I index) {
+        lock.writeLock().lock();
+        try {
+            for (EntityIndex<T> existing : entityIndexes) {
+                if (existing.getName().equals(index.getName())) {
+                    throw new IllegalArgumentException("Index '" + index.getName() + "' is already registered for " + dataFilePath);
+                }
+            }
+            entityIndexes.add(index);
+            if (mappedFile != null) {
+                unbuiltIndexes.add(index);
+            } else {
+                rebuild(index, dataList);
+            }
+            return index;
+        } finally {
+            lock.writeLock().unlock();
         }
+    }
+
+    protected final void buildIndexes() {
         lock.writeLock().lock();
         try {
-            this.dataList.add(item);
-            saveData();
+            if (unbuiltIndexes.isEmpty()) {
+                return;
+            }
+            if (mappedFile != null) {
+                rebuildFromMapped(new ArrayList<>(unbuiltIndexes));
+            } else {
+                rebuild(unbuiltIndexes, dataList);
+            }
+            unbuiltIndexes.clear();
         } finally {
             lock.writeLock().unlock();
         }
     }
-}
\ No newline at end of file
+
+    protected List<T> findAllById(Collection<Integer> ids) {
+        List<T> items = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            T item = findById(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private void stored(int id, T item) {
+        for (EntityIndex<T> index : entityIndexes) {
+            index.put(id, item);
+        }
+    }
+
+    private void removed(int id) {
+        for (EntityIndex<T> index : entityIndexes) {
+            index.remove(id);
+        }
+    }
+
+    private void reloaded() {
+        if (mappedFile != null) {
+            rebuildFromMapped(entityIndexes);
+        } else if (!entityIndexes.isEmpty()) {
+            rebuild(entityIndexes, dataList);
+        }
+    }
+
+    // Decodes each mapped record once and hands it to every index, without keeping the decoded records.
+    private void rebuildFromMapped(List<EntityIndex<T>> indexes) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        indexes.forEach(EntityIndex::clear);
+        MappedRecordFile<T> source = mappedFile;
+        try {
+            for (int i = 0; i < source.size(); i++) {
+                int id = source.idAt(i);
+                T item = mappedOverrides.containsKey(id) ? mappedOverrides.get(id) : source.decodeAt(i);
+                if (item != null) {
+                    for (EntityIndex<T> index : indexes) {
+                        index.put(id, item);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new DataAccessException("Error indexing mapped data file: " + dataFilePath, e);
+        }
+        for (Map.Entry<Integer, T> appended : mappedAppends.entrySet()) {
+            for (EntityIndex<T> index : indexes) {
+                index.put(appended.getKey(), appended.getValue());
+            }
+        }
+    }
+
+    // Indexes are independent of each other, so large reloads rebuild them on separate threads.
+    private void rebuild(List<EntityIndex<T>> indexes, List<T> items) {
+        if (indexes.size() > 1 && items.size() >= PARALLEL_INDEX_REBUILD_THRESHOLD) {
+            indexes.parallelStream().forEach(index -> rebuild(index, items));
+        } else {
+            indexes.forEach(index -> rebuild(index, items));
+        }
+    }
+
+    private void rebuild(EntityIndex<T> index, List<T> items) {
+        index.clear();
+        for (T item : items) {
+            index.put(getEntityId(item), item);
+        }
+    }
+
+    private void rebuildIdIndex() {
+        idIndex.clear();
+        duplicateIds = false;
+        for (int i = 0; i < dataList.size(); i++) {
+            indexAt(getEntityId(dataList.get(i)), i);
+        }
+    }
+
+    private void indexAppended(T item) {
+        indexAt(getEntityId(item), dataList.size() - 1);
+    }
+
+    private void indexAt(int id, int position) {
+        if (idIndex.containsKey(id)) {
+            duplicateIds = true;
+        } else {
+            idIndex.put(id, position);
+        }
+    }
+
+    // The last element moves into the hole, so a removal rewrites one index entry instead of every later one. The
+    // list is not kept in insertion order; indexes that need an order keep their own.
+    private T removeAt(int position) {
+        T removed = dataList.get(position);
+        int lastPosition = dataList.size() - 1;
+        T last = dataList.remove(lastPosition);
+        int id = getEntityId(removed);
+        if (duplicateIds) {
+            if (position != lastPosition) {
+                dataList.set(position, last);
+            }
+            rebuildIdIndex();
+            return removed;
+        }
+        idIndex.remove(id);
+        if (position != lastPosition) {
+            dataList.set(position, last);
+            idIndex.put(getEntityId(last), position);
+        }
+        return removed;
+    }
+
+    protected void insert(T item) {
+        ensureMaterialized();
+        lock.writeLock().lock();
+        try {
+            dataList.add(item);
+            indexAppended(item);
+            stored(getEntityId(item), item);
+            invalidateSnapshot();
+            record(DataJournal.OP_PUT, getEntityId(item), item, null);
+            afterMutation();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected boolean replace(T item) {
+        ensureMaterialized();
+        lock.writeLock().lock();
+        try {
+            int index = positionOf(getEntityId(item));
+            if (index == -1) {
+                return false;
+            }
+            T previous = dataList.set(index, item);
+            stored(getEntityId(item), item);
+            invalidateSnapshot();
+            record(DataJournal.OP_PUT, getEntityId(item), item, previous);
+            afterMutation();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected T removeById(int id) {
+        ensureMaterialized();
+        lock.writeLock().lock();
+        try {
+            int index = positionOf(id);
+            if (index == -1) {
+                return null;
+            }
+            T removed = removeAt(index);
+            removed(id);
+            invalidateSnapshot();
+            record(DataJournal.OP_REMOVE, id, null, removed);
+            afterMutation();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected List<T> removeWhere(Predicate<? super T> filter) {
+        ensureMaterialized();
+        lock.writeLock().lock();
+        try {
+            List<T> removed = new ArrayList<>();
+            Iterator<T> iterator = dataList.iterator();
+            while (iterator.hasNext()) {
+                T item = iterator.next();
+                if (filter.test(item)) {
+                    iterator.remove();
+                    removed.add(item);
+                }
+            }
+            if (!removed.isEmpty()) {
+                rebuildIdIndex();
+                invalidateSnapshot();
+                for (T item : removed) {
+                    removed(getEntityId(item));
+                    record(DataJournal.OP_REMOVE, getEntityId(item), null, item);
+                }
+                afterMutation();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BatchResult<T> addAll(List<T> items) throws DataAccessException {
+        return applyBatch(items, BatchMode.INSERT);
+    }
+
+    public BatchResult<T> updateAll(List<T> items) throws DataAccessException {
+        return applyBatch(items, BatchMode.UPDATE);
+    }
+
+    public BatchResult<T> upsertAll(List<T> items) throws DataAccessException {
+        return applyBatch(items, BatchMode.UPSERT);
+    }
+
+    protected abstract int reserveIds(int count);
+
+    protected abstract void assignEntityId(T item, int id);
+
+    protected int resolveExistingId(T item) {
+        int id = getEntityId(item);
+        return id > 0 && positionOf(id) != -1 ? id : -1;
+    }
+
+    protected void beforeBatchWrite(T item, boolean isNew) throws Exception {
+    }
+
+    private BatchResult<T> applyBatch(List<T> items, BatchMode mode) {
+        if (items == null || items.isEmpty()) {
+            return BatchResult.empty();
+        }
+        ensureMaterialized();
+        List<BatchResult.Outcome<T>> outcomes = new ArrayList<>(items.size());
+        boolean changed = false;
+        lock.writeLock().lock();
+        try {
+            int newCount = 0;
+            for (T item : items) {
+                if (item != null && mode != BatchMode.UPDATE && (mode == BatchMode.INSERT || resolveExistingId(item) == -1)) {
+                    newCount++;
+                }
+            }
+            int nextId = newCount > 0 ? reserveIds(newCount) : 0;
+
+            for (int i = 0; i < items.size(); i++) {
+                T item = items.get(i);
+                if (item == null) {
+                    outcomes.add(BatchResult.Outcome.failure(i, null, "Item cannot be null."));
+                    continue;
+                }
+                try {
+                    int existingId = mode == BatchMode.INSERT ? -1 : resolveExistingId(item);
+                    boolean isNew = existingId == -1;
+                    if (isNew && mode == BatchMode.UPDATE) {
+                        throw new DataAccessException("Item with ID " + getEntityId(item) + " not found for update.");
+                    }
+                    if (!isNew && getEntityId(item) != existingId) {
+                        assignEntityId(item, existingId);
+                    }
+                    beforeBatchWrite(item, isNew);
+                    T previous = null;
+                    if (isNew) {
+                        assignEntityId(item, nextId++);
+                        dataList.add(item);
+                        indexAppended(item);
+                    } else {
+                        previous = dataList.set(positionOf(existingId), item);
+                    }
+                    stored(getEntityId(item), item);
+                    record(DataJournal.OP_PUT, getEntityId(item), item, previous);
+                    changed = true;
+                    outcomes.add(BatchResult.Outcome.success(i, item));
+                } catch (Exception e) {
+                    outcomes.add(BatchResult.Outcome.failure(i, item, e.getMessage()));
+                }
+            }
+            if (changed) {
+                invalidateSnapshot();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (changed && TransactionManager.currentTransaction() == null) {
+            flush();
+        }
+        return new BatchResult<>(outcomes);
+    }
+
+    private void record(byte op, int id, T item, T previous) {
+        Transaction transaction = TransactionManager.currentTransaction();
+        if (transaction != null) {
+            transaction.stage(this, new DataJournal.Record(op, id, encodeRecord(id, item)), previous);
+        } else {
+            recordPending(op, id, item);
+        }
+    }
+
+    private void recordPending(byte op, int id, T item) {
+        if (journal == null) {
+            snapshotDirty.set(true);
+        } else {
+            synchronized (pendingRecords) {
+                pendingRecords.add(new DataJournal.Record(op, id, encodeRecord(id, item)));
+            }
+        }
+    }
+
+    // Stored instances are shared with readers and with transaction undo, so changes go to a copy that is then replaced.
+    protected T copyOf(T item) {
+        try {
+            return deserializeItem(serializeItem(item));
+        } catch (IOException e) {
+            throw new DataAccessException("Error copying record " + getEntityId(item) + " for: " + dataFilePath, e);
+        }
+    }
+
+    private byte[] encodeRecord(int id, T item) {
+        try {
+            return item != null ? serializeItem(item) : null;
+        } catch (IOException e) {
+            throw new DataAccessException("Error encoding record " + id + " for: " + dataFilePath, e);
+        }
+    }
+
+    private void afterMutation() {
+        if (TransactionManager.currentTransaction() != null) {
+            return;
+        }
+        long window = writeBehindMillis;
+        if (window <= 0) {
+            flush();
+        } else {
+            WriteBehindScheduler.getInstance().schedule(this, window);
+        }
+    }
+
+    public void flush() {
+        if (journal == null && openTransactions.get() > 0) {
+            WriteBehindScheduler.getInstance().schedule(this, Math.max(writeBehindMillis, DEFAULT_WRITE_BEHIND_MILLIS));
+            return;
+        }
+        flushPending();
+    }
+
+    private void flushPending() {
+        if (journal == null) {
+            long throughTxId;
+            synchronized (pendingRecords) {
+                throughTxId = backlogTxId;
+            }
+            saveIfDirty();
+            discardBacklog(throughTxId);
+            return;
+        }
+        long throughTxId;
+        flushLock.lock();
+        try {
+            List<DataJournal.Record> batch;
+            boolean committed;
+            synchronized (pendingRecords) {
+                throughTxId = backlogTxId;
+                committed = backlogRecords > 0;
+                if (committed) {
+                    // Committed records go first and alone; later records wait until the backlog is discarded.
+                    List<DataJournal.Record> head = pendingRecords.subList(0, backlogRecords);
+                    batch = new ArrayList<>(head);
+                    head.clear();
+                } else if (throughTxId != 0) {
+                    batch = Collections.emptyList();
+                } else if (pendingRecords.isEmpty()) {
+                    return;
+                } else {
+                    batch = new ArrayList<>(pendingRecords);
+                    pendingRecords.clear();
+                }
+            }
+            try {
+                journal.append(batch);
+            } catch (IOException e) {
+                synchronized (pendingRecords) {
+                    pendingRecords.addAll(0, batch);
+                }
+                throw new DataAccessException("Error appending to journal for: " + dataFilePath, e);
+            }
+            if (committed) {
+                synchronized (pendingRecords) {
+                    backlogRecords = 0;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        if (discardBacklog(throughTxId)) {
+            flushPending();
+            return;
+        }
+        if (needsCompaction()) {
+            JournalCompactor.getInstance().requestCompaction(this);
+        }
+    }
+
+    private void saveIfDirty() {
+        if (snapshotDirty.getAndSet(false)) {
+            try {
+                saveData();
+            } catch (RuntimeException e) {
+                snapshotDirty.set(true);
+                throw e;
+            }
+        }
+    }
+
+    // Only the write-behind thread or a plain flush may discard: a commit can hold the transaction journal while it
+    // waits for this store's lock, so a caller that holds the lock leaves it to the scheduler.
+    private boolean discardBacklog(long throughTxId) {
+        if (throughTxId == 0) {
+            return false;
+        }
+        if (lock.isWriteLockedByCurrentThread()) {
+            WriteBehindScheduler.getInstance().schedule(this, Math.max(writeBehindMillis, DEFAULT_WRITE_BEHIND_MILLIS));
+            return false;
+        }
+        TransactionManager.getInstance().discardCommitted(this, throughTxId);
+        committedDurable(throughTxId);
+        return true;
+    }
+
+    void enterTransaction() {
+        openTransactions.incrementAndGet();
+    }
+
+    void exitTransaction() {
+        openTransactions.decrementAndGet();
+    }
+
+    void lockForCommit() {
+        lock.writeLock().lock();
+        flushLock.lock();
+    }
+
+    void unlockAfterCommit() {
+        flushLock.unlock();
+        lock.writeLock().unlock();
+    }
+
+    void applyCommitted(List<DataJournal.Record> records, long txId) {
+        synchronized (pendingRecords) {
+            if (journal == null) {
+                snapshotDirty.set(true);
+            } else {
+                pendingRecords.addAll(records);
+                backlogRecords = pendingRecords.size();
+            }
+            backlogTxId = txId;
+        }
+    }
+
+    // Returns true once the committed records are on stable storage, so the transaction journal can let go of them.
+    boolean flushCommitted() {
+        if (journal == null) {
+            if (openTransactions.get() > 1) {
+                // Another open transaction's changes are in memory as well; the snapshot waits until it finishes.
+                return false;
+            }
+            saveIfDirty();
+            return true;
+        }
+        appendCommitted();
+        return true;
+    }
+
+    void committedDurable(long txId) {
+        synchronized (pendingRecords) {
+            if (backlogTxId <= txId) {
+                backlogTxId = 0;
+            }
+        }
+    }
+
+    // Caller holds flushLock or is still constructing the store.
+    private void appendCommitted() {
+        List<DataJournal.Record> batch;
+        synchronized (pendingRecords) {
+            batch = new ArrayList<>(pendingRecords);
+            pendingRecords.clear();
+        }
+        try {
+            journal.append(batch);
+        } catch (IOException e) {
+            synchronized (pendingRecords) {
+                pendingRecords.addAll(0, batch);
+            }
+            throw new DataAccessException("Error writing committed records to journal for: " + dataFilePath, e);
+        }
+        synchronized (pendingRecords) {
+            backlogRecords = 0;
+        }
+    }
+
+    // Rolling back puts the previous value back through the journal as well, in case anything wrote the
+    // transaction's changes out in the meantime. A row that no longer holds the transaction's own change was written
+    // by someone else since, and keeps that newer value.
+    @SuppressWarnings("unchecked")
+    void undo(DataJournal.Record record, Object previous) {
+        lock.writeLock().lock();
+        try {
+            if (!holdsChange(record)) {
+                System.err.println("Warning: Record " + record.id + " in " + dataFilePath + " changed outside the transaction, keeping the newer value on rollback.");
+                return;
+            }
+            if (previous != null) {
+                applyPut(record.id, (T) previous);
+                recordPending(DataJournal.OP_PUT, record.id, (T) previous);
+            } else if (record.op == DataJournal.OP_PUT) {
+                applyRemove(record.id);
+                recordPending(DataJournal.OP_REMOVE, record.id, null);
+            } else {
+                return;
+            }
+            invalidateSnapshot();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        WriteBehindScheduler.getInstance().schedule(this, Math.max(writeBehindMillis, DEFAULT_WRITE_BEHIND_MILLIS));
+    }
+
+    private boolean holdsChange(DataJournal.Record record) {
+        T current = findById(record.id);
+        if (record.op == DataJournal.OP_REMOVE) {
+            return current == null;
+        }
+        return current != null && Arrays.equals(encodeRecord(record.id, current), record.payload);
+    }
+
+    void recover(List<DataJournal.Record> records) throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (DataJournal.Record record : records) {
+                if (record.op == DataJournal.OP_PUT) {
+                    applyPut(record.id, deserializeItem(record.payload));
+                } else {
+                    applyRemove(record.id);
+                }
+            }
+            invalidateSnapshot();
+            if (journal == null) {
+                snapshotDirty.set(true);
+                saveIfDirty();
+            } else {
+                synchronized (pendingRecords) {
+                    pendingRecords.addAll(records);
+                }
+                appendCommitted();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private byte[] serializeItem(T item) throws IOException {
+        return EntityFileFormat.encode(item, codec);
+    }
+
+    private T deserializeItem(byte[] payload) throws IOException {
+        return EntityFileFormat.decode(payload, codec);
+    }
+
+    // Writers only drop the snapshot under the write lock; the next getAll() copies the list once for the whole burst
+    // of writes, and every reader after it shares that copy without locking.
+    private void invalidateSnapshot() {
+        snapshot = null;
+    }
+
+    public List<T> getAll() {
+        List<T> current = snapshot;
+        while (current == null) {
+            ensureMaterialized();
+            lock.readLock().lock();
+            try {
+                current = snapshot;
+                if (current == null && mappedFile == null) {
+                    current = Collections.unmodifiableList(new ArrayList<>(dataList));
+                    snapshot = current;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return current;
+    }
+
+    public void add(T item) throws ScheduleConflictException {
+        if (item == null) {
+            throw new IllegalArgumentException("Cannot add a null item.");
+        }
+        insert(item);
+    }
+}
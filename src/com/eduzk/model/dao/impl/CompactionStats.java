@@ -0,0 +1,59 @@
+package com.eduzk.model.dao.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+public class CompactionStats {
+
+    private final String dataFilePath;
+    private final int compactionCount;
+    private final long lastCompactionTimeMillis;
+    private final long lastDurationMillis;
+    private final long lastBytesReclaimed;
+    private final long totalBytesReclaimed;
+
+    CompactionStats(String dataFilePath, int compactionCount, long lastCompactionTimeMillis,
+                    long lastDurationMillis, long lastBytesReclaimed, long totalBytesReclaimed) {
+        this.dataFilePath = dataFilePath;
+        this.compactionCount = compactionCount;
+        this.lastCompactionTimeMillis = lastCompactionTimeMillis;
+        this.lastDurationMillis = lastDurationMillis;
+        this.lastBytesReclaimed = lastBytesReclaimed;
+        this.totalBytesReclaimed = totalBytesReclaimed;
+    }
+
+    static CompactionStats empty(String dataFilePath) {
+        return new CompactionStats(dataFilePath, 0, 0L, 0L, 0L, 0L);
+    }
+
+    CompactionStats next(long compactionTimeMillis, long durationMillis, long bytesReclaimed) {
+        return new CompactionStats(dataFilePath, compactionCount + 1, compactionTimeMillis,
+                durationMillis, bytesReclaimed, totalBytesReclaimed + bytesReclaimed);
+    }
+
+    public String getDataFilePath() { return dataFilePath; }
+    public int getCompactionCount() { return compactionCount; }
+    public long getLastDurationMillis() { return lastDurationMillis; }
+    public long getLastBytesReclaimed() { return lastBytesReclaimed; }
+    public long getTotalBytesReclaimed() { return totalBytesReclaimed; }
+
+    public LocalDateTime getLastCompactionTime() {
+        if (lastCompactionTimeMillis == 0L) {
+            return null;
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(lastCompactionTimeMillis), ZoneId.systemDefault());
+    }
+
+    @Override
+    public String toString() {
+        return "CompactionStats{" +
+                "file='" + dataFilePath + '\'' +
+                ", count=" + compactionCount +
+                ", lastCompaction=" + getLastCompactionTime() +
+                ", lastDurationMs=" + lastDurationMillis +
+                ", lastBytesReclaimed=" + lastBytesReclaimed +
+                ", totalBytesReclaimed=" + totalBytesReclaimed +
+                '}';
+    }
+}
@@ -1,9 +1,11 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.CourseCodec;
 import com.eduzk.model.dao.interfaces.ICourseDAO;
 import com.eduzk.model.entities.Course;
 import com.eduzk.model.exceptions.DataAccessException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import com.eduzk.utils.ValidationUtils;
@@ -11,8 +13,10 @@ import com.eduzk.utils.ValidationUtils;
 public class CourseDAOImpl extends BaseDAO<Course> implements ICourseDAO {
 
     private final IdGenerator idGenerator;
+    private final UniqueIndex<Course, String> codeIndex = uniqueIndex("courseCode", course -> codeKey(course.getCourseCode()));
+
     public CourseDAOImpl(String dataFilePath, IdGenerator idGenerator) {
-        super(dataFilePath);
+        super(dataFilePath, CourseCodec.INSTANCE);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null");
         }
@@ -20,18 +24,39 @@ public class CourseDAOImpl extends BaseDAO<Course> implements ICourseDAO {
     }
 
     @Override
-    public Course getById(int id) {
-        lock.readLock().lock();
-        try {
-            return dataList.stream()
-                    .filter(course -> course.getCourseId() == id)
-                    .findFirst()
-                    .orElse(null);
-        } finally {
-            lock.readLock().unlock();
+    protected int getEntityId(Course course) {
+        return course.getCourseId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.COURSE_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(Course course, int id) {
+        course.setCourseId(id);
+    }
+
+    private static String codeKey(String courseCode) {
+        return courseCode != null ? courseCode.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    @Override
+    protected void beforeBatchWrite(Course course, boolean isNew) {
+        if (!ValidationUtils.isNotEmpty(course.getCourseCode()) || !ValidationUtils.isNotEmpty(course.getCourseName())) {
+            throw new IllegalArgumentException("Course code and name cannot be empty.");
+        }
+        if (codeIndex.isTakenByOther(codeKey(course.getCourseCode()), isNew ? UniqueIndex.MISSING : course.getCourseId())) {
+            throw new DataAccessException("Course with code '" + course.getCourseCode() + "' already exists.");
         }
     }
 
+    @Override
+    public Course getById(int id) {
+        return findById(id);
+    }
+
     @Override
     public Optional<Course> findByCode(String courseCode) {
         if (courseCode == null || courseCode.trim().isEmpty()) {
@@ -39,9 +64,8 @@ public class CourseDAOImpl extends BaseDAO<Course> implements ICourseDAO {
         }
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(course -> courseCode.equalsIgnoreCase(course.getCourseCode()))
-                    .findFirst();
+            int id = codeIndex.get(codeKey(courseCode));
+            return Optional.ofNullable(id != UniqueIndex.MISSING ? findById(id) : null);
         } finally {
             lock.readLock().unlock();
         }
@@ -73,14 +97,11 @@ public class CourseDAOImpl extends BaseDAO<Course> implements ICourseDAO {
 
         lock.writeLock().lock();
         try {
-            boolean codeExists = dataList.stream()
-                    .anyMatch(existing -> existing.getCourseCode().equalsIgnoreCase(course.getCourseCode()));
-            if (codeExists) {
+            if (codeIndex.get(codeKey(course.getCourseCode())) != UniqueIndex.MISSING) {
                 throw new DataAccessException("Course with code '" + course.getCourseCode() + "' already exists.");
             }
 
-            this.dataList.add(course);
-            saveData();
+            insert(course);
         } finally {
             lock.writeLock().unlock();
         }
@@ -97,26 +118,14 @@ public class CourseDAOImpl extends BaseDAO<Course> implements ICourseDAO {
 
         lock.writeLock().lock();
         try {
-            int index = -1;
-            for (int i = 0; i < dataList.size(); i++) {
-                if (dataList.get(i).getCourseId() == course.getCourseId()) {
-                    index = i;
-                    break;
-                }
-            }
+            int index = indexOfId(course.getCourseId());
 
             if (index != -1) {
-                final int currentIndex = index;
-                boolean codeConflict = dataList.stream()
-                        .filter(existing -> existing.getCourseId() != course.getCourseId())
-                        .anyMatch(existing -> existing.getCourseCode().equalsIgnoreCase(course.getCourseCode()));
-
-                if (codeConflict) {
+                if (codeIndex.isTakenByOther(codeKey(course.getCourseCode()), course.getCourseId())) {
                     throw new DataAccessException("Cannot update course. Code '" + course.getCourseCode() + "' is already used by another course.");
                 }
 
-                dataList.set(index, course);
-                saveData();
+                replace(course);
             } else {
                 throw new DataAccessException("Course with ID " + course.getCourseId() + " not found for update.");
             }
@@ -127,16 +136,8 @@ public class CourseDAOImpl extends BaseDAO<Course> implements ICourseDAO {
 
     @Override
     public void delete(int id) {
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(course -> course.getCourseId() == id);
-            if (removed) {
-                saveData();
-            } else {
-                System.err.println("Warning: Course with ID " + id + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(id) == null) {
+            System.err.println("Warning: Course with ID " + id + " not found for deletion.");
         }
     }
 }
\ No newline at end of file
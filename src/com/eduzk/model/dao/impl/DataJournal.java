@@ -0,0 +1,245 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.impl.codec.EntityFileFormat;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+// Each record is framed as [length][CRC32C][op][id][payload], the checksum covering everything after it.
+class DataJournal {
+
+    static final byte OP_PUT = 1;
+    static final byte OP_REMOVE = 2;
+    private static final int BODY_HEADER_BYTES = 5;
+
+    interface Visitor {
+        void put(int id, byte[] payload) throws IOException;
+        void remove(int id) throws IOException;
+    }
+
+    static final class Record {
+        final byte op;
+        final int id;
+        final byte[] payload;
+
+        Record(byte op, int id, byte[] payload) {
+            this.op = op;
+            this.id = id;
+            this.payload = payload;
+        }
+    }
+
+    private final File file;
+    private final File rotatedFile;
+    private DataOutputStream out;
+    private FileOutputStream fileOut;
+    private int recordCount;
+
+    DataJournal(String journalPath) {
+        this.file = new File(journalPath);
+        this.rotatedFile = new File(journalPath + ".compacting");
+    }
+
+    // A batch is one durable write: it is forced to disk before append() returns. If any part of it fails, the file is
+    // cut back to where the batch started so a retry never lands behind a torn record.
+    synchronized void append(List<Record> records) throws IOException {
+        if (records.isEmpty()) {
+            return;
+        }
+        DataOutputStream stream = openForAppend();
+        long start = fileOut.getChannel().size();
+        try {
+            for (Record record : records) {
+                byte[] body = encodeBody(record);
+                CRC32C crc = new CRC32C();
+                crc.update(body);
+                stream.writeInt(body.length);
+                stream.writeInt((int) crc.getValue());
+                stream.write(body);
+            }
+            stream.flush();
+            fileOut.getChannel().force(false);
+        } catch (IOException e) {
+            abandonAppend(start, e);
+            throw e;
+        }
+        recordCount += records.size();
+    }
+
+    // Drops whatever is still buffered without flushing it, then removes any part of the batch that reached the file.
+    private void abandonAppend(long start, IOException cause) {
+        try {
+            fileOut.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        } finally {
+            out = null;
+            fileOut = null;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() > start) {
+                raf.setLength(start);
+            }
+        } catch (IOException e) {
+            System.err.println("Warning: Could not cut journal " + file.getPath() + " back after a failed append - " + e.getMessage());
+            cause.addSuppressed(e);
+        }
+    }
+
+    synchronized int replay(Visitor visitor) throws IOException {
+        closeStream();
+        recordCount = replayFile(rotatedFile, visitor);
+        recordCount += replayFile(file, visitor);
+        return recordCount;
+    }
+
+    // Stops at the first record that is incomplete or fails its checksum and cuts the file back to the intact prefix,
+    // so a crash mid-append never blocks loading and later appends do not land behind garbage.
+    private int replayFile(File source, Visitor visitor) throws IOException {
+        int replayed = 0;
+        if (!source.exists() || source.length() == 0) {
+            return 0;
+        }
+        long valid = 0;
+        String problem = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    if (valid < source.length()) {
+                        problem = "incomplete trailing record";
+                    }
+                    break;
+                }
+                byte[] body;
+                try {
+                    int expected = in.readInt();
+                    if (length < BODY_HEADER_BYTES || length > EntityFileFormat.MAX_RECORD_BYTES + BODY_HEADER_BYTES) {
+                        problem = "corrupt record length " + length;
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                    CRC32C crc = new CRC32C();
+                    crc.update(body);
+                    if ((int) crc.getValue() != expected) {
+                        problem = "checksum mismatch";
+                        break;
+                    }
+                } catch (EOFException e) {
+                    problem = "incomplete trailing record";
+                    break;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(body);
+                byte op = buffer.get();
+                int id = buffer.getInt();
+                if (op == OP_PUT) {
+                    byte[] payload = new byte[buffer.remaining()];
+                    buffer.get(payload);
+                    visitor.put(id, payload);
+                } else if (op == OP_REMOVE) {
+                    visitor.remove(id);
+                } else {
+                    problem = "unknown operation " + op;
+                    break;
+                }
+                valid += 8 + length;
+                replayed++;
+            }
+        }
+        if (problem != null) {
+            System.err.println("Warning: Journal " + source.getPath() + " ends in a damaged record (" + problem + "), truncating it at byte " + valid + " after " + replayed + " records.");
+            try (RandomAccessFile raf = new RandomAccessFile(source, "rw")) {
+                raf.setLength(valid);
+            }
+        }
+        return replayed;
+    }
+
+    private static byte[] encodeBody(Record record) {
+        int payloadLength = record.payload != null ? record.payload.length : 0;
+        ByteBuffer body = ByteBuffer.allocate(BODY_HEADER_BYTES + payloadLength);
+        body.put(record.op);
+        body.putInt(record.id);
+        if (record.payload != null) {
+            body.put(record.payload);
+        }
+        return body.array();
+    }
+
+    synchronized long rotate() throws IOException {
+        closeStream();
+        if (file.exists()) {
+            if (rotatedFile.exists()) {
+                try (OutputStream append = new FileOutputStream(rotatedFile, true)) {
+                    Files.copy(file.toPath(), append);
+                }
+                deleteOrEmpty(file);
+            } else if (!file.renameTo(rotatedFile)) {
+                throw new IOException("Could not rotate journal " + file.getPath());
+            }
+        }
+        recordCount = 0;
+        return rotatedFile.exists() ? rotatedFile.length() : 0L;
+    }
+
+    synchronized void discardRotated() throws IOException {
+        deleteOrEmpty(rotatedFile);
+    }
+
+    synchronized void truncate() throws IOException {
+        closeStream();
+        deleteOrEmpty(file);
+        deleteOrEmpty(rotatedFile);
+        recordCount = 0;
+    }
+
+    private static void deleteOrEmpty(File target) throws IOException {
+        if (target.exists() && !target.delete()) {
+            new FileOutputStream(target).close();
+        }
+    }
+
+    synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    synchronized long getSizeBytes() {
+        return file.exists() ? file.length() : 0L;
+    }
+
+    synchronized void close() {
+        try {
+            closeStream();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not close journal " + file.getPath() + " - " + e.getMessage());
+        }
+    }
+
+    private DataOutputStream openForAppend() throws IOException {
+        if (out == null) {
+            File parentDir = file.getParentFile();
+            if (parentDir != null && !parentDir.exists()) {
+                parentDir.mkdirs();
+            }
+            fileOut = new FileOutputStream(file, true);
+            out = new DataOutputStream(new BufferedOutputStream(fileOut));
+        }
+        return out;
+    }
+
+    private void closeStream() throws IOException {
+        if (out != null) {
+            try {
+                out.close();
+            } finally {
+                out = null;
+                fileOut = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.eduzk.model.dao.impl;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+final class DurableFiles {
+
+    static final String PREVIOUS_SUFFIX = ".prev";
+    static final String TEMP_SUFFIX = ".tmp";
+
+    interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private DurableFiles() {
+    }
+
+    static File previousGeneration(File target) {
+        return new File(target.getPath() + PREVIOUS_SUFFIX);
+    }
+
+    static void replace(File target, Content content) throws IOException {
+        File parentDir = target.getAbsoluteFile().getParentFile();
+        if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()) {
+            throw new IOException("Could not create directory for data file: " + parentDir.getAbsolutePath());
+        }
+        File tempFile = new File(target.getPath() + TEMP_SUFFIX);
+        try (FileOutputStream fos = new FileOutputStream(tempFile)) {
+            OutputStream out = new BufferedOutputStream(fos);
+            content.writeTo(out);
+            out.flush();
+            fos.getChannel().force(true);
+        }
+        if (target.exists() && target.length() > 0) {
+            keepPreviousGeneration(target);
+        }
+        Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(parentDir);
+    }
+
+    private static void keepPreviousGeneration(File target) throws IOException {
+        File previous = previousGeneration(target);
+        Files.deleteIfExists(previous.toPath());
+        try {
+            Files.createLink(previous.toPath(), target.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target.toPath(), previous.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void syncDirectory(File directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform (e.g. Windows); the rename itself is still atomic.
+        }
+    }
+}
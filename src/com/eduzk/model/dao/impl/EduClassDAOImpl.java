@@ -1,19 +1,24 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.EduClassCodec;
 import com.eduzk.model.dao.interfaces.IEduClassDAO;
 import com.eduzk.model.entities.EduClass;
 import com.eduzk.model.exceptions.DataAccessException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import com.eduzk.utils.ValidationUtils;
 
 public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
 
     private final IdGenerator idGenerator;
+    private final GroupIndex<EduClass, Integer> courseIndex =
+            hashIndex("courseId", eduClass -> eduClass.getCourse() != null ? eduClass.getCourse().getCourseId() : null);
+    private final GroupIndex<EduClass, Integer> teacherIndex =
+            hashIndex("teacherId", eduClass -> eduClass.getPrimaryTeacher() != null ? eduClass.getPrimaryTeacher().getTeacherId() : null);
+    private final GroupIndex<EduClass, Integer> enrollmentIndex = multiValuedIndex("studentIds", EduClass::getStudentIds);
 
     public EduClassDAOImpl(String dataFilePath, IdGenerator idGenerator) {
-        super(dataFilePath);
+        super(dataFilePath, EduClassCodec.INSTANCE);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null in EduClassDAOImpl");
         }
@@ -21,25 +26,46 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
     }
 
     @Override
-    public EduClass getById(int id) {
-        lock.readLock().lock();
-        try {
-            return dataList.stream()
-                    .filter(eduClass -> eduClass.getClassId() == id)
-                    .findFirst()
-                    .orElse(null);
-        } finally {
-            lock.readLock().unlock();
+    protected int getEntityId(EduClass eduClass) {
+        return eduClass.getClassId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.EDUCLASS_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(EduClass eduClass, int id) {
+        eduClass.setClassId(id);
+    }
+
+    @Override
+    protected void beforeBatchWrite(EduClass eduClass, boolean isNew) {
+        if (!ValidationUtils.isNotEmpty(eduClass.getClassName())) {
+            throw new IllegalArgumentException("Class name cannot be empty.");
+        }
+        if (eduClass.getCourse() == null || eduClass.getPrimaryTeacher() == null) {
+            throw new IllegalArgumentException("Course and Primary Teacher must be assigned.");
+        }
+        if (eduClass.getMaxCapacity() <= 0) {
+            throw new IllegalArgumentException("Max capacity must be positive.");
         }
+        if (eduClass.getCurrentEnrollment() > eduClass.getMaxCapacity()) {
+            throw new DataAccessException("Class '" + eduClass.getClassName() + "' has more students than its maximum capacity.");
+        }
+    }
+
+    @Override
+    public EduClass getById(int id) {
+        return findById(id);
     }
 
     @Override
     public List<EduClass> findByCourseId(int courseId) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(eduClass -> eduClass.getCourse() != null && eduClass.getCourse().getCourseId() == courseId)
-                    .collect(Collectors.toList());
+            return findAllById(courseIndex.get(courseId));
         } finally {
             lock.readLock().unlock();
         }
@@ -49,9 +75,7 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
     public List<EduClass> findByTeacherId(int teacherId) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(eduClass -> eduClass.getPrimaryTeacher() != null && eduClass.getPrimaryTeacher().getTeacherId() == teacherId)
-                    .collect(Collectors.toList());
+            return findAllById(teacherIndex.get(teacherId));
         } finally {
             lock.readLock().unlock();
         }
@@ -61,9 +85,7 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
     public List<EduClass> findByStudentId(int studentId) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(eduClass -> eduClass.getStudentIds().contains(studentId))
-                    .collect(Collectors.toList());
+            return findAllById(enrollmentIndex.get(studentId));
         } finally {
             lock.readLock().unlock();
         }
@@ -85,13 +107,7 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
             throw new IllegalArgumentException("Max capacity must be positive.");
         }
         eduClass.setClassId(idGenerator.getNextEduClassId());
-        lock.writeLock().lock();
-        try {
-            this.dataList.add(eduClass);
-            saveData();
-        } finally {
-            lock.writeLock().unlock();
-        }
+        insert(eduClass);
     }
 
     @Override
@@ -113,23 +129,8 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
                     + eduClass.getMaxCapacity() + ") is less than current enrollment ("
                     + eduClass.getCurrentEnrollment() + ").");
         }
-        lock.writeLock().lock();
-        try {
-            int index = -1;
-            for (int i = 0; i < dataList.size(); i++) {
-                if (dataList.get(i).getClassId() == eduClass.getClassId()) {
-                    index = i;
-                    break;
-                }
-            }
-            if (index != -1) {
-                dataList.set(index, eduClass);
-                saveData();
-            } else {
-                throw new DataAccessException("EduClass with ID " + eduClass.getClassId() + " not found for update.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (!replace(eduClass)) {
+            throw new DataAccessException("EduClass with ID " + eduClass.getClassId() + " not found for update.");
         }
     }
 
@@ -141,10 +142,7 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
             if (classToDelete != null && classToDelete.getCurrentEnrollment() > 0) {
                 throw new DataAccessException("Cannot delete class with ID " + id + ". It still has enrolled students.");
             }
-            boolean removed = dataList.removeIf(eduClass -> eduClass.getClassId() == id);
-            if (removed) {
-                saveData();
-            } else {
+            if (removeById(id) == null) {
                 System.err.println("Warning: EduClass with ID " + id + " not found for deletion.");
             }
         } finally {
@@ -163,10 +161,11 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
             if (eduClass.getCurrentEnrollment() >= eduClass.getMaxCapacity()) {
                 throw new DataAccessException("Cannot add student. Class '" + eduClass.getClassName() + "' is full.");
             }
-            if (eduClass.getStudentIds().contains(studentId)) {
+            if (enrollmentIndex.contains(studentId, classId)) {
                 System.err.println("Warning: Student with ID " + studentId + " is already enrolled in class ID " + classId);
                 return;
             }
+            eduClass = copyOf(eduClass);
             eduClass.addStudentId(studentId);
             update(eduClass);
 
@@ -184,10 +183,11 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
                 System.err.println("Warning: EduClass with ID " + classId + " not found when trying to remove student.");
                 return;
             }
-            if (!eduClass.getStudentIds().contains(studentId)) {
+            if (!enrollmentIndex.contains(studentId, classId)) {
                 System.err.println("Warning: Student with ID " + studentId + " is not enrolled in class ID " + classId);
                 return;
             }
+            eduClass = copyOf(eduClass);
             eduClass.removeStudentId(studentId);
             update(eduClass);
 
@@ -197,10 +197,8 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
     }
 
     private EduClass getByIdInternal(int id) {
-        return dataList.stream()
-                .filter(eduClass -> eduClass.getClassId() == id)
-                .findFirst()
-                .orElse(null);
+        int index = indexOfId(id);
+        return index != -1 ? dataList.get(index) : null;
     }
 
     @Override
@@ -217,7 +215,7 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
 
             List<Integer> studentsToAddActually = new ArrayList<>();
             for (Integer studentId : studentIds) {
-                if (studentId != null && studentId > 0 && !eduClass.getStudentIds().contains(studentId)) {
+                if (studentId != null && studentId > 0 && !enrollmentIndex.contains(studentId, classId)) {
                     if(studentsToAddActually.size() < availableSpots) {
                         studentsToAddActually.add(studentId);
                     } else {
@@ -228,6 +226,7 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
                 }
             }
             if (!studentsToAddActually.isEmpty()) {
+                eduClass = copyOf(eduClass);
                 for(Integer idToAdd : studentsToAddActually) {
                     eduClass.addStudentId(idToAdd);
                 }
@@ -255,6 +254,7 @@ public class EduClassDAOImpl extends BaseDAO<EduClass> implements IEduClassDAO {
             EduClass eduClass = getByIdInternal(classId);
             if (eduClass == null) {
             }
+            eduClass = copyOf(eduClass);
             List<Integer> idsToRemove = new ArrayList<>(studentIds);
             int initialSize = eduClass.getStudentIds().size();
 
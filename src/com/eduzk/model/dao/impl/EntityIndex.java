@@ -0,0 +1,23 @@
+package com.eduzk.model.dao.impl;
+
+abstract class EntityIndex<T> {
+
+    private final String name;
+
+    EntityIndex(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Index name cannot be empty.");
+        }
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    abstract void put(int id, T item);
+
+    abstract void remove(int id);
+
+    abstract void clear();
+}
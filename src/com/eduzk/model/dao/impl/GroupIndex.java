@@ -0,0 +1,89 @@
+package com.eduzk.model.dao.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+final class GroupIndex<T, K> extends EntityIndex<T> {
+
+    private final Function<? super T, ? extends Collection<? extends K>> keysExtractor;
+    private final Map<K, Set<Integer>> idsByKey;
+    private final Map<Integer, List<K>> keysById = new HashMap<>();
+
+    GroupIndex(String name, Function<? super T, ? extends Collection<? extends K>> keysExtractor, boolean ordered) {
+        super(name);
+        this.keysExtractor = keysExtractor;
+        this.idsByKey = ordered ? new TreeMap<>() : new HashMap<>();
+    }
+
+    // Keys are copied, so an entity edited in place is re-keyed correctly when it is stored again.
+    @Override
+    void put(int id, T item) {
+        remove(id);
+        Collection<? extends K> keys = keysExtractor.apply(item);
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+        List<K> indexed = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            if (key != null && idsByKey.computeIfAbsent(key, k -> new TreeSet<>()).add(id)) {
+                indexed.add(key);
+            }
+        }
+        if (!indexed.isEmpty()) {
+            keysById.put(id, indexed);
+        }
+    }
+
+    @Override
+    void remove(int id) {
+        List<K> previous = keysById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (K key : previous) {
+            Set<Integer> ids = idsByKey.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    idsByKey.remove(key);
+                }
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        idsByKey.clear();
+        keysById.clear();
+    }
+
+    Set<Integer> get(K key) {
+        Set<Integer> ids = key != null ? idsByKey.get(key) : null;
+        return ids != null ? Collections.unmodifiableSet(ids) : Collections.emptySet();
+    }
+
+    boolean contains(K key, int id) {
+        return get(key).contains(id);
+    }
+
+    // Ids in ascending key order, ties broken by id; only available on ordered indexes.
+    List<Integer> atLeast(K min) {
+        if (!(idsByKey instanceof NavigableMap)) {
+            throw new IllegalStateException("Index '" + getName() + "' is not ordered.");
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (Set<Integer> group : ((NavigableMap<K, Set<Integer>>) idsByKey).tailMap(min, true).values()) {
+            ids.addAll(group);
+        }
+        return ids;
+    }
+}
@@ -5,37 +5,59 @@ import java.io.*;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class IdGenerator {
 
+    public static final int DEFAULT_BLOCK_SIZE = 1000;
+
+    // The file stores, per key, the first ID not yet reserved; IDs are handed out from memory below that mark.
+    private static final class Block {
+        final AtomicLong next;
+        volatile long limit;
+
+        Block(long start) {
+            this.next = new AtomicLong(start);
+            this.limit = start;
+        }
+    }
+
     private final String idFilePath;
-    private final Map<String, Integer> nextIdMap;
+    private final int blockSize;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
     private final ReentrantLock lock = new ReentrantLock();
-    private static final String USER_ID_KEY = "user";
-    private static final String STUDENT_ID_KEY = "student";
-    private static final String TEACHER_ID_KEY = "teacher";
-    private static final String COURSE_ID_KEY = "course";
-    private static final String ROOM_ID_KEY = "room";
-    private static final String EDUCLASS_ID_KEY = "educlass";
-    private static final String SCHEDULE_ID_KEY = "schedule";
-    private static final String ACADEMIC_RECORD_ID_KEY = "academic_record";
-    private static final String ASSIGNMENT_ID_KEY = "assignment";
+    public static final String USER_ID_KEY = "user";
+    public static final String STUDENT_ID_KEY = "student";
+    public static final String TEACHER_ID_KEY = "teacher";
+    public static final String COURSE_ID_KEY = "course";
+    public static final String ROOM_ID_KEY = "room";
+    public static final String EDUCLASS_ID_KEY = "educlass";
+    public static final String SCHEDULE_ID_KEY = "schedule";
+    public static final String ACADEMIC_RECORD_ID_KEY = "academic_record";
+    public static final String ASSIGNMENT_ID_KEY = "assignment";
 
     public IdGenerator(String idFilePath) {
+        this(idFilePath, DEFAULT_BLOCK_SIZE);
+    }
+
+    public IdGenerator(String idFilePath, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("ID block size must be positive: " + blockSize);
+        }
         this.idFilePath = idFilePath;
-        this.nextIdMap = new ConcurrentHashMap<>();
-        loadNextIds();
+        this.blockSize = blockSize;
+        loadReservedIds();
         initializeDefaultKeys();
     }
 
-    private void loadNextIds() {
+    private void loadReservedIds() {
         lock.lock();
         try {
             File file = new File(idFilePath);
             if (!file.exists()) {
                 initializeDefaultKeys();
-                saveNextIds();
+                saveReservedIds(null, 0);
                 return;
             }
 
@@ -44,11 +66,11 @@ public class IdGenerator {
                 properties.load(input);
                 for (String key : properties.stringPropertyNames()) {
                     try {
-                        int id = Integer.parseInt(properties.getProperty(key));
-                        nextIdMap.put(key, id);
+                        long id = Long.parseLong(properties.getProperty(key).trim());
+                        blocks.put(key, new Block(Math.max(1, id)));
                     } catch (NumberFormatException e) {
                         System.err.println("Warning: Invalid number format for key '" + key + "' in " + idFilePath);
-                        nextIdMap.putIfAbsent(key, 1);
+                        blocks.putIfAbsent(key, new Block(1));
                     }
                 }
             }
@@ -61,43 +83,26 @@ public class IdGenerator {
     }
 
     private void initializeDefaultKeys() {
-        nextIdMap.putIfAbsent(USER_ID_KEY, 1);
-        nextIdMap.putIfAbsent(STUDENT_ID_KEY, 1);
-        nextIdMap.putIfAbsent(TEACHER_ID_KEY, 1);
-        nextIdMap.putIfAbsent(COURSE_ID_KEY, 1);
-        nextIdMap.putIfAbsent(ROOM_ID_KEY, 1);
-        nextIdMap.putIfAbsent(EDUCLASS_ID_KEY, 1);
-        nextIdMap.putIfAbsent(SCHEDULE_ID_KEY, 1);
-        nextIdMap.putIfAbsent(ACADEMIC_RECORD_ID_KEY, 1);
-        nextIdMap.putIfAbsent(ASSIGNMENT_ID_KEY, 1);
+        for (String key : new String[] {USER_ID_KEY, STUDENT_ID_KEY, TEACHER_ID_KEY, COURSE_ID_KEY, ROOM_ID_KEY,
+                EDUCLASS_ID_KEY, SCHEDULE_ID_KEY, ACADEMIC_RECORD_ID_KEY, ASSIGNMENT_ID_KEY}) {
+            blocks.putIfAbsent(key, new Block(1));
+        }
     }
 
-
-    private void saveNextIds() {
-        lock.lock();
+    // Caller holds the lock; the new mark is written before it is published to allocating threads.
+    private void saveReservedIds(String changedKey, long changedLimit) {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Block> entry : blocks.entrySet()) {
+            long limit = entry.getKey().equals(changedKey) ? changedLimit : entry.getValue().limit;
+            properties.setProperty(entry.getKey(), String.valueOf(limit));
+        }
         try {
-            Properties properties = new Properties();
-            for (Map.Entry<String, Integer> entry : nextIdMap.entrySet()) {
-                properties.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
-            }
-
-            File file = new File(idFilePath);
-            File parentDir = file.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                if (!parentDir.mkdirs()) {
-                    throw new DataAccessException("Could not create directory for ID file: " + parentDir.getAbsolutePath());
-                }
-            }
-
-            try (OutputStream output = new FileOutputStream(idFilePath)) {
-                properties.store(output, "Next Available IDs for EduHub Entities");
-            }
+            DurableFiles.replace(new File(idFilePath), out -> properties.store(out, "Reserved ID high-water marks for EduHub Entities"));
         } catch (IOException e) {
             throw new DataAccessException("Error saving ID file: " + idFilePath, e);
-        } finally {
-            lock.unlock();
         }
     }
+
     public int getNextAcademicRecordId() {
         return getNextId(ACADEMIC_RECORD_ID_KEY);
     }
@@ -134,15 +139,47 @@ public class IdGenerator {
         return getNextId(ASSIGNMENT_ID_KEY);
     }
 
+    public int reserveRange(String key, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("ID range size must be positive: " + count);
+        }
+        Block block = blockFor(key);
+        long firstId = block.next.getAndAdd(count);
+        ensureReserved(key, block, firstId + count - 1);
+        return (int) firstId;
+    }
+
     private int getNextId(String key) {
+        Block block = blockFor(key);
+        long id = block.next.getAndIncrement();
+        if (id >= block.limit) {
+            ensureReserved(key, block, id);
+        }
+        return (int) id;
+    }
+
+    private Block blockFor(String key) {
+        return blocks.computeIfAbsent(key, k -> new Block(1));
+    }
+
+    // Only a thread that runs past the reserved mark touches the file; one write covers the next block of IDs.
+    private void ensureReserved(String key, Block block, long lastId) {
+        if (lastId > Integer.MAX_VALUE) {
+            throw new DataAccessException("ID space exhausted for key '" + key + "'.");
+        }
+        if (lastId < block.limit) {
+            return;
+        }
         lock.lock();
         try {
-            int nextId = nextIdMap.getOrDefault(key, 1);
-            nextIdMap.put(key, nextId + 1);
-            saveNextIds();
-            return nextId;
+            if (lastId < block.limit) {
+                return;
+            }
+            long newLimit = Math.min((long) Integer.MAX_VALUE + 1, lastId + 1 + blockSize);
+            saveReservedIds(key, newLimit);
+            block.limit = newLimit;
         } finally {
             lock.unlock();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package com.eduzk.model.dao.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class JournalCompactor {
+
+    static final long MAX_JOURNAL_BYTES = 4L * 1024 * 1024;
+    static final int MAX_JOURNAL_RECORDS = 2000;
+    private static final long CHECK_INTERVAL_SECONDS = 30;
+    private static final JournalCompactor INSTANCE = new JournalCompactor();
+
+    private final List<BaseDAO<?>> stores = new CopyOnWriteArrayList<>();
+    private final Set<BaseDAO<?>> pending = ConcurrentHashMap.newKeySet();
+    // Compaction writes a store's in-memory list over its file, so only the newest store opened on a file may do it.
+    private final Map<String, BaseDAO<?>> owners = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    private JournalCompactor() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dao-journal-compactor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::compactAllDue, CHECK_INTERVAL_SECONDS, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public static JournalCompactor getInstance() {
+        return INSTANCE;
+    }
+
+    void register(BaseDAO<?> store) {
+        BaseDAO<?> previous = owners.put(fileKey(store), store);
+        if (previous != null && previous != store) {
+            stores.remove(previous);
+            System.err.println("JournalCompactor: " + store.dataFilePath + " was opened again, the earlier instance will no longer be compacted.");
+        }
+        stores.add(store);
+    }
+
+    boolean owns(BaseDAO<?> store) {
+        return owners.get(fileKey(store)) == store;
+    }
+
+    private static String fileKey(BaseDAO<?> store) {
+        return new File(store.dataFilePath).getAbsolutePath();
+    }
+
+    void requestCompaction(BaseDAO<?> store) {
+        if (pending.add(store)) {
+            executor.execute(() -> {
+                pending.remove(store);
+                compactSafely(store);
+            });
+        }
+    }
+
+    public List<CompactionStats> getAllStats() {
+        List<CompactionStats> stats = new ArrayList<>();
+        for (BaseDAO<?> store : stores) {
+            stats.add(store.getCompactionStats());
+        }
+        return stats;
+    }
+
+    private void compactAllDue() {
+        for (BaseDAO<?> store : stores) {
+            if (store.needsCompaction()) {
+                compactSafely(store);
+            }
+        }
+    }
+
+    private void compactSafely(BaseDAO<?> store) {
+        try {
+            store.compact();
+        } catch (Exception e) {
+            System.err.println("JournalCompactor: Compaction failed for " + store.dataFilePath + " - " + e.getMessage());
+        }
+    }
+}
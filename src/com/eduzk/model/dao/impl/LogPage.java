@@ -0,0 +1,34 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.LogEntry;
+import java.util.Collections;
+import java.util.List;
+
+public final class LogPage {
+
+    private final List<LogEntry> entries;
+    private final int offset;
+    private final boolean hasMore;
+    private final long sequence;
+
+    LogPage(List<LogEntry> entries, int offset, boolean hasMore, long sequence) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.offset = offset;
+        this.hasMore = hasMore;
+        this.sequence = sequence;
+    }
+
+    public static LogPage empty(int offset) {
+        return new LogPage(Collections.emptyList(), offset, false, 0L);
+    }
+
+    public List<LogEntry> getEntries() { return entries; }
+    public int getOffset() { return offset; }
+    public boolean hasMore() { return hasMore; }
+    // Entries written this run up to and including this sequence are covered by the page's view of the log.
+    public long getSequence() { return sequence; }
+
+    public int getNextOffset() {
+        return offset + entries.size();
+    }
+}
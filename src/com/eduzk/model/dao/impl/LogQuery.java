@@ -0,0 +1,99 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.LogEntry;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+// Filters and page window for LogService.queryLogs; unset filters match everything. Results are newest first.
+public final class LogQuery {
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String username;
+    private String role;
+    private String action;
+    private int offset;
+    private int limit = DEFAULT_PAGE_SIZE;
+    private long asOf = -1;
+
+    // Entries at or after from and strictly before to.
+    public LogQuery between(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    public LogQuery user(String username) {
+        this.username = blankToNull(username);
+        return this;
+    }
+
+    public LogQuery role(String role) {
+        this.role = blankToNull(role);
+        return this;
+    }
+
+    // Matches actions containing the text, ignoring case.
+    public LogQuery action(String action) {
+        this.action = blankToNull(action);
+        return this;
+    }
+
+    public LogQuery page(int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Invalid log page: offset=" + offset + ", limit=" + limit);
+        }
+        this.offset = offset;
+        this.limit = limit;
+        return this;
+    }
+
+    // Pages the log as it stood at an earlier LogPage.getSequence(), so entries written since do not shift the offset.
+    public LogQuery asOf(long sequence) {
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Invalid log sequence: " + sequence);
+        }
+        this.asOf = sequence;
+        return this;
+    }
+
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+    public String getUsername() { return username; }
+    public String getRole() { return role; }
+    public String getAction() { return action; }
+    public int getOffset() { return offset; }
+    public int getLimit() { return limit; }
+    public long getAsOf() { return asOf; }
+
+    // True when the segment indexes alone cannot decide a match.
+    boolean filtersEntries() {
+        return role != null || action != null;
+    }
+
+    boolean matches(LogEntry entry) {
+        LocalDateTime timestamp = entry.getTimestamp();
+        if ((from != null || to != null) && timestamp == null) {
+            return false;
+        }
+        if (from != null && timestamp.isBefore(from)) {
+            return false;
+        }
+        if (to != null && !timestamp.isBefore(to)) {
+            return false;
+        }
+        if (username != null && !entry.getUsername().trim().equalsIgnoreCase(username.trim())) {
+            return false;
+        }
+        if (role != null && !entry.getUserRole().equalsIgnoreCase(role)) {
+            return false;
+        }
+        return action == null || entry.getAction().toLowerCase(Locale.ROOT).contains(action.toLowerCase(Locale.ROOT));
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,72 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.LogEntry;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// What one log segment holds, so queries can skip segments and read only the records they need.
+final class LogSegmentIndex {
+
+    private int[] offsets = new int[256];
+    private int size;
+    private LocalDateTime earliest;
+    private LocalDateTime latest;
+    private boolean hasUndated;
+    private final Map<String, BitSet> positionsByUser = new HashMap<>();
+
+    static String userKey(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    void add(int offset, LogEntry entry) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        offsets[size] = offset;
+        LocalDateTime timestamp = entry.getTimestamp();
+        if (timestamp == null) {
+            hasUndated = true;
+        } else {
+            if (earliest == null || timestamp.isBefore(earliest)) {
+                earliest = timestamp;
+            }
+            if (latest == null || timestamp.isAfter(latest)) {
+                latest = timestamp;
+            }
+        }
+        positionsByUser.computeIfAbsent(userKey(entry.getUsername()), user -> new BitSet()).set(size);
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int offsetAt(int position) {
+        return offsets[position];
+    }
+
+    // Positions of the user's records, or null when the user never appears in this segment.
+    BitSet positionsFor(String username) {
+        return positionsByUser.get(userKey(username));
+    }
+
+    // A null bound leaves that side open; the upper bound is exclusive.
+    boolean overlaps(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return size > 0;
+        }
+        return latest != null && (from == null || !latest.isBefore(from)) && (to == null || earliest.isBefore(to));
+    }
+
+    boolean within(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return !hasUndated && earliest != null && (from == null || !earliest.isBefore(from)) && (to == null || latest.isBefore(to));
+    }
+}
@@ -1,27 +1,106 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.EntityFileFormat;
+import com.eduzk.model.dao.impl.codec.LogEntryCodec;
 import com.eduzk.model.entities.LogEntry;
 import com.eduzk.model.dao.interfaces.LogEventListener;
 import java.io.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import javax.swing.event.EventListenerList;
 
 public class LogService {
 
+    public enum OverflowPolicy { BLOCK, DROP_NEWEST, DROP_OLDEST }
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 16384;
+    private static final int MAX_BATCH_SIZE = 512;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long DRAIN_TIMEOUT_MILLIS = 5000;
+    private static final int QUERY_READ_CHUNK = 256;
+
     private final String dataFilePath;
-    private final List<LogEntry> logList;
+    // Most recent entries kept in memory for the log view; the full history lives in the segment files.
+    private final Deque<LogEntry> logList;
+    private final SegmentedLog<LogEntry> segments;
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private static final int MAX_LOG_ENTRIES = 5000;
     private final EventListenerList listenerList = new EventListenerList();
+    private volatile boolean loaded;
+    // Callers only enqueue; the writer thread batches entries to disk and notifies listeners once per batch.
+    private final RingBuffer<LogEntry> queue;
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedEntries = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private volatile boolean writerIdle;
+    // Built lazily per segment and extended as the writer appends; dropped with the segment.
+    private final Map<Long, LogSegmentIndex> segmentIndexes = new ConcurrentHashMap<>();
+    // Entries appended to the segments this run, guarded by lock; the last one written has this sequence.
+    private long writtenCount;
 
     public LogService(String dataFilePath) {
+        this(dataFilePath, DEFAULT_QUEUE_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    public LogService(String dataFilePath, int queueCapacity, OverflowPolicy overflowPolicy) {
         this.dataFilePath = dataFilePath;
-        this.logList = new ArrayList<>();
-        loadLogs();
+        this.logList = new ArrayDeque<>();
+        this.segments = new SegmentedLog<>(segmentDirectory(dataFilePath), LogEntryCodec.INSTANCE);
+        this.segments.setObserver(new SegmentedLog.Observer<LogEntry>() {
+            @Override
+            public void appended(long segment, int offset, LogEntry record) {
+                LogSegmentIndex index = offset == SegmentedLog.HEADER_BYTES
+                        ? segmentIndexes.computeIfAbsent(segment, s -> new LogSegmentIndex())
+                        : segmentIndexes.get(segment);
+                if (index != null) {
+                    index.add(offset, record);
+                }
+            }
+
+            @Override
+            public void expired(long segment) {
+                segmentIndexes.remove(segment);
+            }
+        });
+        this.queue = new RingBuffer<>(queueCapacity);
+        this.overflowPolicy = overflowPolicy != null ? overflowPolicy : OverflowPolicy.BLOCK;
+        this.writer = new Thread(this::runWriter, "audit-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "audit-log-drain"));
+    }
+
+    private static File segmentDirectory(String dataFilePath) {
+        String base = dataFilePath.endsWith(".dat") ? dataFilePath.substring(0, dataFilePath.length() - 4) : dataFilePath;
+        return new File(base + "-segments");
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loadLogs();
+                loaded = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     public void addLogEventListener(LogEventListener listener) {
@@ -34,46 +113,30 @@ public class LogService {
         System.out.println("LogService: Listener unregistered - " + listener.getClass().getName());
     }
 
-    protected void fireLogAdded(LogEntry newLogEntry) {
+    protected void fireLogsAdded(List<LogEntry> newLogEntries, long lastSequence) {
         Object[] listeners = listenerList.getListenerList();
         for (int i = listeners.length - 2; i >= 0; i -= 2) {
             if (listeners[i] == LogEventListener.class) {
-                System.out.println("LogService: Notifying listener " + listeners[i + 1].getClass().getName());
                 try {
-                    ((LogEventListener) listeners[i + 1]).logAdded(newLogEntry);
+                    ((LogEventListener) listeners[i + 1]).logsAdded(newLogEntries, lastSequence);
                 } catch (Exception e) {
                     System.err.println("LogService Error: Listener " + listeners[i + 1].getClass().getName() + " threw an exception: " + e.getMessage());
                     e.printStackTrace();
                 }
             }
         }
-        System.out.println("LogService: Finished notifying listeners.");
     }
 
-    @SuppressWarnings("unchecked")
     private void loadLogs() {
         lock.writeLock().lock();
         try {
-            File file = new File(dataFilePath);
-            if (!file.exists() || file.length() == 0) {
-                logList.clear();
-                return;
-            }
-            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
-                Object readObject = ois.readObject();
-                if (readObject instanceof List) {
-                    logList.clear();
-                    logList.addAll((List<LogEntry>) readObject);
-                    System.out.println("LogService: Loaded " + logList.size() + " log entries.");
-                } else {
-                    System.err.println("Log data file is corrupted: " + dataFilePath);
-                    logList.clear();
-                }
-            }
-        } catch (EOFException e) {
             logList.clear();
-            System.out.println("LogService: Log file is empty or EOF reached.");
-        } catch (IOException | ClassNotFoundException e) {
+            if (segments.isEmpty()) {
+                migrateLegacyLogs();
+            }
+            logList.addAll(segments.readRecent(MAX_LOG_ENTRIES));
+            System.out.println("LogService: Loaded " + logList.size() + " recent log entries from " + segments.getSegmentCount() + " segments.");
+        } catch (IOException e) {
             System.err.println("Error loading log data: " + e.getMessage());
             logList.clear();
         } finally {
@@ -81,65 +144,262 @@ public class LogService {
         }
     }
 
-    private void saveLogs() {
-        lock.writeLock().lock();
-        boolean success = false;
+    // One-time move of a pre-segment logs.dat into the segment files; the old file is kept as .migrated.
+    @SuppressWarnings("unchecked")
+    private void migrateLegacyLogs() throws IOException {
+        File file = new File(dataFilePath);
+        if (!file.exists() || file.length() == 0) {
+            return;
+        }
+        List<LogEntry> legacy;
         try {
-            trimLogList();
-            File file = new File(dataFilePath);
-            File parentDir = file.getParentFile();
-            if (parentDir != null && !parentDir.exists()) {
-                parentDir.mkdirs();
-            }
-            try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
-                oos.writeObject(new ArrayList<>(this.logList));
-                success = true;
-                System.out.println("LogService: Logs saved successfully.");
-            }
-        } catch (IOException e) {
-            System.err.println("CRITICAL ERROR saving log data to file: " + dataFilePath + " - " + e.getMessage());
-        } finally {
-            lock.writeLock().unlock();
-            if (success) {
+            if (EntityFileFormat.isBinary(file)) {
+                legacy = readBinaryLogs(file);
+            } else {
+                try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                    Object readObject = ois.readObject();
+                    legacy = readObject instanceof List ? (List<LogEntry>) readObject : new ArrayList<>();
+                }
             }
+        } catch (EOFException e) {
+            legacy = new ArrayList<>();
+        } catch (IOException | ClassNotFoundException e) {
+            System.err.println("Warning: Could not read legacy log file " + dataFilePath + " for migration: " + e.getMessage());
+            return;
+        }
+        for (LogEntry entry : legacy) {
+            segments.append(entry);
+        }
+        File migrated = new File(dataFilePath + ".migrated");
+        if (!file.renameTo(migrated)) {
+            System.err.println("Warning: Could not rename migrated log file " + dataFilePath);
         }
+        System.out.println("LogService: Migrated " + legacy.size() + " log entries to segment files.");
     }
 
-    private void trimLogList() {
-        if (logList.size() > MAX_LOG_ENTRIES) {
-            int removeCount = logList.size() - MAX_LOG_ENTRIES;
-            logList.subList(0, removeCount).clear();
-            System.out.println("LogService: Trimmed log list, removed " + removeCount + " oldest entries.");
+    private List<LogEntry> readBinaryLogs(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            return EntityFileFormat.readAll(in, LogEntryCodec.INSTANCE);
+        } catch (IOException e) {
+            File previous = DurableFiles.previousGeneration(file);
+            if (!previous.exists()) {
+                throw e;
+            }
+            System.err.println("Warning: Log file failed verification (" + e.getMessage() + "), falling back to previous generation.");
+            try (InputStream in = new BufferedInputStream(new FileInputStream(previous))) {
+                return EntityFileFormat.readAll(in, LogEntryCodec.INSTANCE);
+            }
         }
     }
 
     public void addLogEntry(LogEntry entry) {
         if (entry == null) return;
-        boolean added = false;
+        if (!running) {
+            // After drain() there is no writer thread left, so late entries are written inline.
+            writeBatch(Collections.singletonList(entry));
+            return;
+        }
+        while (!queue.offer(entry)) {
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                droppedEntries.incrementAndGet();
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+                if (queue.poll() != null) {
+                    droppedEntries.incrementAndGet();
+                }
+            } else {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+            }
+        }
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public long getDroppedEntryCount() {
+        return droppedEntries.get();
+    }
+
+    // Stops the writer after it has flushed everything queued so far; safe to call more than once.
+    public void drain() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(DRAIN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<LogEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining, Integer.MAX_VALUE);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+        segments.close();
+        if (droppedEntries.get() > 0) {
+            System.err.println("LogService: " + droppedEntries.get() + " audit entries were dropped because the queue was full.");
+        }
+    }
+
+    private void runWriter() {
+        List<LogEntry> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (true) {
+            batch.clear();
+            queue.drainTo(batch, MAX_BATCH_SIZE);
+            if (!batch.isEmpty()) {
+                writeBatch(new ArrayList<>(batch));
+                continue;
+            }
+            if (!running) {
+                return;
+            }
+            writerIdle = true;
+            if (queue.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            writerIdle = false;
+        }
+    }
+
+    // Listeners only hear about entries that reached the segments, numbered so they can tell which ones a page
+    // queried in the meantime already holds.
+    private void writeBatch(List<LogEntry> batch) {
+        ensureLoaded();
+        long lastSequence = -1;
         lock.writeLock().lock();
         try {
-            logList.add(entry);
-            added = true;
-            System.out.println("LogService: Log entry added to internal list.");
+            for (LogEntry entry : batch) {
+                logList.addLast(entry);
+                if (logList.size() > MAX_LOG_ENTRIES) {
+                    logList.removeFirst();
+                }
+            }
+            segments.appendAll(batch);
+            writtenCount += batch.size();
+            lastSequence = writtenCount;
+        } catch (IOException e) {
+            System.err.println("CRITICAL ERROR appending " + batch.size() + " log entries to " + dataFilePath + " - " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("CRITICAL ERROR writing log entries: " + e.getMessage());
         } finally {
             lock.writeLock().unlock();
         }
+        if (lastSequence >= 0) {
+            fireLogsAdded(Collections.unmodifiableList(batch), lastSequence);
+        }
+    }
+
+    public LogPage queryLogs(LogQuery query) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<LogEntry> matches = new ArrayList<>();
+            long sequence = query.getAsOf() >= 0 ? Math.min(query.getAsOf(), writtenCount) : writtenCount;
+            // Entries written after the requested sequence are the newest records of the log; pass over them.
+            long newerToIgnore = writtenCount - sequence;
+            int[] toSkip = {query.getOffset()};
+            int wanted = query.getLimit() + 1;
+            List<Long> segmentIds = segments.segmentIds();
+            for (int i = segmentIds.size() - 1; i >= 0 && matches.size() < wanted; i--) {
+                long segment = segmentIds.get(i);
+                LogSegmentIndex index = indexFor(segment);
+                if (index == null) {
+                    continue;
+                }
+                int ignored = (int) Math.min(newerToIgnore, index.size());
+                newerToIgnore -= ignored;
+                int newest = index.size() - 1 - ignored;
+                if (newest < 0 || !index.overlaps(query.getFrom(), query.getTo())) {
+                    continue;
+                }
+                BitSet userPositions = null;
+                if (query.getUsername() != null) {
+                    userPositions = index.positionsFor(query.getUsername());
+                    if (userPositions == null) {
+                        continue;
+                    }
+                }
+                boolean allMatch = !query.filtersEntries() && index.within(query.getFrom(), query.getTo());
+                collectMatches(segment, index, newest, userPositions, allMatch, query, toSkip, matches, wanted);
+            }
+            boolean hasMore = matches.size() > query.getLimit();
+            if (hasMore) {
+                matches.remove(matches.size() - 1);
+            }
+            return new LogPage(matches, query.getOffset(), hasMore, sequence);
+        } catch (IOException e) {
+            System.err.println("Error querying log segments: " + e.getMessage());
+            return new LogPage(Collections.emptyList(), query.getOffset(), false, writtenCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-        if (added) {
-            saveLogs();
-            System.out.println("LogService: Preparing to notify listeners about new log entry.");
-            fireLogAdded(entry);
+    // Walks the segment newest first; when every candidate matches, skipped entries are never read from disk.
+    private void collectMatches(long segment, LogSegmentIndex index, int newest, BitSet userPositions, boolean allMatch,
+                                LogQuery query, int[] toSkip, List<LogEntry> matches, int wanted) throws IOException {
+        int position = previousCandidate(userPositions, newest);
+        if (allMatch) {
+            while (toSkip[0] > 0 && position >= 0) {
+                toSkip[0]--;
+                position = previousCandidate(userPositions, position - 1);
+            }
         }
+        int[] offsets = new int[QUERY_READ_CHUNK];
+        while (position >= 0 && matches.size() < wanted) {
+            int chunk = allMatch ? Math.min(QUERY_READ_CHUNK, wanted - matches.size()) : QUERY_READ_CHUNK;
+            int count = 0;
+            while (count < chunk && position >= 0) {
+                offsets[count++] = index.offsetAt(position);
+                position = previousCandidate(userPositions, position - 1);
+            }
+            for (LogEntry entry : segments.readAt(segment, offsets, count)) {
+                if (!allMatch && !query.matches(entry)) {
+                    continue;
+                }
+                if (toSkip[0] > 0) {
+                    toSkip[0]--;
+                    continue;
+                }
+                matches.add(entry);
+                if (matches.size() >= wanted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static int previousCandidate(BitSet positions, int from) {
+        if (from < 0) {
+            return -1;
+        }
+        return positions == null ? from : positions.previousSetBit(from);
+    }
+
+    // Segments written before this run are indexed on first use; a sealed segment never changes afterwards.
+    private LogSegmentIndex indexFor(long segment) throws IOException {
+        LogSegmentIndex index = segmentIndexes.get(segment);
+        if (index != null) {
+            return index;
+        }
+        LogSegmentIndex built = new LogSegmentIndex();
+        segments.scanSegment(segment, built::add);
+        LogSegmentIndex existing = segmentIndexes.putIfAbsent(segment, built);
+        return existing != null ? existing : built;
     }
 
     public List<LogEntry> getAllLogs() {
+        ensureLoaded();
         lock.readLock().lock();
         try {
-            List<LogEntry> sortedLogs = new ArrayList<>(this.logList);
-            Collections.reverse(sortedLogs);
+            List<LogEntry> sortedLogs = new ArrayList<>(this.logList.size());
+            for (Iterator<LogEntry> it = this.logList.descendingIterator(); it.hasNext(); ) {
+                sortedLogs.add(it.next());
+            }
             return sortedLogs;
         } finally {
             lock.readLock().unlock();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,158 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.impl.codec.ByteBufferDataInput;
+import com.eduzk.model.dao.impl.codec.EntityCodec;
+import com.eduzk.model.dao.impl.codec.EntityFileFormat;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+class MappedRecordFile<T> {
+
+    private static final int HEADER_BYTES = 12;
+
+    private final MappedByteBuffer buffer;
+    private final EntityCodec<T> codec;
+    private final int codecVersion;
+    private final int[] recordOffsets;
+    private final long[] idIndex;
+    private boolean closed;
+
+    private MappedRecordFile(MappedByteBuffer buffer, EntityCodec<T> codec, int codecVersion, int[] recordOffsets, long[] idIndex) {
+        this.buffer = buffer;
+        this.codec = codec;
+        this.codecVersion = codecVersion;
+        this.recordOffsets = recordOffsets;
+        this.idIndex = idIndex;
+    }
+
+    static <T> MappedRecordFile<T> open(File file, EntityCodec<T> codec) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return index(buffer, codec, file);
+        } catch (IOException | RuntimeException e) {
+            unmap(buffer);
+            throw e;
+        }
+    }
+
+    private static <T> MappedRecordFile<T> index(MappedByteBuffer buffer, EntityCodec<T> codec, File file) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != EntityFileFormat.MAGIC) {
+            throw new IOException("Not an entity data file (bad magic number): " + file.getPath());
+        }
+        int formatVersion = buffer.getShort(4) & 0xFFFF;
+        if (formatVersion > EntityFileFormat.FORMAT_VERSION) {
+            throw new IOException("Unsupported entity file format version " + formatVersion);
+        }
+        int codecVersion = buffer.getShort(6) & 0xFFFF;
+        int count = buffer.getInt(8);
+
+        if (count < 0) {
+            throw new IOException("Corrupt record count " + count + " in " + file.getPath());
+        }
+        int[] recordOffsets = new int[count];
+        long[] idIndex = new long[count];
+        int offset = HEADER_BYTES;
+        for (int i = 0; i < count; i++) {
+            if (offset + 8 > buffer.limit()) {
+                throw new IOException("Entity data file is truncated: " + file.getPath());
+            }
+            int id = buffer.getInt(offset);
+            int length = buffer.getInt(offset + 4);
+            if (length < 0 || offset + 8L + length > buffer.limit()) {
+                throw new IOException("Entity data file is truncated: " + file.getPath());
+            }
+            recordOffsets[i] = offset;
+            idIndex[i] = ((long) id << 32) | (i & 0xFFFFFFFFL);
+            offset += 8 + length;
+        }
+        if (formatVersion >= EntityFileFormat.FIRST_CHECKSUMMED_VERSION) {
+            verifyChecksum(buffer, offset, file);
+        }
+        Arrays.sort(idIndex);
+        return new MappedRecordFile<>(buffer, codec, codecVersion, recordOffsets, idIndex);
+    }
+
+    private static void verifyChecksum(MappedByteBuffer buffer, int footerOffset, File file) throws IOException {
+        if (footerOffset + EntityFileFormat.FOOTER_BYTES > buffer.limit()
+                || buffer.getInt(footerOffset) != EntityFileFormat.FOOTER_MAGIC) {
+            throw new IOException("Entity data file is missing its checksum footer: " + file.getPath());
+        }
+        ByteBuffer content = buffer.duplicate();
+        content.position(0).limit(footerOffset);
+        CRC32C crc = new CRC32C();
+        crc.update(content);
+        if ((int) crc.getValue() != buffer.getInt(footerOffset + 4)) {
+            throw new IOException("Checksum mismatch: entity data file is corrupt: " + file.getPath());
+        }
+    }
+
+    // Releases the mapping right away instead of at garbage collection, so the file can be renamed or replaced
+    // (Windows refuses both while a mapping is open). Callers hold the store's write lock: no reader may touch it afterwards.
+    void close() {
+        if (!closed) {
+            closed = true;
+            unmap(buffer);
+        }
+    }
+
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            System.err.println("Warning: Could not release memory-mapped data file, it stays mapped until garbage collection - " + e);
+        }
+    }
+
+    int size() {
+        return recordOffsets.length;
+    }
+
+    int idAt(int position) {
+        return buffer.getInt(recordOffsets[position]);
+    }
+
+    T decodeAt(int position) throws IOException {
+        ByteBuffer view = buffer.duplicate();
+        view.position(recordOffsets[position] + 8);
+        return codec.read(new ByteBufferDataInput(view), codecVersion);
+    }
+
+    boolean containsId(int id) {
+        return positionOf(id) != -1;
+    }
+
+    T decodeById(int id) throws IOException {
+        int position = positionOf(id);
+        return position != -1 ? decodeAt(position) : null;
+    }
+
+    private int positionOf(int id) {
+        int low = 0;
+        int high = idIndex.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = (int) (idIndex[mid] >> 32);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return (int) idIndex[mid];
+            }
+        }
+        return -1;
+    }
+}
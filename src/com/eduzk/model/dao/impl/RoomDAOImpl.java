@@ -1,20 +1,23 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.RoomCodec;
 import com.eduzk.model.dao.interfaces.IRoomDAO;
 import com.eduzk.model.entities.Room;
 import com.eduzk.model.exceptions.DataAccessException;
 import com.eduzk.utils.ValidationUtils;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 public class RoomDAOImpl extends BaseDAO<Room> implements IRoomDAO {
 
     private final IdGenerator idGenerator;
+    private final UniqueIndex<Room, String> roomNumberIndex = uniqueIndex("roomNumber", room -> roomNumberKey(room.getRoomNumber()));
+    private final GroupIndex<Room, Integer> capacityIndex = orderedIndex("capacity", Room::getCapacity);
 
     public RoomDAOImpl(String dataFilePath, IdGenerator idGenerator) {
-        super(dataFilePath);
+        super(dataFilePath, RoomCodec.INSTANCE);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null");
         }
@@ -22,18 +25,42 @@ public class RoomDAOImpl extends BaseDAO<Room> implements IRoomDAO {
     }
 
     @Override
-    public Room getById(int id) {
-        lock.readLock().lock();
-        try {
-            return dataList.stream()
-                    .filter(room -> room.getRoomId() == id)
-                    .findFirst()
-                    .orElse(null);
-        } finally {
-            lock.readLock().unlock();
+    protected int getEntityId(Room room) {
+        return room.getRoomId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.ROOM_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(Room room, int id) {
+        room.setRoomId(id);
+    }
+
+    private static String roomNumberKey(String roomNumber) {
+        return roomNumber != null ? roomNumber.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    @Override
+    protected void beforeBatchWrite(Room room, boolean isNew) {
+        if (!ValidationUtils.isNotEmpty(room.getRoomNumber())) {
+            throw new IllegalArgumentException("Room number cannot be empty.");
+        }
+        if (room.getCapacity() <= 0) {
+            throw new IllegalArgumentException("Room capacity must be positive.");
+        }
+        if (roomNumberIndex.isTakenByOther(roomNumberKey(room.getRoomNumber()), isNew ? UniqueIndex.MISSING : room.getRoomId())) {
+            throw new DataAccessException("Room with number '" + room.getRoomNumber() + "' already exists.");
         }
     }
 
+    @Override
+    public Room getById(int id) {
+        return findById(id);
+    }
+
     @Override
     public Optional<Room> findByRoomNumber(String roomNumber) {
         if (roomNumber == null || roomNumber.trim().isEmpty()) {
@@ -41,9 +68,8 @@ public class RoomDAOImpl extends BaseDAO<Room> implements IRoomDAO {
         }
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(room -> roomNumber.equalsIgnoreCase(room.getRoomNumber()))
-                    .findFirst();
+            int id = roomNumberIndex.get(roomNumberKey(roomNumber));
+            return Optional.ofNullable(id != UniqueIndex.MISSING ? findById(id) : null);
         } finally {
             lock.readLock().unlock();
         }
@@ -53,9 +79,7 @@ public class RoomDAOImpl extends BaseDAO<Room> implements IRoomDAO {
     public List<Room> findByCapacity(int minCapacity) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(room -> room.getCapacity() >= minCapacity)
-                    .collect(Collectors.toList());
+            return findAllById(capacityIndex.atLeast(minCapacity));
         } finally {
             lock.readLock().unlock();
         }
@@ -77,14 +101,11 @@ public class RoomDAOImpl extends BaseDAO<Room> implements IRoomDAO {
 
         lock.writeLock().lock();
         try {
-            boolean numberExists = dataList.stream()
-                    .anyMatch(existing -> existing.getRoomNumber().equalsIgnoreCase(room.getRoomNumber()));
-            if (numberExists) {
+            if (roomNumberIndex.get(roomNumberKey(room.getRoomNumber())) != UniqueIndex.MISSING) {
                 throw new DataAccessException("Room with number '" + room.getRoomNumber() + "' already exists.");
             }
 
-            this.dataList.add(room);
-            saveData();
+            insert(room);
         } finally {
             lock.writeLock().unlock();
         }
@@ -104,26 +125,14 @@ public class RoomDAOImpl extends BaseDAO<Room> implements IRoomDAO {
 
         lock.writeLock().lock();
         try {
-            int index = -1;
-            for (int i = 0; i < dataList.size(); i++) {
-                if (dataList.get(i).getRoomId() == room.getRoomId()) {
-                    index = i;
-                    break;
-                }
-            }
+            int index = indexOfId(room.getRoomId());
 
             if (index != -1) {
-                final int currentIndex = index;
-                boolean numberConflict = dataList.stream()
-                        .filter(existing -> existing.getRoomId() != room.getRoomId()) // Exclude self
-                        .anyMatch(existing -> existing.getRoomNumber().equalsIgnoreCase(room.getRoomNumber()));
-
-                if (numberConflict) {
+                if (roomNumberIndex.isTakenByOther(roomNumberKey(room.getRoomNumber()), room.getRoomId())) {
                     throw new DataAccessException("Cannot update room. Number '" + room.getRoomNumber() + "' is already used by another room.");
                 }
 
-                dataList.set(index, room);
-                saveData();
+                replace(room);
             } else {
                 throw new DataAccessException("Room with ID " + room.getRoomId() + " not found for update.");
             }
@@ -134,16 +143,8 @@ public class RoomDAOImpl extends BaseDAO<Room> implements IRoomDAO {
 
     @Override
     public void delete(int id) {
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(room -> room.getRoomId() == id);
-            if (removed) {
-                saveData();
-            } else {
-                System.err.println("Warning: Room with ID " + id + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(id) == null) {
+            System.err.println("Warning: Room with ID " + id + " not found for deletion.");
         }
     }
 }
\ No newline at end of file
@@ -1,56 +1,65 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.ScheduleCodec;
 import com.eduzk.model.dao.interfaces.IScheduleDAO;
 import com.eduzk.model.entities.Schedule;
 import com.eduzk.model.exceptions.DataAccessException;
 import com.eduzk.model.exceptions.ScheduleConflictException;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 import java.util.stream.Collectors;
 import com.eduzk.utils.ValidationUtils;
 import com.eduzk.utils.DateUtils;
-import java.util.Optional;
 
 public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
 
     private final IdGenerator idGenerator;
+    private final ScheduleSlotIndex slotIndex = customIndex(new ScheduleSlotIndex("slot"));
+    private final GroupIndex<Schedule, Integer> classIndex = hashIndex("classId", Schedule::getClassId);
 
     public ScheduleDAOImpl(String dataFilePath, IdGenerator idGenerator) {
-        super(dataFilePath);
+        super(dataFilePath, ScheduleCodec.INSTANCE, StorageMode.MAPPED);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null");
         }
         this.idGenerator = idGenerator;
+        buildIndexes();
     }
 
     @Override
-    public Schedule getById(int id) {
-        lock.readLock().lock();
-        try {
-            return dataList.stream()
-                    .filter(schedule -> schedule.getScheduleId() == id)
-                    .findFirst()
-                    .orElse(null);
-        } finally {
-            lock.readLock().unlock();
+    protected int getEntityId(Schedule schedule) {
+        return schedule.getScheduleId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.SCHEDULE_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(Schedule schedule, int id) {
+        schedule.setScheduleId(id);
+    }
+
+    @Override
+    protected void beforeBatchWrite(Schedule schedule, boolean isNew) throws ScheduleConflictException {
+        if (!ValidationUtils.isValidDate(schedule.getDate()) ||
+                !ValidationUtils.isValidTimeRange(schedule.getStartTime(), schedule.getEndTime())) {
+            throw new IllegalArgumentException("Invalid date or time range for schedule.");
         }
+        checkForConflicts(schedule);
+    }
+
+    @Override
+    public Schedule getById(int id) {
+        return findById(id);
     }
 
     @Override
     public List<Schedule> findByDateRange(LocalDate startDate, LocalDate endDate) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(schedule -> !schedule.getDate().isBefore(startDate) && !schedule.getDate().isAfter(endDate))
-                    .sorted((s1, s2) -> { // Sort by date then time for better readability
-                        int dateComp = s1.getDate().compareTo(s2.getDate());
-                        if (dateComp == 0) {
-                            return s1.getStartTime().compareTo(s2.getStartTime());
-                        }
-                        return dateComp;
-                    })
-                    .collect(Collectors.toList());
+            return findAllById(slotIndex.between(startDate, endDate));
         } finally {
             lock.readLock().unlock();
         }
@@ -60,8 +69,8 @@ public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
     public List<Schedule> findByClassId(int classId) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(schedule -> schedule.getClassId() == classId)
+            return findAllById(classIndex.get(classId))
+                    .stream()
                     .sorted((s1, s2) -> s1.getDate().compareTo(s2.getDate()) != 0 ? s1.getDate().compareTo(s2.getDate()) : s1.getStartTime().compareTo(s2.getStartTime()))
                     .collect(Collectors.toList());
         } finally {
@@ -73,12 +82,7 @@ public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
     public List<Schedule> findByTeacherId(int teacherId, LocalDate startDate, LocalDate endDate) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(schedule -> schedule.getTeacherId() == teacherId &&
-                            !schedule.getDate().isBefore(startDate) &&
-                            !schedule.getDate().isAfter(endDate))
-                    .sorted((s1, s2) -> s1.getDate().compareTo(s2.getDate()) != 0 ? s1.getDate().compareTo(s2.getDate()) : s1.getStartTime().compareTo(s2.getStartTime()))
-                    .collect(Collectors.toList());
+            return findAllById(slotIndex.forTeacherBetween(teacherId, startDate, endDate));
         } finally {
             lock.readLock().unlock();
         }
@@ -88,12 +92,7 @@ public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
     public List<Schedule> findByRoomId(int roomId, LocalDate startDate, LocalDate endDate) {
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(schedule -> schedule.getRoomId() == roomId &&
-                            !schedule.getDate().isBefore(startDate) &&
-                            !schedule.getDate().isAfter(endDate))
-                    .sorted((s1, s2) -> s1.getDate().compareTo(s2.getDate()) != 0 ? s1.getDate().compareTo(s2.getDate()) : s1.getStartTime().compareTo(s2.getStartTime()))
-                    .collect(Collectors.toList());
+            return findAllById(slotIndex.forRoomBetween(roomId, startDate, endDate));
         } finally {
             lock.readLock().unlock();
         }
@@ -114,8 +113,7 @@ public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
         lock.writeLock().lock();
         try {
             checkForConflicts(schedule);
-            this.dataList.add(schedule);
-            saveData();
+            insert(schedule);
         } finally {
             lock.writeLock().unlock();
         }
@@ -133,18 +131,9 @@ public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
 
         lock.writeLock().lock();
         try {
-            int index = -1;
-            for (int i = 0; i < dataList.size(); i++) {
-                if (dataList.get(i).getScheduleId() == schedule.getScheduleId()) {
-                    index = i;
-                    break;
-                }
-            }
-
-            if (index != -1) {
+            if (indexOfId(schedule.getScheduleId()) != -1) {
                 checkForConflicts(schedule);
-                dataList.set(index, schedule);
-                saveData();
+                replace(schedule);
             } else {
                 throw new DataAccessException("Schedule with ID " + schedule.getScheduleId() + " not found for update.");
             }
@@ -155,16 +144,8 @@ public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
 
     @Override
     public void delete(int id) {
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(schedule -> schedule.getScheduleId() == id);
-            if (removed) {
-                saveData();
-            } else {
-                System.err.println("Warning: Schedule with ID " + id + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(id) == null) {
+            System.err.println("Warning: Schedule with ID " + id + " not found for deletion.");
         }
     }
     @Override
@@ -180,43 +161,28 @@ public class ScheduleDAOImpl extends BaseDAO<Schedule> implements IScheduleDAO {
 
     private void checkForConflicts(Schedule newSchedule) throws ScheduleConflictException {
         LocalDate date = newSchedule.getDate();
-        LocalTime startTime = newSchedule.getStartTime();
-        LocalTime endTime = newSchedule.getEndTime();
-        int teacherId = newSchedule.getTeacherId();
-        int roomId = newSchedule.getRoomId();
-        int scheduleId = newSchedule.getScheduleId();
-
-        List<Schedule> potentialConflicts = dataList.stream()
-                .filter(existing -> existing.getScheduleId() != scheduleId &&
-                        existing.getDate().equals(date) &&
-                        existing.overlaps(newSchedule))
-                .collect(Collectors.toList());
-
-        Optional<Schedule> teacherConflict = potentialConflicts.stream()
-                .filter(existing -> existing.getTeacherId() == teacherId)
-                .findFirst();
-        if (teacherConflict.isPresent()) {
+
+        ScheduleSlotIndex.Slot teacherConflict = slotIndex.findTeacherConflict(newSchedule);
+        if (teacherConflict != null) {
             throw new ScheduleConflictException(
                     String.format("Teacher conflict: Teacher ID %d is already scheduled from %s to %s on %s (Schedule ID: %d).",
-                            teacherId,
-                            DateUtils.formatTime(teacherConflict.get().getStartTime()),
-                            DateUtils.formatTime(teacherConflict.get().getEndTime()),
+                            newSchedule.getTeacherId(),
+                            DateUtils.formatTime(teacherConflict.startTime),
+                            DateUtils.formatTime(teacherConflict.endTime),
                             DateUtils.formatDate(date),
-                            teacherConflict.get().getScheduleId())
+                            teacherConflict.scheduleId)
             );
         }
 
-        Optional<Schedule> roomConflict = potentialConflicts.stream()
-                .filter(existing -> existing.getRoomId() == roomId)
-                .findFirst();
-        if (roomConflict.isPresent()) {
+        ScheduleSlotIndex.Slot roomConflict = slotIndex.findRoomConflict(newSchedule);
+        if (roomConflict != null) {
             throw new ScheduleConflictException(
                     String.format("Room conflict: Room ID %d is already booked from %s to %s on %s (Schedule ID: %d).",
-                            roomId,
-                            DateUtils.formatTime(roomConflict.get().getStartTime()),
-                            DateUtils.formatTime(roomConflict.get().getEndTime()),
+                            newSchedule.getRoomId(),
+                            DateUtils.formatTime(roomConflict.startTime),
+                            DateUtils.formatTime(roomConflict.endTime),
                             DateUtils.formatDate(date),
-                            roomConflict.get().getScheduleId())
+                            roomConflict.scheduleId)
             );
         }
     }
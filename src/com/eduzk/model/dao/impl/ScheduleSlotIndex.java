@@ -0,0 +1,158 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Schedule;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+final class ScheduleSlotIndex extends EntityIndex<Schedule> {
+
+    static final class Slot implements Comparable<Slot> {
+        final int scheduleId;
+        final LocalDate date;
+        final int teacherId;
+        final int roomId;
+        final LocalTime startTime;
+        final LocalTime endTime;
+
+        Slot(Schedule schedule) {
+            this(schedule.getScheduleId(), schedule.getDate(), schedule.getTeacherId(), schedule.getRoomId(),
+                    schedule.getStartTime(), schedule.getEndTime());
+        }
+
+        private Slot(int scheduleId, LocalDate date, int teacherId, int roomId, LocalTime startTime, LocalTime endTime) {
+            this.scheduleId = scheduleId;
+            this.date = date;
+            this.teacherId = teacherId;
+            this.roomId = roomId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+
+        static Slot firstOn(LocalDate date) {
+            return new Slot(Integer.MIN_VALUE, date, 0, 0, LocalTime.MIN, LocalTime.MIN);
+        }
+
+        static Slot lastOn(LocalDate date) {
+            return new Slot(Integer.MAX_VALUE, date, 0, 0, LocalTime.MAX, LocalTime.MAX);
+        }
+
+        @Override
+        public int compareTo(Slot other) {
+            int byDate = date.compareTo(other.date);
+            if (byDate != 0) {
+                return byDate;
+            }
+            int byTime = startTime.compareTo(other.startTime);
+            return byTime != 0 ? byTime : Integer.compare(scheduleId, other.scheduleId);
+        }
+    }
+
+    private final NavigableSet<Slot> chronological = new TreeSet<>();
+    private final Map<Integer, NavigableSet<Slot>> byTeacher = new HashMap<>();
+    private final Map<Integer, NavigableSet<Slot>> byRoom = new HashMap<>();
+    private final Map<Integer, Slot> slotsById = new HashMap<>();
+
+    ScheduleSlotIndex(String name) {
+        super(name);
+    }
+
+    // Only ids and slot keys are kept, so a mapped store can index its records without holding them; callers
+    // resolve the ids they get back.
+    @Override
+    void put(int id, Schedule schedule) {
+        remove(id);
+        if (schedule.getDate() == null || schedule.getStartTime() == null || schedule.getEndTime() == null) {
+            return;
+        }
+        Slot slot = new Slot(schedule);
+        slotsById.put(slot.scheduleId, slot);
+        chronological.add(slot);
+        byTeacher.computeIfAbsent(slot.teacherId, key -> new TreeSet<>()).add(slot);
+        byRoom.computeIfAbsent(slot.roomId, key -> new TreeSet<>()).add(slot);
+    }
+
+    @Override
+    void remove(int scheduleId) {
+        Slot slot = slotsById.remove(scheduleId);
+        if (slot == null) {
+            return;
+        }
+        chronological.remove(slot);
+        removeFrom(byTeacher, slot.teacherId, slot);
+        removeFrom(byRoom, slot.roomId, slot);
+    }
+
+    @Override
+    void clear() {
+        chronological.clear();
+        byTeacher.clear();
+        byRoom.clear();
+        slotsById.clear();
+    }
+
+    List<Integer> between(LocalDate startDate, LocalDate endDate) {
+        return slice(chronological, startDate, endDate);
+    }
+
+    List<Integer> forTeacherBetween(int teacherId, LocalDate startDate, LocalDate endDate) {
+        return slice(byTeacher.get(teacherId), startDate, endDate);
+    }
+
+    List<Integer> forRoomBetween(int roomId, LocalDate startDate, LocalDate endDate) {
+        return slice(byRoom.get(roomId), startDate, endDate);
+    }
+
+    Slot findTeacherConflict(Schedule schedule) {
+        return findOverlap(byTeacher.get(schedule.getTeacherId()), schedule);
+    }
+
+    Slot findRoomConflict(Schedule schedule) {
+        return findOverlap(byRoom.get(schedule.getRoomId()), schedule);
+    }
+
+    private static List<Integer> slice(NavigableSet<Slot> slots, LocalDate startDate, LocalDate endDate) {
+        List<Integer> ids = new ArrayList<>();
+        if (slots == null || startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            return ids;
+        }
+        for (Slot slot : slots.subSet(Slot.firstOn(startDate), true, Slot.lastOn(endDate), true)) {
+            ids.add(slot.scheduleId);
+        }
+        return ids;
+    }
+
+    private static Slot findOverlap(NavigableSet<Slot> slots, Schedule schedule) {
+        if (slots == null) {
+            return null;
+        }
+        Collection<Slot> sameDay = slots.subSet(Slot.firstOn(schedule.getDate()), true, Slot.lastOn(schedule.getDate()), true);
+        // Slots are ordered by start time, so nothing past the new session's end can overlap it.
+        for (Slot slot : sameDay) {
+            if (!slot.startTime.isBefore(schedule.getEndTime())) {
+                break;
+            }
+            if (slot.scheduleId != schedule.getScheduleId() && slot.endTime.isAfter(schedule.getStartTime())) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private static void removeFrom(Map<Integer, NavigableSet<Slot>> slotsByKey, int key, Slot slot) {
+        NavigableSet<Slot> slots = slotsByKey.get(key);
+        if (slots == null) {
+            return;
+        }
+        slots.remove(slot);
+        if (slots.isEmpty()) {
+            slotsByKey.remove(key);
+        }
+    }
+}
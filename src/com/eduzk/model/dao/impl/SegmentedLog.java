@@ -0,0 +1,287 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.impl.codec.EntityCodec;
+import com.eduzk.model.dao.impl.codec.EntityFileFormat;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+// Append-only record log split into numbered segment files; retention drops whole segments.
+final class SegmentedLog<T> {
+
+    // Told where each record lands so callers can keep per-segment indexes in step with the files.
+    interface Observer<T> {
+        void appended(long segment, int offset, T record);
+
+        void expired(long segment);
+    }
+
+    interface RecordSink<T> {
+        void accept(int offset, T record);
+    }
+
+    static final long DEFAULT_SEGMENT_BYTES = 1024 * 1024;
+    static final int DEFAULT_MAX_SEGMENTS = 256;
+    private static final int SEGMENT_MAGIC = 0x455A4B4C;
+    static final int HEADER_BYTES = 4;
+    // Every payload starts with its codec version, so a shorter record (such as a zero-filled tail) is damage.
+    private static final int MIN_RECORD_BYTES = 2;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.log");
+
+    private final File directory;
+    private final EntityCodec<T> codec;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final NavigableMap<Long, File> segments = new TreeMap<>();
+    private DataOutputStream out;
+    private long activeBytes;
+    private Observer<T> observer;
+
+    SegmentedLog(File directory, EntityCodec<T> codec) {
+        this(directory, codec, DEFAULT_SEGMENT_BYTES, DEFAULT_MAX_SEGMENTS);
+    }
+
+    SegmentedLog(File directory, EntityCodec<T> codec, long segmentBytes, int maxSegments) {
+        if (segmentBytes <= 0 || maxSegments <= 0) {
+            throw new IllegalArgumentException("Segment size and segment count must be positive.");
+        }
+        this.directory = directory;
+        this.codec = codec;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getName());
+                if (matcher.matches()) {
+                    segments.put(Long.parseLong(matcher.group(1)), file);
+                }
+            }
+        }
+    }
+
+    synchronized void setObserver(Observer<T> observer) {
+        this.observer = observer;
+    }
+
+    synchronized void append(T item) throws IOException {
+        appendAll(Collections.singletonList(item));
+    }
+
+    // One flush per batch; a batch may still span a segment boundary.
+    synchronized void appendAll(List<T> items) throws IOException {
+        for (T item : items) {
+            byte[] payload = EntityFileFormat.encode(item, codec);
+            DataOutputStream stream = openForAppend();
+            int offset = (int) activeBytes;
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            stream.writeInt(payload.length);
+            stream.writeInt((int) crc.getValue());
+            stream.write(payload);
+            activeBytes += 8 + payload.length;
+            if (observer != null) {
+                observer.appended(segments.lastKey(), offset, item);
+            }
+        }
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    // Segment numbers, oldest first.
+    synchronized List<Long> segmentIds() {
+        return new ArrayList<>(segments.keySet());
+    }
+
+    synchronized void scanSegment(long segment, RecordSink<T> sink) throws IOException {
+        File file = segments.get(segment);
+        if (file != null) {
+            flushIfActive(file);
+            scan(file, sink);
+        }
+    }
+
+    // Reads single records by the offsets reported to the observer; a segment that has expired yields nothing.
+    synchronized List<T> readAt(long segment, int[] offsets, int count) throws IOException {
+        File file = segments.get(segment);
+        List<T> records = new ArrayList<>(count);
+        if (file == null) {
+            return records;
+        }
+        flushIfActive(file);
+        try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+            for (int i = 0; i < count; i++) {
+                in.seek(offsets[i]);
+                int length = in.readInt();
+                int expected = in.readInt();
+                if (length < MIN_RECORD_BYTES || length > EntityFileFormat.MAX_RECORD_BYTES) {
+                    throw new IOException("Corrupt record length " + length + " in " + file.getPath());
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                CRC32C crc = new CRC32C();
+                crc.update(payload);
+                if ((int) crc.getValue() != expected) {
+                    throw new IOException("Checksum mismatch in " + file.getPath() + " at offset " + offsets[i]);
+                }
+                records.add(EntityFileFormat.decode(payload, codec));
+            }
+        }
+        return records;
+    }
+
+    // The newest records in chronological order, reading only as many segments as needed.
+    synchronized List<T> readRecent(int maxRecords) throws IOException {
+        List<List<T>> newestFirst = new ArrayList<>();
+        int total = 0;
+        for (File segment : segments.descendingMap().values()) {
+            if (total >= maxRecords) {
+                break;
+            }
+            List<T> records = readSegment(segment);
+            newestFirst.add(records);
+            total += records.size();
+        }
+        Collections.reverse(newestFirst);
+        List<T> recent = new ArrayList<>(Math.min(total, maxRecords));
+        int skip = Math.max(0, total - maxRecords);
+        for (List<T> records : newestFirst) {
+            int from = Math.min(skip, records.size());
+            recent.addAll(records.subList(from, records.size()));
+            skip -= from;
+        }
+        return recent;
+    }
+
+    synchronized void close() {
+        try {
+            closeStream();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not close log segment in " + directory.getPath() + " - " + e.getMessage());
+        }
+    }
+
+    private List<T> readSegment(File segment) throws IOException {
+        flushIfActive(segment);
+        List<T> records = new ArrayList<>();
+        scan(segment, (offset, record) -> records.add(record));
+        return records;
+    }
+
+    private void flushIfActive(File segment) throws IOException {
+        if (out != null && segment.equals(segments.lastEntry().getValue())) {
+            out.flush();
+        }
+    }
+
+    // Returns the length of the intact prefix of the segment; records are decoded into sink when it is given.
+    private long scan(File segment, RecordSink<T> sink) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)))) {
+            if (segment.length() < HEADER_BYTES || in.readInt() != SEGMENT_MAGIC) {
+                System.err.println("Warning: Skipping log segment with bad header: " + segment.getPath());
+                return 0;
+            }
+            long valid = HEADER_BYTES;
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return valid;
+                }
+                try {
+                    int expected = in.readInt();
+                    if (length < MIN_RECORD_BYTES || length > EntityFileFormat.MAX_RECORD_BYTES) {
+                        throw new IOException("corrupt record length " + length);
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    CRC32C crc = new CRC32C();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != expected) {
+                        throw new IOException("checksum mismatch");
+                    }
+                    if (sink != null) {
+                        sink.accept((int) valid, EntityFileFormat.decode(payload, codec));
+                    }
+                    valid += 8 + length;
+                } catch (EOFException e) {
+                    System.err.println("Warning: Ignoring incomplete trailing record in log segment: " + segment.getPath());
+                    return valid;
+                } catch (IOException e) {
+                    System.err.println("Warning: Stopped reading log segment " + segment.getPath() + " (" + e.getMessage() + ").");
+                    return valid;
+                }
+            }
+        }
+    }
+
+    private DataOutputStream openForAppend() throws IOException {
+        if (out != null && activeBytes < segmentBytes) {
+            return out;
+        }
+        closeStream();
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create log directory: " + directory.getAbsolutePath());
+        }
+        Map.Entry<Long, File> last = segments.lastEntry();
+        if (last != null && activeBytes == 0 && last.getValue().length() < segmentBytes) {
+            // First append after a restart keeps filling the newest segment, minus any torn trailing record.
+            long valid = scan(last.getValue(), null);
+            if (valid > 0) {
+                try (RandomAccessFile file = new RandomAccessFile(last.getValue(), "rw")) {
+                    file.setLength(valid);
+                }
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(last.getValue(), true)));
+                activeBytes = valid;
+                return out;
+            }
+        }
+        long sequence = last != null ? last.getKey() + 1 : 1;
+        File segment = new File(directory, String.format("segment-%010d.log", sequence));
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(segment)));
+        out.writeInt(SEGMENT_MAGIC);
+        activeBytes = HEADER_BYTES;
+        segments.put(sequence, segment);
+        dropExpiredSegments();
+        return out;
+    }
+
+    private void dropExpiredSegments() {
+        while (segments.size() > maxSegments) {
+            Map.Entry<Long, File> oldest = segments.pollFirstEntry();
+            if (!oldest.getValue().delete()) {
+                System.err.println("Warning: Could not delete expired log segment " + oldest.getValue().getPath());
+            }
+            if (observer != null) {
+                observer.expired(oldest.getKey());
+            }
+        }
+    }
+
+    private void closeStream() throws IOException {
+        if (out != null) {
+            try {
+                out.close();
+            } finally {
+                out = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.exceptions.DataAccessException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StartupLoader {
+
+    private static final int MAX_THREADS = 4;
+
+    private final ExecutorService executor;
+    private final Map<String, Long> loadTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final List<Handle<?>> lazyHandles = new ArrayList<>();
+
+    public StartupLoader() {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dao-startup-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <D> D load(String name, Callable<D> factory) throws DataAccessException {
+        Handle<D> handle = new Handle<>(name, factory, loadTimes);
+        return handle.get();
+    }
+
+    public <D> D eager(Class<D> type, String name, Callable<? extends D> factory) {
+        Handle<D> handle = new Handle<>(name, factory, loadTimes);
+        executor.execute(handle.task);
+        return handle.proxy(type);
+    }
+
+    public <D> D lazy(Class<D> type, String name, Callable<? extends D> factory) {
+        Handle<D> handle = new Handle<>(name, factory, loadTimes);
+        synchronized (lazyHandles) {
+            lazyHandles.add(handle);
+        }
+        return handle.proxy(type);
+    }
+
+    public void warmUp() {
+        synchronized (lazyHandles) {
+            for (Handle<?> handle : lazyHandles) {
+                if (!handle.task.isDone()) {
+                    executor.execute(handle.task);
+                }
+            }
+            lazyHandles.clear();
+        }
+        executor.shutdown();
+    }
+
+    public Map<String, Long> getLoadTimes() {
+        synchronized (loadTimes) {
+            return new LinkedHashMap<>(loadTimes);
+        }
+    }
+
+    private static final class Handle<D> {
+        private final String name;
+        private final FutureTask<D> task;
+
+        Handle(String name, Callable<? extends D> factory, Map<String, Long> loadTimes) {
+            this.name = name;
+            this.task = new FutureTask<>(() -> {
+                long startNanos = System.nanoTime();
+                D value = factory.call();
+                long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                if (loadTimes != null) {
+                    loadTimes.put(name, elapsedMillis);
+                }
+                System.out.println("StartupLoader: Loaded " + name + " in " + elapsedMillis + " ms on " + Thread.currentThread().getName());
+                return value;
+            });
+        }
+
+        D get() {
+            task.run();
+            try {
+                return task.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof DataAccessException) {
+                    throw (DataAccessException) cause;
+                }
+                throw new DataAccessException("Error loading " + name + ": " + cause.getMessage(), cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new DataAccessException("Interrupted while loading " + name, e);
+            }
+        }
+
+        D proxy(Class<D> type) {
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        if (method.getParameterCount() == 1) {
+                            return self == args[0];
+                        }
+                        break;
+                    case "hashCode":
+                        if (method.getParameterCount() == 0) {
+                            return System.identityHashCode(self);
+                        }
+                        break;
+                    case "toString":
+                        if (method.getParameterCount() == 0) {
+                            return task.isDone() ? String.valueOf(get()) : "Pending " + name;
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                try {
+                    return method.invoke(get(), args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+            return type.cast(proxy);
+        }
+    }
+}
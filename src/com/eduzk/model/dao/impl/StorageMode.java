@@ -0,0 +1,7 @@
+package com.eduzk.model.dao.impl;
+
+public enum StorageMode {
+    SNAPSHOT,
+    JOURNAL,
+    MAPPED
+}
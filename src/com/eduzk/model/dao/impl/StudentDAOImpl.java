@@ -1,5 +1,6 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.StudentCodec;
 import com.eduzk.model.dao.interfaces.IEduClassDAO;
 import com.eduzk.model.dao.interfaces.IStudentDAO;
 import com.eduzk.model.entities.EduClass;
@@ -13,16 +14,36 @@ public class StudentDAOImpl extends BaseDAO<Student> implements IStudentDAO {
 
     private final IdGenerator idGenerator;
     private final IEduClassDAO eduClassDAO;
+    private final TextSearchIndex<Student> searchIndex = customIndex(new TextSearchIndex<Student>("search", student -> Arrays.asList(
+            TextSearchIndex.field(student.getFullName(), 3),
+            TextSearchIndex.phoneField(student.getPhone(), 2),
+            TextSearchIndex.field(student.getEmail(), 1))));
+    private final GroupIndex<Student, String> phoneIndex = hashIndex("phone", Student::getPhone);
 
     public StudentDAOImpl(String dataFilePath, IdGenerator idGenerator, IEduClassDAO eduClassDAO) {
-        super(dataFilePath);
+        super(dataFilePath, StudentCodec.INSTANCE, StorageMode.JOURNAL);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null in StudentDAOImpl");
         }
         this.idGenerator = idGenerator;
         this.eduClassDAO = eduClassDAO;
+    }
+
+    @Override
+    protected int getEntityId(Student student) {
+        return student.getStudentId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.STUDENT_ID_KEY, count);
+    }
 
+    @Override
+    protected void assignEntityId(Student student, int id) {
+        student.setStudentId(id);
     }
+
     @Override
     public List<Student> getStudentsByClassId(int classId) throws DataAccessException {
         if (eduClassDAO == null) {
@@ -41,15 +62,7 @@ public class StudentDAOImpl extends BaseDAO<Student> implements IStudentDAO {
 
     @Override
     public Student getById(int id) {
-        lock.readLock().lock();
-        try {
-            return dataList.stream()
-                    .filter(student -> student.getStudentId() == id)
-                    .findFirst()
-                    .orElse(null);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return findById(id);
     }
 
     @Override
@@ -58,13 +71,7 @@ public class StudentDAOImpl extends BaseDAO<Student> implements IStudentDAO {
             throw new IllegalArgumentException("Student cannot be null.");
         }
         student.setStudentId(idGenerator.getNextStudentId());
-        lock.writeLock().lock();
-        try {
-            this.dataList.add(student);
-            saveData();
-        } finally {
-            lock.writeLock().unlock();
-        }
+        insert(student);
     }
 
     @Override
@@ -72,39 +79,15 @@ public class StudentDAOImpl extends BaseDAO<Student> implements IStudentDAO {
         if (student == null) {
             throw new IllegalArgumentException("Student cannot be null.");
         }
-        lock.writeLock().lock();
-        try {
-            int index = -1;
-            for (int i = 0; i < dataList.size(); i++) {
-                if (dataList.get(i).getStudentId() == student.getStudentId()) {
-                    index = i;
-                    break;
-                }
-            }
-
-            if (index != -1) {
-                dataList.set(index, student);
-                saveData();
-            } else {
-                throw new DataAccessException("Student with ID " + student.getStudentId() + " not found for update.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (!replace(student)) {
+            throw new DataAccessException("Student with ID " + student.getStudentId() + " not found for update.");
         }
     }
 
     @Override
     public void delete(int id) {
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(student -> student.getStudentId() == id);
-            if (removed) {
-                saveData();
-            } else {
-                System.err.println("Warning: Student with ID " + id + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(id) == null) {
+            System.err.println("Warning: Student with ID " + id + " not found for deletion.");
         }
     }
 
@@ -121,6 +104,16 @@ public class StudentDAOImpl extends BaseDAO<Student> implements IStudentDAO {
         }
     }
 
+    @Override
+    public List<Student> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return findAllById(searchIndex.search(query, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public Optional<Student> findByPhone(String phone) {
         if (phone == null || phone.trim().isEmpty()) {
@@ -129,9 +122,8 @@ public class StudentDAOImpl extends BaseDAO<Student> implements IStudentDAO {
         String trimmedPhone = phone.trim();
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(student -> trimmedPhone.equals(student.getPhone()))
-                    .findFirst();
+            Iterator<Integer> ids = phoneIndex.get(trimmedPhone).iterator();
+            return Optional.ofNullable(ids.hasNext() ? findById(ids.next()) : null);
         } finally {
             lock.readLock().unlock();
         }
@@ -143,25 +135,17 @@ public class StudentDAOImpl extends BaseDAO<Student> implements IStudentDAO {
             return 0;
         }
         Set<Integer> idsToDeleteSet = new HashSet<>(ids);
-        int initialSize;
-        int removedCount = 0;
+        int removedCount;
 
-        lock.writeLock().lock();
         try {
-            initialSize = dataList.size();
-            boolean changed = dataList.removeIf(student -> idsToDeleteSet.contains(student.getStudentId()));
-
-            if (changed) {
-                removedCount = initialSize - dataList.size();
+            removedCount = removeWhere(student -> idsToDeleteSet.contains(student.getStudentId())).size();
+            if (removedCount > 0) {
                 System.out.println("Deleted " + removedCount + " students with IDs: " + ids);
-                saveData();
             } else {
                 System.out.println("No students found matching IDs for deletion: " + ids);
             }
         } catch (Exception e) {
             throw new DataAccessException("Error deleting multiple students.", e);
-        } finally {
-            lock.writeLock().unlock();
         }
         return removedCount;
     }
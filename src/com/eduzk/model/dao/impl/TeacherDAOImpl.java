@@ -1,37 +1,51 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.TeacherCodec;
 import com.eduzk.model.dao.interfaces.ITeacherDAO;
 import com.eduzk.model.entities.Teacher;
 import com.eduzk.model.exceptions.DataAccessException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class TeacherDAOImpl extends BaseDAO<Teacher> implements ITeacherDAO {
 
     private final IdGenerator idGenerator;
+    private final TextSearchIndex<Teacher> searchIndex = customIndex(new TextSearchIndex<Teacher>("search", teacher -> Arrays.asList(
+            TextSearchIndex.field(teacher.getFullName(), 3),
+            TextSearchIndex.field(teacher.getSpecialization(), 2),
+            TextSearchIndex.phoneField(teacher.getPhone(), 1),
+            TextSearchIndex.field(teacher.getEmail(), 1))));
 
     public TeacherDAOImpl(String dataFilePath, IdGenerator idGenerator) {
-        super(dataFilePath);
+        super(dataFilePath, TeacherCodec.INSTANCE);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null in TeacherDAOImpl");
         }
         this.idGenerator = idGenerator;
     }
 
+    @Override
+    protected int getEntityId(Teacher teacher) {
+        return teacher.getTeacherId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.TEACHER_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(Teacher teacher, int id) {
+        teacher.setTeacherId(id);
+    }
+
     @Override
     public Teacher getById(int id) {
         System.out.println("TeacherDAOImpl.getById(" + id + ") called. Current dataList size: " + (dataList == null ? "null" : dataList.size()));
-        lock.readLock().lock();
-        try {
-            Optional<Teacher> found = dataList.stream()
-                    .filter(teacher -> teacher.getTeacherId() == id)
-                    .findFirst();
-            System.out.println("TeacherDAOImpl.getById(" + id + ") - Found: " + found.isPresent());
-            return found.orElse(null);
-        } finally {
-            lock.readLock().unlock();
-        }
+        Teacher found = findById(id);
+        System.out.println("TeacherDAOImpl.getById(" + id + ") - Found: " + (found != null));
+        return found;
     }
 
     @Override
@@ -40,13 +54,7 @@ public class TeacherDAOImpl extends BaseDAO<Teacher> implements ITeacherDAO {
             throw new IllegalArgumentException("Teacher cannot be null.");
         }
         teacher.setTeacherId(idGenerator.getNextTeacherId());
-        lock.writeLock().lock();
-        try {
-            this.dataList.add(teacher);
-            saveData();
-        } finally {
-            lock.writeLock().unlock();
-        }
+        insert(teacher);
     }
 
     @Override
@@ -54,39 +62,15 @@ public class TeacherDAOImpl extends BaseDAO<Teacher> implements ITeacherDAO {
         if (teacher == null) {
             throw new IllegalArgumentException("Teacher cannot be null.");
         }
-        lock.writeLock().lock();
-        try {
-            int index = -1;
-            for (int i = 0; i < dataList.size(); i++) {
-                if (dataList.get(i).getTeacherId() == teacher.getTeacherId()) {
-                    index = i;
-                    break;
-                }
-            }
-
-            if (index != -1) {
-                dataList.set(index, teacher);
-                saveData();
-            } else {
-                throw new DataAccessException("Teacher with ID " + teacher.getTeacherId() + " not found for update.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (!replace(teacher)) {
+            throw new DataAccessException("Teacher with ID " + teacher.getTeacherId() + " not found for update.");
         }
     }
 
     @Override
     public void delete(int id) {
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(teacher -> teacher.getTeacherId() == id);
-            if (removed) {
-                saveData();
-            } else {
-                System.err.println("Warning: Teacher with ID " + id + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(id) == null) {
+            System.err.println("Warning: Teacher with ID " + id + " not found for deletion.");
         }
     }
 
@@ -103,6 +87,16 @@ public class TeacherDAOImpl extends BaseDAO<Teacher> implements ITeacherDAO {
             lock.readLock().unlock();
         }
     }
+    @Override
+    public List<Teacher> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return findAllById(searchIndex.search(query, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
     @Override
     public int deleteMultiple(List<Integer> ids) throws DataAccessException {
         if (ids == null || ids.isEmpty()) {
@@ -116,15 +110,13 @@ public class TeacherDAOImpl extends BaseDAO<Teacher> implements ITeacherDAO {
         try {
             initialSize = dataList.size();
             System.out.println("TeacherDAOImpl.deleteMultiple: Initial size = " + initialSize + ", attempting to remove IDs: " + ids);
-            boolean removed = dataList.removeIf(teacher -> ids.contains(teacher.getTeacherId()));
+            removeWhere(teacher -> ids.contains(teacher.getTeacherId()));
 
             finalSize = dataList.size();
             int deletedCount = initialSize - finalSize;
             System.out.println("TeacherDAOImpl.deleteMultiple: Removed " + deletedCount + " items. Final size = " + finalSize);
 
             if (deletedCount > 0) {
-                System.out.println("TeacherDAOImpl.deleteMultiple: Saving data after deletion...");
-                saveData();
                 System.out.println("TeacherDAOImpl.deleteMultiple: Data saved.");
             } else {
                 System.out.println("TeacherDAOImpl.deleteMultiple: No items were removed matching the IDs.");
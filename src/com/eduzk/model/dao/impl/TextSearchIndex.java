@@ -0,0 +1,203 @@
+package com.eduzk.model.dao.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+final class TextSearchIndex<T> extends EntityIndex<T> {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final int EXACT_TOKEN_BONUS = 3;
+    private static final int PREFIX_TOKEN_BONUS = 2;
+
+    static final class Field {
+        final String text;
+        final int weight;
+        final boolean phone;
+
+        private Field(String text, int weight, boolean phone) {
+            this.text = text;
+            this.weight = weight;
+            this.phone = phone;
+        }
+    }
+
+    private final Function<? super T, ? extends Collection<Field>> fieldsExtractor;
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private final Map<Integer, String[]> tokensById = new HashMap<>();
+
+    TextSearchIndex(String name, Function<? super T, ? extends Collection<Field>> fieldsExtractor) {
+        super(name);
+        this.fieldsExtractor = fieldsExtractor;
+    }
+
+    static Field field(String text, int weight) {
+        return new Field(text, weight, false);
+    }
+
+    // Phone numbers are also indexed as one run of digits, so "0901234567" finds "090-123-4567".
+    static Field phoneField(String text, int weight) {
+        return new Field(text, weight, true);
+    }
+
+    static String fold(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return stripped.replace('\u0111', 'd').replace('\u0110', 'D').toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        String folded = fold(text);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean tokenChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (tokenChar && start == -1) {
+                start = i;
+            } else if (!tokenChar && start != -1) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static String digitsOf(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    @Override
+    void put(int id, T item) {
+        remove(id);
+        Collection<Field> fields = fieldsExtractor.apply(item);
+        Map<String, Integer> weights = new HashMap<>();
+        for (Field field : fields) {
+            for (String token : tokenize(field.text)) {
+                weights.merge(token, field.weight, Math::max);
+            }
+            if (field.phone) {
+                String digits = digitsOf(field.text);
+                if (!digits.isEmpty()) {
+                    weights.merge(digits, field.weight, Math::max);
+                }
+            }
+        }
+        if (weights.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), token -> new HashMap<>()).put(id, entry.getValue());
+        }
+        tokensById.put(id, weights.keySet().toArray(new String[0]));
+    }
+
+    @Override
+    void remove(int id) {
+        String[] tokens = tokensById.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<Integer, Integer> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        postings.clear();
+        tokensById.clear();
+    }
+
+    // Every query token must match a token of the entry, exactly or as a prefix; a limit <= 0 returns all matches.
+    List<Integer> search(String query, int limit) {
+        List<NavigableMap<String, Map<Integer, Integer>>> matchesPerToken = new ArrayList<>();
+        List<String> queryTokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        for (String queryToken : queryTokens) {
+            NavigableMap<String, Map<Integer, Integer>> matches = postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false);
+            if (matches.isEmpty()) {
+                return new ArrayList<>();
+            }
+            matchesPerToken.add(matches);
+        }
+        if (queryTokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, Integer> scores = null;
+        for (int i = 0; i < queryTokens.size() && (scores == null || !scores.isEmpty()); i++) {
+            Map<Integer, Integer> tokenScores = new HashMap<>();
+            for (Map.Entry<String, Map<Integer, Integer>> posting : matchesPerToken.get(i).entrySet()) {
+                int bonus = bonusFor(posting.getKey(), queryTokens.get(i));
+                for (Map.Entry<Integer, Integer> match : posting.getValue().entrySet()) {
+                    tokenScores.merge(match.getKey(), match.getValue() * bonus, Math::max);
+                }
+            }
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                for (Map.Entry<Integer, Integer> candidate : scores.entrySet()) {
+                    candidate.setValue(candidate.getValue() + tokenScores.get(candidate.getKey()));
+                }
+            }
+        }
+        return topRanked(scores, limit);
+    }
+
+    private static int bonusFor(String token, String queryToken) {
+        return token.length() == queryToken.length() ? EXACT_TOKEN_BONUS : PREFIX_TOKEN_BONUS;
+    }
+
+    private static List<Integer> topRanked(Map<Integer, Integer> scores, int limit) {
+        Comparator<Map.Entry<Integer, Integer>> bestFirst = (a, b) -> a.getValue().equals(b.getValue())
+                ? Integer.compare(a.getKey(), b.getKey())
+                : Integer.compare(b.getValue(), a.getValue());
+        List<Map.Entry<Integer, Integer>> ranked;
+        if (limit > 0 && limit < scores.size()) {
+            PriorityQueue<Map.Entry<Integer, Integer>> top = new PriorityQueue<>(limit + 1, bestFirst.reversed());
+            for (Map.Entry<Integer, Integer> entry : scores.entrySet()) {
+                top.add(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            ranked = new ArrayList<>(top);
+        } else {
+            ranked = new ArrayList<>(scores.entrySet());
+        }
+        ranked.sort(bestFirst);
+        List<Integer> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<Integer, Integer> entry : ranked) {
+            ids.add(entry.getKey());
+        }
+        return ids;
+    }
+}
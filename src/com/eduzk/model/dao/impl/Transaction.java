@@ -0,0 +1,120 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.exceptions.DataAccessException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class Transaction implements AutoCloseable {
+
+    enum State { ACTIVE, COMMITTED, ROLLED_BACK }
+
+    static final class Change {
+        final BaseDAO<?> store;
+        final DataJournal.Record record;
+        final Object previous;
+
+        Change(BaseDAO<?> store, DataJournal.Record record, Object previous) {
+            this.store = store;
+            this.record = record;
+            this.previous = previous;
+        }
+    }
+
+    private final long id;
+    private final TransactionManager manager;
+    private final List<Change> changes = new ArrayList<>();
+    private final Set<BaseDAO<?>> participants = new LinkedHashSet<>();
+    private State state = State.ACTIVE;
+
+    Transaction(long id, TransactionManager manager) {
+        this.id = id;
+        this.manager = manager;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    void stage(BaseDAO<?> store, DataJournal.Record record, Object previous) {
+        if (state != State.ACTIVE) {
+            throw new DataAccessException("Transaction " + id + " is no longer active.");
+        }
+        if (participants.add(store)) {
+            store.enterTransaction();
+        }
+        changes.add(new Change(store, record, previous));
+    }
+
+    List<Change> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    Set<BaseDAO<?>> getParticipants() {
+        return Collections.unmodifiableSet(participants);
+    }
+
+    public boolean isActive() {
+        return state == State.ACTIVE;
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    public void commit() throws DataAccessException {
+        if (state != State.ACTIVE) {
+            throw new IllegalStateException("Transaction " + id + " has already been " + state.name().toLowerCase().replace('_', ' ') + ".");
+        }
+        try {
+            manager.commit(this);
+            state = State.COMMITTED;
+        } catch (RuntimeException e) {
+            undoChanges();
+            state = State.ROLLED_BACK;
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    public void rollback() {
+        if (state != State.ACTIVE) {
+            return;
+        }
+        try {
+            undoChanges();
+        } finally {
+            state = State.ROLLED_BACK;
+            release();
+        }
+    }
+
+    @Override
+    public void close() {
+        rollback();
+    }
+
+    private void undoChanges() {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            Change change = changes.get(i);
+            try {
+                change.store.undo(change.record, change.previous);
+            } catch (RuntimeException e) {
+                System.err.println("Transaction: Could not undo change to record " + change.record.id + " in " + change.store.dataFilePath + " - " + e.getMessage());
+            }
+        }
+        if (!changes.isEmpty()) {
+            System.out.println("Transaction: Rolled back " + changes.size() + " changes of transaction " + id);
+        }
+    }
+
+    private void release() {
+        for (BaseDAO<?> store : participants) {
+            store.exitTransaction();
+        }
+        manager.unbind(this);
+    }
+}
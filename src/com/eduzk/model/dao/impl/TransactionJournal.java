@@ -0,0 +1,195 @@
+package com.eduzk.model.dao.impl;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+class TransactionJournal {
+
+    private static final int TX_MAGIC = 0x45545831;
+
+    static final class Entry {
+        final String storeName;
+        final DataJournal.Record record;
+
+        Entry(String storeName, DataJournal.Record record) {
+            this.storeName = storeName;
+            this.record = record;
+        }
+    }
+
+    private final File file;
+    private boolean backlog;
+
+    TransactionJournal(File file) {
+        this.file = file;
+        this.backlog = file.exists() && file.length() > 0;
+    }
+
+    synchronized void commit(long txId, List<Entry> entries) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(body);
+        out.writeLong(txId);
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            out.writeUTF(entry.storeName);
+            out.writeByte(entry.record.op);
+            out.writeInt(entry.record.id);
+            byte[] payload = entry.record.payload;
+            out.writeInt(payload != null ? payload.length : 0);
+            if (payload != null) {
+                out.write(payload);
+            }
+        }
+        out.flush();
+        CRC32 crc = new CRC32();
+        crc.update(body.toByteArray());
+
+        ByteArrayOutputStream block = new ByteArrayOutputStream(body.size() + 16);
+        DataOutputStream blockOut = new DataOutputStream(block);
+        blockOut.writeInt(TX_MAGIC);
+        blockOut.writeInt(body.size());
+        body.writeTo(blockOut);
+        blockOut.writeLong(crc.getValue());
+        blockOut.flush();
+
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        try (FileOutputStream fos = new FileOutputStream(file, true)) {
+            block.writeTo(fos);
+            fos.getFD().sync();
+        }
+    }
+
+    synchronized void markBacklog() {
+        backlog = true;
+    }
+
+    synchronized boolean hasBacklog() {
+        return backlog;
+    }
+
+    synchronized void checkpoint() throws IOException {
+        if (!backlog && file.exists() && !file.delete()) {
+            new FileOutputStream(file).close();
+        }
+    }
+
+    synchronized List<DataJournal.Record> readCommitted(String storeName) throws IOException {
+        List<DataJournal.Record> records = new ArrayList<>();
+        for (List<Entry> transaction : readAll().values()) {
+            for (Entry entry : transaction) {
+                if (entry.storeName.equals(storeName)) {
+                    records.add(entry.record);
+                }
+            }
+        }
+        return records;
+    }
+
+    synchronized void discard(String storeName) throws IOException {
+        discard(storeName, Long.MAX_VALUE);
+    }
+
+    // Drops the store's entries up to and including throughTxId once the store has them on disk itself. Later
+    // transactions stay, so a store never replays an older commit over changes it made afterwards.
+    synchronized void discard(String storeName, long throughTxId) throws IOException {
+        if (!file.exists() || file.length() == 0) {
+            backlog = false;
+            return;
+        }
+        Map<Long, List<Entry>> remaining = new LinkedHashMap<>();
+        for (Map.Entry<Long, List<Entry>> transaction : readAll().entrySet()) {
+            boolean covered = transaction.getKey() <= throughTxId;
+            List<Entry> kept = new ArrayList<>();
+            for (Entry entry : transaction.getValue()) {
+                if (!covered || !entry.storeName.equals(storeName)) {
+                    kept.add(entry);
+                }
+            }
+            if (!kept.isEmpty()) {
+                remaining.put(transaction.getKey(), kept);
+            }
+        }
+        if (remaining.isEmpty()) {
+            backlog = false;
+            if (file.exists() && !file.delete()) {
+                new FileOutputStream(file).close();
+            }
+            return;
+        }
+        File tempFile = new File(file.getPath() + ".tmp");
+        if (tempFile.exists()) {
+            tempFile.delete();
+        }
+        TransactionJournal rewritten = new TransactionJournal(tempFile);
+        for (Map.Entry<Long, List<Entry>> transaction : remaining.entrySet()) {
+            rewritten.commit(transaction.getKey(), transaction.getValue());
+        }
+        Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Map<Long, List<Entry>> readAll() throws IOException {
+        Map<Long, List<Entry>> transactions = new LinkedHashMap<>();
+        if (!file.exists() || file.length() == 0) {
+            return transactions;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                byte[] body;
+                long storedCrc;
+                try {
+                    if (in.readInt() != TX_MAGIC) {
+                        System.err.println("Warning: Corrupt transaction block in " + file.getPath() + ", ignoring the rest of the journal.");
+                        break;
+                    }
+                    int length = in.readInt();
+                    if (length < 0 || length > file.length()) {
+                        System.err.println("Warning: Corrupt transaction block in " + file.getPath() + ", ignoring the rest of the journal.");
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                    storedCrc = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                CRC32 crc = new CRC32();
+                crc.update(body);
+                if (crc.getValue() != storedCrc) {
+                    System.err.println("Warning: Ignoring uncommitted transaction with bad checksum in " + file.getPath());
+                    break;
+                }
+                DataInputStream bodyIn = new DataInputStream(new ByteArrayInputStream(body));
+                long txId = bodyIn.readLong();
+                transactions.put(txId, decodeBody(bodyIn));
+            }
+        }
+        return transactions;
+    }
+
+    private static List<Entry> decodeBody(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String storeName = in.readUTF();
+            byte op = in.readByte();
+            int id = in.readInt();
+            int length = in.readInt();
+            byte[] payload = null;
+            if (length > 0) {
+                payload = new byte[length];
+                in.readFully(payload);
+            }
+            entries.add(new Entry(storeName, new DataJournal.Record(op, id, payload)));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,157 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.exceptions.DataAccessException;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TransactionManager {
+
+    public static final String JOURNAL_FILE_NAME = "transactions.journal";
+
+    private static final TransactionManager INSTANCE = new TransactionManager();
+
+    private final ThreadLocal<Transaction> current = new ThreadLocal<>();
+    private final Map<String, TransactionJournal> journals = new ConcurrentHashMap<>();
+    private final AtomicLong nextTransactionId = new AtomicLong(System.currentTimeMillis());
+
+    private TransactionManager() {
+    }
+
+    public static TransactionManager getInstance() {
+        return INSTANCE;
+    }
+
+    static Transaction currentTransaction() {
+        return INSTANCE.current.get();
+    }
+
+    public Transaction begin() {
+        if (current.get() != null) {
+            throw new IllegalStateException("A transaction is already active on thread " + Thread.currentThread().getName());
+        }
+        Transaction transaction = new Transaction(nextTransactionId.incrementAndGet(), this);
+        current.set(transaction);
+        return transaction;
+    }
+
+    void unbind(Transaction transaction) {
+        if (current.get() == transaction) {
+            current.remove();
+        }
+    }
+
+    void register(BaseDAO<?> store) {
+        TransactionJournal journal = journalFor(store);
+        String storeName = storeNameOf(store);
+        try {
+            List<DataJournal.Record> records = journal.readCommitted(storeName);
+            if (records.isEmpty()) {
+                return;
+            }
+            store.recover(records);
+            journal.discard(storeName);
+            System.out.println("TransactionManager: Recovered " + records.size() + " committed changes for " + store.dataFilePath);
+        } catch (IOException e) {
+            throw new DataAccessException("Error recovering committed transactions for: " + store.dataFilePath, e);
+        }
+    }
+
+    void commit(Transaction transaction) {
+        List<Transaction.Change> changes = transaction.getChanges();
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<BaseDAO<?>> participants = new ArrayList<>(transaction.getParticipants());
+        participants.sort(Comparator.comparing(store -> store.dataFilePath));
+        TransactionJournal journal = journalFor(participants.get(0));
+        for (BaseDAO<?> store : participants) {
+            if (journalFor(store) != journal) {
+                throw new DataAccessException("A transaction cannot span data directories: " + store.dataFilePath);
+            }
+        }
+
+        List<TransactionJournal.Entry> entries = new ArrayList<>(changes.size());
+        Map<BaseDAO<?>, List<DataJournal.Record>> recordsByStore = new LinkedHashMap<>();
+        for (Transaction.Change change : changes) {
+            entries.add(new TransactionJournal.Entry(storeNameOf(change.store), change.record));
+            recordsByStore.computeIfAbsent(change.store, store -> new ArrayList<>()).add(change.record);
+        }
+
+        synchronized (journal) {
+            int locked = 0;
+            try {
+                for (BaseDAO<?> store : participants) {
+                    store.lockForCommit();
+                    locked++;
+                }
+                try {
+                    journal.commit(transaction.getId(), entries);
+                } catch (IOException e) {
+                    throw new DataAccessException("Error writing commit record for transaction " + transaction.getId(), e);
+                }
+
+                List<BaseDAO<?>> durable = new ArrayList<>(participants.size());
+                for (BaseDAO<?> store : participants) {
+                    store.applyCommitted(recordsByStore.get(store), transaction.getId());
+                    try {
+                        if (store.flushCommitted()) {
+                            durable.add(store);
+                        } else {
+                            System.out.println("TransactionManager: Transaction " + transaction.getId() + " is committed, "
+                                    + store.dataFilePath + " will be written once its other transactions finish.");
+                        }
+                    } catch (RuntimeException e) {
+                        System.err.println("TransactionManager: Transaction " + transaction.getId() + " is committed but "
+                                + store.dataFilePath + " could not be written yet, it will be recovered on next start - " + e.getMessage());
+                    }
+                }
+                try {
+                    if (durable.size() == participants.size() && !journal.hasBacklog()) {
+                        journal.checkpoint();
+                    } else {
+                        journal.markBacklog();
+                        for (BaseDAO<?> store : durable) {
+                            journal.discard(storeNameOf(store), transaction.getId());
+                        }
+                    }
+                    for (BaseDAO<?> store : durable) {
+                        store.committedDurable(transaction.getId());
+                    }
+                } catch (IOException e) {
+                    System.err.println("TransactionManager: Could not checkpoint transaction journal - " + e.getMessage());
+                }
+            } finally {
+                for (int i = locked - 1; i >= 0; i--) {
+                    participants.get(i).unlockAfterCommit();
+                }
+            }
+        }
+    }
+
+    // Called by a store once records it holds in the backlog are on disk in its own files.
+    void discardCommitted(BaseDAO<?> store, long throughTxId) {
+        TransactionJournal journal = journalFor(store);
+        try {
+            journal.discard(storeNameOf(store), throughTxId);
+        } catch (IOException e) {
+            throw new DataAccessException("Error discarding committed transactions for: " + store.dataFilePath, e);
+        }
+    }
+
+    private TransactionJournal journalFor(BaseDAO<?> store) {
+        File directory = new File(store.dataFilePath).getAbsoluteFile().getParentFile();
+        File journalFile = new File(directory, JOURNAL_FILE_NAME);
+        return journals.computeIfAbsent(journalFile.getPath(), path -> new TransactionJournal(journalFile));
+    }
+
+    private static String storeNameOf(BaseDAO<?> store) {
+        return new File(store.dataFilePath).getName();
+    }
+}
@@ -0,0 +1,87 @@
+package com.eduzk.model.dao.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+final class UniqueIndex<T, K> extends EntityIndex<T> {
+
+    static final int MISSING = IntIndexMap.MISSING;
+
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final Map<K, Integer> idsByKey = new HashMap<>();
+    private final Map<Integer, K> keysById = new HashMap<>();
+    private final Set<K> sharedKeys = new HashSet<>();
+
+    UniqueIndex(String name, Function<? super T, ? extends K> keyExtractor) {
+        super(name);
+        this.keyExtractor = keyExtractor;
+    }
+
+    int get(K key) {
+        if (key == null) {
+            return MISSING;
+        }
+        Integer id = idsByKey.get(key);
+        return id != null ? id : MISSING;
+    }
+
+    // An entity that already shares a duplicate key keeps it, so old duplicates can still be edited.
+    boolean isTakenByOther(K key, int id) {
+        int owner = get(key);
+        return owner != MISSING && owner != id && !key.equals(keysById.get(id));
+    }
+
+    // A null key leaves the entity out of the index. Data written before the index existed may already hold a key
+    // twice; the first owner answers lookups and the next one takes over when it goes.
+    @Override
+    void put(int id, T item) {
+        remove(id);
+        K key = keyExtractor.apply(item);
+        if (key == null) {
+            return;
+        }
+        keysById.put(id, key);
+        Integer owner = idsByKey.putIfAbsent(key, id);
+        if (owner != null) {
+            sharedKeys.add(key);
+            System.err.println("Warning: Duplicate key '" + key + "' in index '" + getName() + "' for IDs " + owner + " and " + id + ", lookups return ID " + owner + ".");
+        }
+    }
+
+    @Override
+    void remove(int id) {
+        K previous = keysById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        idsByKey.remove(previous, id);
+        if (sharedKeys.contains(previous)) {
+            Integer next = null;
+            int holders = 0;
+            for (Map.Entry<Integer, K> entry : keysById.entrySet()) {
+                if (previous.equals(entry.getValue())) {
+                    if (next == null) {
+                        next = entry.getKey();
+                    }
+                    holders++;
+                }
+            }
+            if (next != null) {
+                idsByKey.putIfAbsent(previous, next);
+            }
+            if (holders < 2) {
+                sharedKeys.remove(previous);
+            }
+        }
+    }
+
+    @Override
+    void clear() {
+        idsByKey.clear();
+        keysById.clear();
+        sharedKeys.clear();
+    }
+}
@@ -1,23 +1,74 @@
 package com.eduzk.model.dao.impl;
 
+import com.eduzk.model.dao.impl.codec.UserCodec;
 import com.eduzk.model.dao.interfaces.IUserDAO;
 import com.eduzk.model.entities.User;
 import com.eduzk.model.exceptions.DataAccessException;
+import java.util.Locale;
 import java.util.Optional;
 import com.eduzk.model.entities.Role;
 
 public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
 
     private final IdGenerator idGenerator;
+    private final UniqueIndex<User, String> usernameIndex = uniqueIndex("username", user -> usernameKey(user.getUsername()));
+    private final UniqueIndex<User, Integer> studentIdIndex = uniqueIndex("studentId", user -> user.getRole() == Role.STUDENT ? user.getStudentId() : null);
+    private final UniqueIndex<User, Integer> teacherIdIndex = uniqueIndex("teacherId", user -> user.getRole() == Role.TEACHER ? user.getTeacherId() : null);
 
     public UserDAOImpl(String dataFilePath, IdGenerator idGenerator) {
-        super(dataFilePath);
+        super(dataFilePath, UserCodec.INSTANCE, StorageMode.JOURNAL);
         if (idGenerator == null) {
             throw new IllegalArgumentException("IdGenerator cannot be null");
         }
         this.idGenerator = idGenerator;
     }
 
+    @Override
+    protected int getEntityId(User user) {
+        return user.getUserId();
+    }
+
+    @Override
+    protected int reserveIds(int count) {
+        return idGenerator.reserveRange(IdGenerator.USER_ID_KEY, count);
+    }
+
+    @Override
+    protected void assignEntityId(User user, int id) {
+        user.setUserId(id);
+    }
+
+    private static String usernameKey(String username) {
+        return username != null ? username.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private User userAt(int id) {
+        return id != UniqueIndex.MISSING ? findById(id) : null;
+    }
+
+    @Override
+    protected void beforeBatchWrite(User user, boolean isNew) {
+        int ownId = isNew ? UniqueIndex.MISSING : user.getUserId();
+        if (usernameIndex.isTakenByOther(usernameKey(user.getUsername()), ownId)) {
+            throw new DataAccessException("Username '" + user.getUsername() + "' already exists.");
+        }
+        checkLinkedIds(user, ownId);
+    }
+
+    // One account per student and per teacher; findByStudentId and findByTeacherId rely on it.
+    private void checkLinkedIds(User user, int ownId) {
+        if (user.getRole() == Role.STUDENT && user.getStudentId() != null) {
+            if (studentIdIndex.isTakenByOther(user.getStudentId(), ownId)) {
+                throw new DataAccessException("An account for student ID " + user.getStudentId() + " already exists.");
+            }
+        }
+        if (user.getRole() == Role.TEACHER && user.getTeacherId() != null) {
+            if (teacherIdIndex.isTakenByOther(user.getTeacherId(), ownId)) {
+                throw new DataAccessException("An account for teacher ID " + user.getTeacherId() + " already exists.");
+            }
+        }
+    }
+
     @Override
     public Optional<User> findByUsername(String username) {
         if (username == null || username.trim().isEmpty()) {
@@ -25,9 +76,7 @@ public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
         }
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(user -> username.equalsIgnoreCase(user.getUsername()))
-                    .findFirst();
+            return Optional.ofNullable(userAt(usernameIndex.get(usernameKey(username))));
         } finally {
             lock.readLock().unlock();
         }
@@ -35,15 +84,7 @@ public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
 
     @Override
     public User getById(int id) {
-        lock.readLock().lock();
-        try {
-            return dataList.stream()
-                    .filter(user -> user.getUserId() == id)
-                    .findFirst()
-                    .orElse(null);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return findById(id);
     }
 
     @Override
@@ -53,23 +94,12 @@ public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
 
         lock.writeLock().lock();
         try {
-            boolean usernameExists = dataList.stream()
-                    .anyMatch(existingUser -> existingUser.getUsername().equalsIgnoreCase(user.getUsername()));
-            if (usernameExists) {
+            if (usernameIndex.get(usernameKey(user.getUsername())) != UniqueIndex.MISSING) {
                 throw new DataAccessException("Username '" + user.getUsername() + "' already exists.");
             }
+            checkLinkedIds(user, UniqueIndex.MISSING);
 
-            if (user.getRole() == Role.STUDENT && user.getStudentId() != null) {
-                boolean studentIdExists = dataList.stream()
-                        .anyMatch(existingUser -> existingUser.getRole() == Role.STUDENT &&
-                                user.getStudentId().equals(existingUser.getStudentId()));
-                if (studentIdExists) {
-                    throw new DataAccessException("An account for student ID " + user.getStudentId() + " already exists.");
-                }
-            }
-
-            this.dataList.add(user);
-            saveData();
+            insert(user);
         } finally {
             lock.writeLock().unlock();
         }
@@ -83,26 +113,15 @@ public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
         }
         lock.writeLock().lock();
         try {
-            int index = -1;
-            for (int i = 0; i < dataList.size(); i++) {
-                if (dataList.get(i).getUserId() == user.getUserId()) {
-                    index = i;
-                    break;
-                }
-            }
+            int index = indexOfId(user.getUserId());
 
             if (index != -1) {
-                final int currentIndex = index;
-                boolean usernameConflict = dataList.stream()
-                        .filter(existingUser -> existingUser.getUserId() != user.getUserId())
-                        .anyMatch(existingUser -> existingUser.getUsername().equalsIgnoreCase(user.getUsername()));
-
-                if (usernameConflict) {
+                if (usernameIndex.isTakenByOther(usernameKey(user.getUsername()), user.getUserId())) {
                     throw new DataAccessException("Cannot update user. Username '" + user.getUsername() + "' is already used by another user.");
                 }
+                checkLinkedIds(user, user.getUserId());
 
-                dataList.set(index, user);
-                saveData();
+                replace(user);
             } else {
                 throw new DataAccessException("User with ID " + user.getUserId() + " not found for update.");
             }
@@ -113,16 +132,8 @@ public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
 
     @Override
     public void delete(int id) {
-        lock.writeLock().lock();
-        try {
-            boolean removed = dataList.removeIf(user -> user.getUserId() == id);
-            if (removed) {
-                saveData();
-            } else {
-                System.err.println("Warning: User with ID " + id + " not found for deletion.");
-            }
-        } finally {
-            lock.writeLock().unlock();
+        if (removeById(id) == null) {
+            System.err.println("Warning: User with ID " + id + " not found for deletion.");
         }
     }
     @Override
@@ -132,11 +143,7 @@ public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
         }
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(user -> user.getRole() == Role.STUDENT &&
-                            user.getStudentId() != null &&
-                            user.getStudentId() == studentId)
-                    .findFirst();
+            return Optional.ofNullable(userAt(studentIdIndex.get(studentId)));
         } finally {
             lock.readLock().unlock();
         }
@@ -148,11 +155,7 @@ public class UserDAOImpl extends BaseDAO<User> implements IUserDAO {
         }
         lock.readLock().lock();
         try {
-            return dataList.stream()
-                    .filter(user -> user.getRole() == Role.TEACHER &&
-                            user.getTeacherId() != null &&
-                            user.getTeacherId().equals(teacherId))
-                    .findFirst();
+            return Optional.ofNullable(userAt(teacherIdIndex.get(teacherId)));
         } finally {
             lock.readLock().unlock();
         }
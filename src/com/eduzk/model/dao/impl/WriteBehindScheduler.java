@@ -0,0 +1,108 @@
+package com.eduzk.model.dao.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class WriteBehindScheduler {
+
+    // Told once when a store's deferred writes start failing and once when they succeed again.
+    public interface FailureListener {
+        void writeFailed(String dataFilePath, Exception error);
+
+        void writeRecovered(String dataFilePath);
+    }
+
+    static final long INITIAL_RETRY_DELAY_MILLIS = 500;
+    static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+    private static final WriteBehindScheduler INSTANCE = new WriteBehindScheduler();
+
+    private final List<BaseDAO<?>> stores = new CopyOnWriteArrayList<>();
+    private final Set<BaseDAO<?>> scheduled = ConcurrentHashMap.newKeySet();
+    private final Map<BaseDAO<?>, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final List<FailureListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor;
+
+    private WriteBehindScheduler() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dao-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushAll, "dao-write-behind-shutdown"));
+    }
+
+    public static WriteBehindScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    public void addFailureListener(FailureListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeFailureListener(FailureListener listener) {
+        listeners.remove(listener);
+    }
+
+    void register(BaseDAO<?> store) {
+        stores.add(store);
+    }
+
+    void schedule(BaseDAO<?> store, long delayMillis) {
+        if (scheduled.add(store)) {
+            executor.schedule(() -> {
+                scheduled.remove(store);
+                flushInBackground(store);
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Returns the data files that could not be written.
+    public List<String> flushAll() {
+        List<String> failed = new ArrayList<>();
+        for (BaseDAO<?> store : stores) {
+            try {
+                store.flush();
+                markRecovered(store);
+            } catch (Exception e) {
+                System.err.println("WriteBehindScheduler: Flush failed for " + store.dataFilePath + " - " + e.getMessage());
+                failed.add(store.dataFilePath);
+            }
+        }
+        return failed;
+    }
+
+    // A failed store keeps its unwritten changes (BaseDAO restores them), so retrying the flush is enough.
+    private void flushInBackground(BaseDAO<?> store) {
+        try {
+            store.flush();
+            markRecovered(store);
+        } catch (Exception e) {
+            int attempt = failedAttempts.merge(store, 1, Integer::sum);
+            long delay = Math.min(MAX_RETRY_DELAY_MILLIS, INITIAL_RETRY_DELAY_MILLIS << Math.min(attempt - 1, 16));
+            System.err.println("WriteBehindScheduler: Flush failed for " + store.dataFilePath + " (attempt " + attempt
+                    + "), retrying in " + delay + " ms - " + e.getMessage());
+            if (attempt == 1) {
+                for (FailureListener listener : listeners) {
+                    listener.writeFailed(store.dataFilePath, e);
+                }
+            }
+            schedule(store, delay);
+        }
+    }
+
+    private void markRecovered(BaseDAO<?> store) {
+        if (failedAttempts.remove(store) != null) {
+            System.out.println("WriteBehindScheduler: Pending changes for " + store.dataFilePath + " were written after earlier failures.");
+            for (FailureListener listener : listeners) {
+                listener.writeRecovered(store.dataFilePath);
+            }
+        }
+    }
+}
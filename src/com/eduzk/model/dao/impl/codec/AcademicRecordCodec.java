@@ -0,0 +1,61 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.AcademicRecord;
+import com.eduzk.model.entities.ArtStatus;
+import com.eduzk.model.entities.ConductRating;
+import java.util.Map;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class AcademicRecordCodec implements EntityCodec<AcademicRecord> {
+
+    public static final AcademicRecordCodec INSTANCE = new AcademicRecordCodec();
+    private static final int VERSION = 1;
+
+    private AcademicRecordCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, AcademicRecord record) throws IOException {
+        out.writeInt(record.getRecordId());
+        out.writeInt(record.getStudentId());
+        out.writeInt(record.getClassId());
+        Map<String, Double> grades = record.getSubjectGrades();
+        out.writeInt(grades.size());
+        for (Map.Entry<String, Double> entry : grades.entrySet()) {
+            CodecSupport.writeString(out, entry.getKey());
+            out.writeBoolean(entry.getValue() != null);
+            if (entry.getValue() != null) {
+                out.writeDouble(entry.getValue());
+            }
+        }
+        CodecSupport.writeEnum(out, record.getArtStatus());
+        CodecSupport.writeEnum(out, record.getConductRating());
+    }
+
+    @Override
+    public AcademicRecord read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported AcademicRecord record version " + version);
+        }
+        AcademicRecord record = new AcademicRecord();
+        record.setRecordId(in.readInt());
+        record.setStudentId(in.readInt());
+        record.setClassId(in.readInt());
+        int gradeCount = in.readInt();
+        Map<String, Double> grades = record.getSubjectGrades();
+        for (int i = 0; i < gradeCount; i++) {
+            String subject = CodecSupport.readString(in);
+            grades.put(subject, in.readBoolean() ? in.readDouble() : null);
+        }
+        record.setArtStatus(CodecSupport.readEnum(in, ArtStatus.class));
+        record.setConductRating(CodecSupport.readEnum(in, ConductRating.class));
+        return record;
+    }
+}
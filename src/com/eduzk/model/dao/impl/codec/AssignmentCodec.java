@@ -0,0 +1,47 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Assignment;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class AssignmentCodec implements EntityCodec<Assignment> {
+
+    public static final AssignmentCodec INSTANCE = new AssignmentCodec();
+    private static final int VERSION = 1;
+
+    private AssignmentCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, Assignment assignment) throws IOException {
+        out.writeInt(assignment.getAssignmentId());
+        out.writeInt(assignment.getEduClassId());
+        CodecSupport.writeString(out, assignment.getTitle());
+        CodecSupport.writeString(out, assignment.getDescription());
+        CodecSupport.writeDateTime(out, assignment.getDueDateTime());
+        CodecSupport.writeDateTime(out, assignment.getCreatedAt());
+        CodecSupport.writeDateTime(out, assignment.getUpdatedAt());
+    }
+
+    @Override
+    public Assignment read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported Assignment record version " + version);
+        }
+        Assignment assignment = new Assignment();
+        assignment.setAssignmentId(in.readInt());
+        assignment.setEduClassId(in.readInt());
+        assignment.setTitle(CodecSupport.readString(in));
+        assignment.setDescription(CodecSupport.readString(in));
+        assignment.setDueDateTime(CodecSupport.readDateTime(in));
+        assignment.setCreatedAt(CodecSupport.readDateTime(in));
+        assignment.setUpdatedAt(CodecSupport.readDateTime(in));
+        return assignment;
+    }
+}
@@ -0,0 +1,100 @@
+package com.eduzk.model.dao.impl.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+public final class CodecSupport {
+
+    private static final long NULL_TEMPORAL = Long.MIN_VALUE;
+
+    private CodecSupport() {
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeDate(DataOutput out, LocalDate value) throws IOException {
+        out.writeLong(value != null ? value.toEpochDay() : NULL_TEMPORAL);
+    }
+
+    public static LocalDate readDate(DataInput in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay == NULL_TEMPORAL ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public static void writeTime(DataOutput out, LocalTime value) throws IOException {
+        out.writeLong(value != null ? value.toNanoOfDay() : NULL_TEMPORAL);
+    }
+
+    public static LocalTime readTime(DataInput in) throws IOException {
+        long nanoOfDay = in.readLong();
+        return nanoOfDay == NULL_TEMPORAL ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+    }
+
+    public static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        if (value == null) {
+            out.writeLong(NULL_TEMPORAL);
+            return;
+        }
+        out.writeLong(value.toLocalDate().toEpochDay());
+        out.writeLong(value.toLocalTime().toNanoOfDay());
+    }
+
+    public static LocalDateTime readDateTime(DataInput in) throws IOException {
+        long epochDay = in.readLong();
+        if (epochDay == NULL_TEMPORAL) {
+            return null;
+        }
+        return LocalDateTime.of(LocalDate.ofEpochDay(epochDay), LocalTime.ofNanoOfDay(in.readLong()));
+    }
+
+    public static void writeNullableInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    public static Integer readNullableInt(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    public static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        writeString(out, value != null ? value.name() : null);
+    }
+
+    public static <E extends Enum<E>> E readEnum(DataInput in, Class<E> type) throws IOException {
+        String name = readString(in);
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Unknown " + type.getSimpleName() + " value '" + name + "' in data file.");
+            return null;
+        }
+    }
+}
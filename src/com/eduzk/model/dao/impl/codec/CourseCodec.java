@@ -0,0 +1,45 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Course;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class CourseCodec implements EntityCodec<Course> {
+
+    public static final CourseCodec INSTANCE = new CourseCodec();
+    private static final int VERSION = 1;
+
+    private CourseCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, Course course) throws IOException {
+        out.writeInt(course.getCourseId());
+        CodecSupport.writeString(out, course.getCourseCode());
+        CodecSupport.writeString(out, course.getCourseName());
+        CodecSupport.writeString(out, course.getDescription());
+        out.writeInt(course.getCredits());
+        CodecSupport.writeString(out, course.getLevel());
+    }
+
+    @Override
+    public Course read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported Course record version " + version);
+        }
+        Course course = new Course();
+        course.setCourseId(in.readInt());
+        course.setCourseCode(CodecSupport.readString(in));
+        course.setCourseName(CodecSupport.readString(in));
+        course.setDescription(CodecSupport.readString(in));
+        course.setCredits(in.readInt());
+        course.setLevel(CodecSupport.readString(in));
+        return course;
+    }
+}
@@ -0,0 +1,76 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.EduClass;
+import java.util.ArrayList;
+import java.util.List;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class EduClassCodec implements EntityCodec<EduClass> {
+
+    public static final EduClassCodec INSTANCE = new EduClassCodec();
+    // Version 2 stores the version of each nested Course/Teacher record; version 1 wrote both at version 1.
+    private static final int VERSION = 2;
+    private static final int V1_NESTED_VERSION = 1;
+
+    private EduClassCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, EduClass eduClass) throws IOException {
+        out.writeInt(eduClass.getClassId());
+        CodecSupport.writeString(out, eduClass.getClassName());
+        out.writeBoolean(eduClass.getCourse() != null);
+        if (eduClass.getCourse() != null) {
+            out.writeShort(CourseCodec.INSTANCE.version());
+            CourseCodec.INSTANCE.write(out, eduClass.getCourse());
+        }
+        out.writeBoolean(eduClass.getPrimaryTeacher() != null);
+        if (eduClass.getPrimaryTeacher() != null) {
+            out.writeShort(TeacherCodec.INSTANCE.version());
+            TeacherCodec.INSTANCE.write(out, eduClass.getPrimaryTeacher());
+        }
+        out.writeInt(eduClass.getMaxCapacity());
+        CodecSupport.writeString(out, eduClass.getAcademicYear());
+        CodecSupport.writeString(out, eduClass.getSemester());
+        List<Integer> studentIds = eduClass.getStudentIds();
+        out.writeInt(studentIds.size());
+        for (Integer studentId : studentIds) {
+            out.writeInt(studentId);
+        }
+    }
+
+    @Override
+    public EduClass read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported EduClass record version " + version);
+        }
+        EduClass eduClass = new EduClass();
+        eduClass.setClassId(in.readInt());
+        eduClass.setClassName(CodecSupport.readString(in));
+        if (in.readBoolean()) {
+            int courseVersion = version >= 2 ? in.readUnsignedShort() : V1_NESTED_VERSION;
+            eduClass.setCourse(CourseCodec.INSTANCE.read(in, courseVersion));
+        }
+        if (in.readBoolean()) {
+            int teacherVersion = version >= 2 ? in.readUnsignedShort() : V1_NESTED_VERSION;
+            eduClass.setPrimaryTeacher(TeacherCodec.INSTANCE.read(in, teacherVersion));
+        }
+        eduClass.setMaxCapacity(in.readInt());
+        eduClass.setAcademicYear(CodecSupport.readString(in));
+        eduClass.setSemester(CodecSupport.readString(in));
+        int studentCount = in.readInt();
+        List<Integer> studentIds = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            studentIds.add(in.readInt());
+        }
+        eduClass.setStudentIds(studentIds);
+        return eduClass;
+    }
+}
@@ -0,0 +1,14 @@
+package com.eduzk.model.dao.impl.codec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface EntityCodec<T> {
+
+    int version();
+
+    void write(DataOutput out, T item) throws IOException;
+
+    T read(DataInput in, int version) throws IOException;
+}
@@ -0,0 +1,117 @@
+package com.eduzk.model.dao.impl.codec;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+public final class EntityFileFormat {
+
+    public static final int MAGIC = 0x455A4B44;
+    public static final int FORMAT_VERSION = 2;
+    public static final int FIRST_CHECKSUMMED_VERSION = 2;
+    public static final int FOOTER_MAGIC = 0x43524343;
+    public static final int FOOTER_BYTES = 8;
+    public static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+    private EntityFileFormat() {
+    }
+
+    public static boolean isBinary(File file) throws IOException {
+        if (!file.exists() || file.length() < 4) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        }
+    }
+
+    public static <T> void writeAll(OutputStream target, List<T> items, EntityCodec<T> codec, ToIntFunction<T> idFunction) throws IOException {
+        CheckedOutputStream checked = new CheckedOutputStream(target, new CRC32C());
+        DataOutputStream out = new DataOutputStream(checked);
+        out.writeInt(MAGIC);
+        out.writeShort(FORMAT_VERSION);
+        out.writeShort(codec.version());
+        out.writeInt(items.size());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream record = new DataOutputStream(buffer);
+        for (T item : items) {
+            buffer.reset();
+            codec.write(record, item);
+            out.writeInt(idFunction.applyAsInt(item));
+            out.writeInt(buffer.size());
+            buffer.writeTo(out);
+        }
+        out.flush();
+        int checksum = (int) checked.getChecksum().getValue();
+        out.writeInt(FOOTER_MAGIC);
+        out.writeInt(checksum);
+        out.flush();
+    }
+
+    public static <T> List<T> readAll(InputStream source, EntityCodec<T> codec) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(source, new CRC32C());
+        DataInputStream in = new DataInputStream(checked);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an entity data file (bad magic number).");
+        }
+        int formatVersion = in.readUnsignedShort();
+        if (formatVersion > FORMAT_VERSION) {
+            throw new IOException("Unsupported entity file format version " + formatVersion);
+        }
+        int codecVersion = in.readUnsignedShort();
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Corrupt record count " + count + ".");
+        }
+        List<byte[]> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            in.readInt();
+            int length = in.readInt();
+            if (length < 0 || length > MAX_RECORD_BYTES) {
+                throw new IOException("Corrupt record length " + length + " at record " + i + ".");
+            }
+            byte[] record = new byte[length];
+            in.readFully(record);
+            records.add(record);
+        }
+        if (formatVersion >= FIRST_CHECKSUMMED_VERSION) {
+            int expected = (int) checked.getChecksum().getValue();
+            if (in.readInt() != FOOTER_MAGIC || in.readInt() != expected) {
+                throw new IOException("Checksum mismatch: entity data file is corrupt or incomplete.");
+            }
+        }
+        List<T> items = new ArrayList<>(count);
+        for (byte[] record : records) {
+            items.add(codec.read(new DataInputStream(new ByteArrayInputStream(record)), codecVersion));
+        }
+        return items;
+    }
+
+    public static <T> byte[] encode(T item, EntityCodec<T> codec) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeShort(codec.version());
+        codec.write(out, item);
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T decode(byte[] payload, EntityCodec<T> codec) throws IOException {
+        if (payload.length >= 2 && (((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF)) == JAVA_SERIALIZATION_MAGIC) {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(payload))) {
+                return (T) ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Unknown class in legacy record.", e);
+            }
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int version = in.readUnsignedShort();
+        return codec.read(in, version);
+    }
+}
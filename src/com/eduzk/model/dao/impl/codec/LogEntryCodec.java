@@ -0,0 +1,42 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.LogEntry;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class LogEntryCodec implements EntityCodec<LogEntry> {
+
+    public static final LogEntryCodec INSTANCE = new LogEntryCodec();
+    private static final int VERSION = 1;
+
+    private LogEntryCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, LogEntry entry) throws IOException {
+        CodecSupport.writeDateTime(out, entry.getTimestamp());
+        CodecSupport.writeString(out, entry.getUsername());
+        CodecSupport.writeString(out, entry.getUserRole());
+        CodecSupport.writeString(out, entry.getAction());
+        CodecSupport.writeString(out, entry.getDetails());
+    }
+
+    @Override
+    public LogEntry read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported LogEntry record version " + version);
+        }
+        return new LogEntry(
+                CodecSupport.readDateTime(in),
+                CodecSupport.readString(in),
+                CodecSupport.readString(in),
+                CodecSupport.readString(in),
+                CodecSupport.readString(in));
+    }
+}
@@ -0,0 +1,45 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Room;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class RoomCodec implements EntityCodec<Room> {
+
+    public static final RoomCodec INSTANCE = new RoomCodec();
+    private static final int VERSION = 1;
+
+    private RoomCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, Room room) throws IOException {
+        out.writeInt(room.getRoomId());
+        CodecSupport.writeString(out, room.getRoomNumber());
+        CodecSupport.writeString(out, room.getBuilding());
+        out.writeInt(room.getCapacity());
+        CodecSupport.writeString(out, room.getType());
+        out.writeBoolean(room.isAvailable());
+    }
+
+    @Override
+    public Room read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported Room record version " + version);
+        }
+        Room room = new Room();
+        room.setRoomId(in.readInt());
+        room.setRoomNumber(CodecSupport.readString(in));
+        room.setBuilding(CodecSupport.readString(in));
+        room.setCapacity(in.readInt());
+        room.setType(CodecSupport.readString(in));
+        room.setAvailable(in.readBoolean());
+        return room;
+    }
+}
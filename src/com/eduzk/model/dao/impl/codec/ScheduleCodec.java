@@ -0,0 +1,47 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Schedule;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class ScheduleCodec implements EntityCodec<Schedule> {
+
+    public static final ScheduleCodec INSTANCE = new ScheduleCodec();
+    private static final int VERSION = 1;
+
+    private ScheduleCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, Schedule schedule) throws IOException {
+        out.writeInt(schedule.getScheduleId());
+        out.writeInt(schedule.getClassId());
+        out.writeInt(schedule.getTeacherId());
+        out.writeInt(schedule.getRoomId());
+        CodecSupport.writeDate(out, schedule.getDate());
+        CodecSupport.writeTime(out, schedule.getStartTime());
+        CodecSupport.writeTime(out, schedule.getEndTime());
+    }
+
+    @Override
+    public Schedule read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported Schedule record version " + version);
+        }
+        Schedule schedule = new Schedule();
+        schedule.setScheduleId(in.readInt());
+        schedule.setClassId(in.readInt());
+        schedule.setTeacherId(in.readInt());
+        schedule.setRoomId(in.readInt());
+        schedule.setDate(CodecSupport.readDate(in));
+        schedule.setStartTime(CodecSupport.readTime(in));
+        schedule.setEndTime(CodecSupport.readTime(in));
+        return schedule;
+    }
+}
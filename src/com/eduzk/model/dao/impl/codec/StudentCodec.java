@@ -0,0 +1,49 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Student;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class StudentCodec implements EntityCodec<Student> {
+
+    public static final StudentCodec INSTANCE = new StudentCodec();
+    private static final int VERSION = 1;
+
+    private StudentCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, Student student) throws IOException {
+        out.writeInt(student.getStudentId());
+        CodecSupport.writeString(out, student.getFullName());
+        CodecSupport.writeDate(out, student.getDateOfBirth());
+        CodecSupport.writeString(out, student.getGender());
+        CodecSupport.writeString(out, student.getAddress());
+        CodecSupport.writeString(out, student.getParentName());
+        CodecSupport.writeString(out, student.getPhone());
+        CodecSupport.writeString(out, student.getEmail());
+    }
+
+    @Override
+    public Student read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported Student record version " + version);
+        }
+        Student student = new Student();
+        student.setStudentId(in.readInt());
+        student.setFullName(CodecSupport.readString(in));
+        student.setDateOfBirth(CodecSupport.readDate(in));
+        student.setGender(CodecSupport.readString(in));
+        student.setAddress(CodecSupport.readString(in));
+        student.setParentName(CodecSupport.readString(in));
+        student.setPhone(CodecSupport.readString(in));
+        student.setEmail(CodecSupport.readString(in));
+        return student;
+    }
+}
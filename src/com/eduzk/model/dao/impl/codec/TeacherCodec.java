@@ -0,0 +1,49 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Teacher;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class TeacherCodec implements EntityCodec<Teacher> {
+
+    public static final TeacherCodec INSTANCE = new TeacherCodec();
+    private static final int VERSION = 1;
+
+    private TeacherCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, Teacher teacher) throws IOException {
+        out.writeInt(teacher.getTeacherId());
+        CodecSupport.writeString(out, teacher.getFullName());
+        CodecSupport.writeDate(out, teacher.getDateOfBirth());
+        CodecSupport.writeString(out, teacher.getGender());
+        CodecSupport.writeString(out, teacher.getSpecialization());
+        CodecSupport.writeString(out, teacher.getPhone());
+        CodecSupport.writeString(out, teacher.getEmail());
+        out.writeBoolean(teacher.isActive());
+    }
+
+    @Override
+    public Teacher read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported Teacher record version " + version);
+        }
+        Teacher teacher = new Teacher();
+        teacher.setTeacherId(in.readInt());
+        teacher.setFullName(CodecSupport.readString(in));
+        teacher.setDateOfBirth(CodecSupport.readDate(in));
+        teacher.setGender(CodecSupport.readString(in));
+        teacher.setSpecialization(CodecSupport.readString(in));
+        teacher.setPhone(CodecSupport.readString(in));
+        teacher.setEmail(CodecSupport.readString(in));
+        teacher.setActive(in.readBoolean());
+        return teacher;
+    }
+}
@@ -0,0 +1,50 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Role;
+import com.eduzk.model.entities.User;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class UserCodec implements EntityCodec<User> {
+
+    public static final UserCodec INSTANCE = new UserCodec();
+    private static final int VERSION = 1;
+
+    private UserCodec() {
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public void write(DataOutput out, User user) throws IOException {
+        out.writeInt(user.getUserId());
+        CodecSupport.writeString(out, user.getUsername());
+        CodecSupport.writeString(out, user.getPassword());
+        CodecSupport.writeEnum(out, user.getRole());
+        out.writeBoolean(user.isActive());
+        CodecSupport.writeNullableInt(out, user.getTeacherId());
+        CodecSupport.writeNullableInt(out, user.getStudentId());
+        out.writeBoolean(user.isRequiresPasswordChange());
+    }
+
+    @Override
+    public User read(DataInput in, int version) throws IOException {
+        if (version > VERSION) {
+            throw new IOException("Unsupported User record version " + version);
+        }
+        User user = new User();
+        user.setUserId(in.readInt());
+        user.setUsername(CodecSupport.readString(in));
+        user.setPassword(CodecSupport.readString(in));
+        user.setRole(CodecSupport.readEnum(in, Role.class));
+        user.setActive(in.readBoolean());
+        user.setTeacherId(CodecSupport.readNullableInt(in));
+        user.setStudentId(CodecSupport.readNullableInt(in));
+        user.setRequiresPasswordChange(in.readBoolean());
+        return user;
+    }
+}
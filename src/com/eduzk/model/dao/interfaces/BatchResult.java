@@ -0,0 +1,89 @@
+package com.eduzk.model.dao.interfaces;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public final class BatchResult<T> {
+
+    private final List<Outcome<T>> outcomes;
+
+    public BatchResult(List<Outcome<T>> outcomes) {
+        this.outcomes = Collections.unmodifiableList(new ArrayList<>(outcomes));
+    }
+
+    public static <T> BatchResult<T> empty() {
+        return new BatchResult<>(Collections.emptyList());
+    }
+
+    public List<Outcome<T>> getOutcomes() {
+        return outcomes;
+    }
+
+    public List<T> getSucceeded() {
+        return outcomes.stream()
+                .filter(Outcome::isSuccess)
+                .map(Outcome::getItem)
+                .collect(Collectors.toList());
+    }
+
+    public List<Outcome<T>> getFailures() {
+        return outcomes.stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .collect(Collectors.toList());
+    }
+
+    public int getSuccessCount() {
+        return (int) outcomes.stream().filter(Outcome::isSuccess).count();
+    }
+
+    public int getFailureCount() {
+        return outcomes.size() - getSuccessCount();
+    }
+
+    public boolean hasFailures() {
+        return outcomes.stream().anyMatch(outcome -> !outcome.isSuccess());
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{succeeded=" + getSuccessCount() + ", failed=" + getFailureCount() + '}';
+    }
+
+    public static final class Outcome<T> {
+        private final int index;
+        private final T item;
+        private final String errorMessage;
+
+        private Outcome(int index, T item, String errorMessage) {
+            this.index = index;
+            this.item = item;
+            this.errorMessage = errorMessage;
+        }
+
+        public static <T> Outcome<T> success(int index, T item) {
+            return new Outcome<>(index, item, null);
+        }
+
+        public static <T> Outcome<T> failure(int index, T item, String errorMessage) {
+            return new Outcome<>(index, item, errorMessage != null ? errorMessage : "Unknown error.");
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public boolean isSuccess() {
+            return errorMessage == null;
+        }
+
+        public String getErrorMessage() {
+            return errorMessage;
+        }
+    }
+}
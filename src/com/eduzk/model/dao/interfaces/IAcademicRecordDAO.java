@@ -8,6 +8,11 @@ import java.util.Optional;
 public interface IAcademicRecordDAO {
     Optional<AcademicRecord> findByStudentAndClass(int studentId, int classId);
     List<AcademicRecord> findAllByStudentId(int studentId);
+    List<AcademicRecord> findAllByClassId(int classId);
     void addOrUpdate(AcademicRecord record) throws DataAccessException;
     void delete(int recordId) throws DataAccessException;
+    void flush() throws DataAccessException;
+    BatchResult<AcademicRecord> addAll(List<AcademicRecord> records) throws DataAccessException;
+    BatchResult<AcademicRecord> updateAll(List<AcademicRecord> records) throws DataAccessException;
+    BatchResult<AcademicRecord> upsertAll(List<AcademicRecord> records) throws DataAccessException;
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package com.eduzk.model.dao.interfaces;
 import com.eduzk.model.entities.Assignment;
 import com.eduzk.model.exceptions.DataAccessException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface IAssignmentDAO {
@@ -11,6 +13,13 @@ public interface IAssignmentDAO {
 
     List<Assignment> findByClassId(int classId) throws DataAccessException;
 
+    List<Assignment> findByClassIds(Collection<Integer> classIds) throws DataAccessException;
+
+    // Due in [from, to); a null bound is open, and assignments without a due date only match an open upper bound.
+    List<Assignment> findDueBetween(Collection<Integer> classIds, LocalDateTime from, LocalDateTime to) throws DataAccessException;
+
+    List<Assignment> findOverdue(Collection<Integer> classIds, LocalDateTime asOf) throws DataAccessException;
+
     List<Assignment> getAll() throws DataAccessException;
 
     void add(Assignment assignment) throws DataAccessException;
@@ -19,4 +28,9 @@ public interface IAssignmentDAO {
 
     void delete(int id) throws DataAccessException;
 
+    BatchResult<Assignment> addAll(List<Assignment> assignments) throws DataAccessException;
+
+    BatchResult<Assignment> updateAll(List<Assignment> assignments) throws DataAccessException;
+
+    BatchResult<Assignment> upsertAll(List<Assignment> assignments) throws DataAccessException;
 }
\ No newline at end of file
@@ -20,4 +20,10 @@ public interface ICourseDAO {
     void update(Course course) throws DataAccessException;
 
     void delete(int id) throws DataAccessException;
+
+    BatchResult<Course> addAll(List<Course> courses) throws DataAccessException;
+
+    BatchResult<Course> updateAll(List<Course> courses) throws DataAccessException;
+
+    BatchResult<Course> upsertAll(List<Course> courses) throws DataAccessException;
 }
\ No newline at end of file
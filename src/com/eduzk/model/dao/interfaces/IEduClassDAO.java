@@ -28,4 +28,10 @@ public interface IEduClassDAO {
 
     int addStudentsToClass(int classId, List<Integer> studentIds) throws DataAccessException;
     int removeStudentsFromClass(int classId, List<Integer> studentIds) throws DataAccessException;
+
+    BatchResult<EduClass> addAll(List<EduClass> eduClasses) throws DataAccessException;
+
+    BatchResult<EduClass> updateAll(List<EduClass> eduClasses) throws DataAccessException;
+
+    BatchResult<EduClass> upsertAll(List<EduClass> eduClasses) throws DataAccessException;
 }
\ No newline at end of file
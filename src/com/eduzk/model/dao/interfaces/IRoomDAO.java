@@ -20,4 +20,10 @@ public interface IRoomDAO {
     void update(Room room) throws DataAccessException;
 
     void delete(int id) throws DataAccessException;
+
+    BatchResult<Room> addAll(List<Room> rooms) throws DataAccessException;
+
+    BatchResult<Room> updateAll(List<Room> rooms) throws DataAccessException;
+
+    BatchResult<Room> upsertAll(List<Room> rooms) throws DataAccessException;
 }
\ No newline at end of file
@@ -28,4 +28,10 @@ public interface IScheduleDAO {
     void delete(int id) throws DataAccessException;
 
     List<Schedule> getAllSchedules() throws DataAccessException;
+
+    BatchResult<Schedule> addAll(List<Schedule> schedules) throws DataAccessException;
+
+    BatchResult<Schedule> updateAll(List<Schedule> schedules) throws DataAccessException;
+
+    BatchResult<Schedule> upsertAll(List<Schedule> schedules) throws DataAccessException;
 }
\ No newline at end of file
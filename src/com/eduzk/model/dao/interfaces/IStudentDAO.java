@@ -8,6 +8,7 @@ import java.util.Optional;
 public interface IStudentDAO {
     Student getById(int id);
     List<Student> findByName(String name);
+    List<Student> search(String query, int limit);
     List<Student> getAll();
     void add(Student student) throws DataAccessException;
     void update(Student student) throws DataAccessException;
@@ -15,4 +16,7 @@ public interface IStudentDAO {
     Optional<Student> findByPhone(String phone);
     int deleteByIds(List<Integer> ids) throws DataAccessException;
     List<Student> getStudentsByClassId(int classId) throws DataAccessException;
+    BatchResult<Student> addAll(List<Student> students) throws DataAccessException;
+    BatchResult<Student> updateAll(List<Student> students) throws DataAccessException;
+    BatchResult<Student> upsertAll(List<Student> students) throws DataAccessException;
 }
\ No newline at end of file
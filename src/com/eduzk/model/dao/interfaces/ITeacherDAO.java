@@ -10,6 +10,8 @@ public interface ITeacherDAO {
 
     List<Teacher> findBySpecialization(String specialization);
 
+    List<Teacher> search(String query, int limit);
+
     List<Teacher> getAll();
 
     void add(Teacher teacher) throws DataAccessException;
@@ -19,4 +21,10 @@ public interface ITeacherDAO {
     void delete(int id) throws DataAccessException;
 
     int deleteMultiple(List<Integer> ids) throws DataAccessException;
+
+    BatchResult<Teacher> addAll(List<Teacher> teachers) throws DataAccessException;
+
+    BatchResult<Teacher> updateAll(List<Teacher> teachers) throws DataAccessException;
+
+    BatchResult<Teacher> upsertAll(List<Teacher> teachers) throws DataAccessException;
 }
\ No newline at end of file
@@ -22,4 +22,10 @@ public interface IUserDAO {
 
     Optional<User> findByStudentId(int studentId);
     Optional<User> findByTeacherId(int teacherId);
+
+    BatchResult<User> addAll(List<User> users) throws DataAccessException;
+
+    BatchResult<User> updateAll(List<User> users) throws DataAccessException;
+
+    BatchResult<User> upsertAll(List<User> users) throws DataAccessException;
 }
\ No newline at end of file
@@ -2,7 +2,20 @@ package com.eduzk.model.dao.interfaces;
 
 import com.eduzk.model.entities.LogEntry;
 import java.util.EventListener;
+import java.util.List;
 
 public interface LogEventListener extends EventListener {
     void logAdded(LogEntry newLogEntry);
+
+    // Entries written together are delivered together, on the log writer thread.
+    default void logsAdded(List<LogEntry> newLogEntries) {
+        for (LogEntry entry : newLogEntries) {
+            logAdded(entry);
+        }
+    }
+
+    // lastSequence numbers the last entry of the batch in write order this run; compare it with LogPage.getSequence().
+    default void logsAdded(List<LogEntry> newLogEntries, long lastSequence) {
+        logsAdded(newLogEntries);
+    }
 }
\ No newline at end of file
@@ -1,21 +1,27 @@
 package com.eduzk.view.panels;
 
 import com.eduzk.controller.LogController;
+import com.eduzk.model.dao.impl.LogPage;
+import com.eduzk.model.dao.impl.LogQuery;
 import com.eduzk.model.entities.LogEntry;
 import com.eduzk.model.entities.Role;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Vector;
 
 public class LogsPanel extends JPanel {
 
     private LogController controller;
     private JTable logTable;
-    private DefaultTableModel tableModel;
-    private TableRowSorter<DefaultTableModel> sorter;
+    private LogTableModel tableModel;
+    private TableRowSorter<LogTableModel> sorter;
+    private JScrollPane scrollPane;
+    private static final int PAGE_SIZE = LogQuery.DEFAULT_PAGE_SIZE;
+    private boolean hasMoreLogs;
 
     public LogsPanel() {
         setLayout(new BorderLayout(10, 10));
@@ -30,35 +36,30 @@ public class LogsPanel extends JPanel {
             this.controller.setLogsPanel(this);
             System.out.println("LogsPanel: Controller has been set.");
         } else {
-            tableModel.setRowCount(0);
+            tableModel.setEntries(Collections.emptyList());
+            hasMoreLogs = false;
             System.out.println("LogsPanel: Controller set to null, table cleared.");
         }
     }
 
     private void initComponents() {
-        tableModel = new DefaultTableModel(
-                new Object[]{"Timestamp", "User", "Role", "Action", "Details"}, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Log không cho sửa
-            }
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 0) {
-                    return String.class;
-                }
-                return super.getColumnClass(columnIndex);
-            }
-        };
+        tableModel = new LogTableModel();
         logTable = new JTable(tableModel);
         logTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         logTable.setAutoCreateRowSorter(true); // Cho phép sort
-        sorter = (TableRowSorter<DefaultTableModel>) logTable.getRowSorter();
+        sorter = (TableRowSorter<LogTableModel>) logTable.getRowSorter();
     }
 
     private void setupLayout() {
-        JScrollPane scrollPane = new JScrollPane(logTable);
+        scrollPane = new JScrollPane(logTable);
         add(scrollPane, BorderLayout.CENTER);
+        // Nạp thêm một trang khi cuộn gần cuối bảng
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = scrollPane.getVerticalScrollBar();
+            if (!e.getValueIsAdjusting() && hasMoreLogs && bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - logTable.getRowHeight() * 20) {
+                loadNextPage();
+            }
+        });
 
         // Điều chỉnh cột (giữ nguyên)
         logTable.getColumnModel().getColumn(0).setPreferredWidth(140);
@@ -71,12 +72,40 @@ public class LogsPanel extends JPanel {
     public void refreshTable() {
         if (controller == null) {
             System.err.println("LogsPanel: Cannot refresh, controller is null.");
-            tableModel.setRowCount(0); // Xóa bảng
+            tableModel.setEntries(Collections.emptyList()); // Xóa bảng
             return;
         }
         System.out.println("LogsPanel: Refreshing table data requested by controller...");
-        List<LogEntry> logs = controller.getAllLogsForDisplay();
-        populateTable(logs);
+        // Giữ nguyên số dòng đã nạp để không mất vị trí cuộn
+        int rows = Math.max(PAGE_SIZE, tableModel.getRowCount());
+        LogPage page = controller.queryLogsForDisplay(new LogQuery().page(0, rows));
+        hasMoreLogs = page.hasMore();
+        populateTable(page.getEntries());
+        // Log đang chờ mà trang vừa truy vấn đã chứa sẽ bị bỏ qua, chỉ log mới hơn được thêm lên đầu bảng
+        controller.markShown(page);
+        prependNewEntries(controller.takePendingEntries());
+    }
+
+    private void loadNextPage() {
+        if (controller == null) {
+            return;
+        }
+        // Đưa log mới lên bảng trước, rồi truy vấn theo đúng thời điểm bảng đang hiển thị để offset không bị lệch
+        prependNewEntries(controller.takePendingEntries());
+        int loaded = tableModel.getRowCount();
+        LogPage page = controller.queryLogsForDisplay(new LogQuery().asOf(controller.getShownThrough()).page(loaded, PAGE_SIZE));
+        hasMoreLogs = page.hasMore();
+        tableModel.appendOlder(page.getEntries());
+    }
+
+    // Live tail: newEntries are oldest first and end up at the top of the table in one insert event.
+    public void prependNewEntries(List<LogEntry> newEntries) {
+        if (newEntries.isEmpty()) {
+            return;
+        }
+        List<LogEntry> newestFirst = new ArrayList<>(newEntries);
+        Collections.reverse(newestFirst);
+        tableModel.prependNewer(newestFirst);
     }
 
     private void populateTable(List<LogEntry> logs) {
@@ -85,19 +114,10 @@ public class LogsPanel extends JPanel {
             sortKeys = sorter.getSortKeys();
         }
 
-        tableModel.setRowCount(0);
+        tableModel.setEntries(logs != null ? logs : Collections.emptyList());
 
         if (logs != null && !logs.isEmpty()) {
             System.out.println("LogsPanel: Populating table with " + logs.size() + " entries.");
-            for (LogEntry entry : logs) {
-                Vector<Object> row = new Vector<>();
-                row.add(entry.getFormattedTimestamp());
-                row.add(entry.getUsername());
-                row.add(entry.getUserRole());
-                row.add(entry.getAction());
-                row.add(entry.getDetails());
-                tableModel.addRow(row);
-            }
         } else {
             System.out.println("LogsPanel: No log entries to populate.");
         }
@@ -117,7 +137,72 @@ public class LogsPanel extends JPanel {
             System.out.println("LogsPanel: Configured for Admin, requesting initial data load via controller.");
             controller.requestPanelRefresh();
         } else if (!isAdmin) {
-            tableModel.setRowCount(0);
+            tableModel.setEntries(Collections.emptyList());
+        }
+    }
+
+    // Rows are LogEntry objects, newest first; every change fires a single ranged event.
+    private static class LogTableModel extends AbstractTableModel {
+        private static final long serialVersionUID = 1L;
+        private static final String[] COLUMNS = {"Timestamp", "User", "Role", "Action", "Details"};
+        private final List<LogEntry> entries = new ArrayList<>();
+
+        void setEntries(List<LogEntry> newEntries) {
+            entries.clear();
+            entries.addAll(newEntries);
+            fireTableDataChanged();
+        }
+
+        void prependNewer(List<LogEntry> newestFirst) {
+            entries.addAll(0, newestFirst);
+            fireTableRowsInserted(0, newestFirst.size() - 1);
+        }
+
+        void appendOlder(List<LogEntry> older) {
+            if (older.isEmpty()) {
+                return;
+            }
+            int first = entries.size();
+            entries.addAll(older);
+            fireTableRowsInserted(first, entries.size() - 1);
+        }
+
+        @Override
+        public int getRowCount() {
+            return entries.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            return String.class;
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false; // Log không cho sửa
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            LogEntry entry = entries.get(rowIndex);
+            switch (columnIndex) {
+                case 0: return entry.getFormattedTimestamp();
+                case 1: return entry.getUsername();
+                case 2: return entry.getUserRole();
+                case 3: return entry.getAction();
+                case 4: return entry.getDetails();
+                default: return null;
+            }
         }
     }
 }
\ No newline at end of file
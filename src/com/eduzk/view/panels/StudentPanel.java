@@ -84,7 +84,8 @@ public class StudentPanel extends JPanel {
 
         // Search Components
         searchField = new JTextField(20);
-        searchButton = new JButton("Search by Name");
+        searchButton = new JButton("Search");
+        searchButton.setToolTipText("Search by name, phone or email (accents optional)");
 
     }
 
@@ -199,7 +200,7 @@ public class StudentPanel extends JPanel {
             students = controller.getAllStudents();
             sorter.setRowFilter(null);
         } else {
-            students = controller.searchStudentsByName(searchText);
+            students = controller.searchStudents(searchText);
         }
         populateTable(students);
     }
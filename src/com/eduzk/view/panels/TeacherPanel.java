@@ -88,7 +88,8 @@ public class TeacherPanel extends JPanel {
         importButton.setToolTipText("Import teachers data from an Excel file (.xlsx)");
 
         searchField = new JTextField(20);
-        searchButton = new JButton("Search by Specialization");
+        searchButton = new JButton("Search");
+        searchButton.setToolTipText("Search by name, specialization, phone or email (accents optional)");
     }
 
     private void setupLayout() {
@@ -199,7 +200,7 @@ public class TeacherPanel extends JPanel {
             teachers = controller.getAllTeachers();
             sorter.setRowFilter(null);
         } else {
-            teachers = controller.searchTeachersBySpecialization(searchText);
+            teachers = controller.searchTeachers(searchText);
         }
         populateTable(teachers);
     }
@@ -0,0 +1,98 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Assignment;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssignmentDueIndexTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 9, 8, 0, 0);
+
+    @Test
+    void classListsAreOrderedByDueThenCreationThenId() {
+        AssignmentDueIndex index = new AssignmentDueIndex("due");
+        put(index, assignment(5, 1, null, 0));
+        put(index, assignment(4, 1, MONDAY.plusDays(2), 0));
+        put(index, assignment(3, 1, MONDAY.plusDays(1), 2));
+        put(index, assignment(2, 1, MONDAY.plusDays(1), 1));
+        put(index, assignment(1, 1, MONDAY.plusDays(1), 1));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), ids(index.forClass(1)));
+        assertTrue(index.forClass(2).isEmpty());
+    }
+
+    @Test
+    void mergesClassesIntoOneDueOrder() {
+        AssignmentDueIndex index = new AssignmentDueIndex("due");
+        put(index, assignment(1, 10, MONDAY.plusDays(1), 0));
+        put(index, assignment(2, 20, MONDAY.plusDays(2), 0));
+        put(index, assignment(3, 10, MONDAY.plusDays(3), 0));
+        put(index, assignment(4, 30, MONDAY.plusDays(1), 0));
+        put(index, assignment(5, 20, null, 0));
+        put(index, assignment(6, 10, null, 0));
+        put(index, assignment(7, 40, MONDAY, 0));
+
+        assertEquals(Arrays.asList(1, 4, 2, 3, 5, 6), ids(index.forClasses(Arrays.asList(30, 20, 10, 99), null, null)));
+        // Repeated and unknown class ids add nothing.
+        assertEquals(Arrays.asList(1, 3, 6), ids(index.forClasses(Arrays.asList(10, 10, null), null, null)));
+        assertTrue(index.forClasses(Collections.emptyList(), null, null).isEmpty());
+    }
+
+    @Test
+    void dueRangesIncludeTheStartButNotTheEnd() {
+        AssignmentDueIndex index = new AssignmentDueIndex("due");
+        put(index, assignment(1, 10, MONDAY.plusDays(1), 0));
+        put(index, assignment(2, 20, MONDAY.plusDays(2), 0));
+        put(index, assignment(3, 10, MONDAY.plusDays(3), 0));
+        put(index, assignment(4, 20, null, 0));
+        List<Integer> both = Arrays.asList(10, 20);
+
+        assertEquals(Arrays.asList(1, 2), ids(index.forClasses(both, MONDAY.plusDays(1), MONDAY.plusDays(3))));
+        assertEquals(Collections.singletonList(1), ids(index.forClasses(both, null, MONDAY.plusDays(2))));
+        // An open upper bound keeps undated assignments, a closed one drops them.
+        assertEquals(Arrays.asList(3, 4), ids(index.forClasses(both, MONDAY.plusDays(3), null)));
+        assertTrue(index.forClasses(both, MONDAY.plusDays(2), MONDAY.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    void rescheduledAssignmentsMoveWithinAndAcrossClasses() {
+        AssignmentDueIndex index = new AssignmentDueIndex("due");
+        Assignment moving = assignment(1, 10, MONDAY.plusDays(1), 0);
+        put(index, moving);
+        put(index, assignment(2, 10, MONDAY.plusDays(2), 0));
+
+        moving.setDueDateTime(MONDAY.plusDays(5));
+        put(index, moving);
+        assertEquals(Arrays.asList(2, 1), ids(index.forClass(10)));
+
+        moving.setEduClassId(20);
+        put(index, moving);
+        assertEquals(Collections.singletonList(2), ids(index.forClass(10)));
+        assertEquals(Collections.singletonList(1), ids(index.forClass(20)));
+
+        index.remove(1);
+        assertTrue(index.forClass(20).isEmpty());
+        assertEquals(Collections.singletonList(2), ids(index.forClasses(Arrays.asList(10, 20), null, null)));
+    }
+
+    private static void put(AssignmentDueIndex index, Assignment assignment) {
+        index.put(assignment.getAssignmentId(), assignment);
+    }
+
+    private static Assignment assignment(int id, int classId, LocalDateTime due, int createdMinute) {
+        Assignment assignment = new Assignment(id, classId, "Bài " + id, null, due);
+        assignment.setCreatedAt(MONDAY.minusDays(7).plusMinutes(createdMinute));
+        return assignment;
+    }
+
+    private static List<Integer> ids(List<Assignment> assignments) {
+        return assignments.stream().map(Assignment::getAssignmentId).collect(Collectors.toList());
+    }
+}
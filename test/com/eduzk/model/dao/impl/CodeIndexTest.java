@@ -0,0 +1,109 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.interfaces.BatchResult;
+import com.eduzk.model.entities.Course;
+import com.eduzk.model.entities.Room;
+import com.eduzk.model.exceptions.DataAccessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeIndexTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void courseCodesDifferingOnlyInCaseOrSpacesClash() {
+        CourseDAOImpl courses = new CourseDAOImpl(new File(dir, "courses.dat").getPath(), ids());
+        courses.setWriteBehindWindow(0);
+        Course math = new Course(0, "MATH10", "Toán 10", null, 4, "10");
+        Course physics = new Course(0, "PHYS10", "Vật lý 10", null, 3, "10");
+        courses.add(math);
+        courses.add(physics);
+
+        assertThrows(DataAccessException.class, () -> courses.add(new Course(0, "math10", "Toán", null, 4, "10")));
+        assertThrows(DataAccessException.class, () -> courses.add(new Course(0, "  Math10 ", "Toán", null, 4, "10")));
+        assertEquals(math.getCourseId(), courses.findByCode(" math10").get().getCourseId());
+        assertFalse(courses.findByCode("MATH 10").isPresent());
+
+        // A course may change the case of its own code, but not take another course's.
+        math.setCourseCode("math10 ");
+        courses.update(math);
+        Course renamed = new Course(physics.getCourseId(), "Math10", "Vật lý 10", null, 3, "10");
+        assertThrows(DataAccessException.class, () -> courses.update(renamed));
+        assertEquals(physics.getCourseId(), courses.findByCode("phys10").get().getCourseId());
+
+        courses.delete(math.getCourseId());
+        courses.add(new Course(0, "MATH10", "Toán 10", null, 4, "10"));
+        assertEquals(2, courses.getAll().size());
+    }
+
+    @Test
+    void batchesCheckCodesAgainstEarlierItemsInTheSameBatch() {
+        CourseDAOImpl courses = new CourseDAOImpl(new File(dir, "courses.dat").getPath(), ids());
+        courses.setWriteBehindWindow(0);
+        courses.add(new Course(0, "MATH10", "Toán 10", null, 4, "10"));
+
+        BatchResult<Course> result = courses.addAll(Arrays.asList(
+                new Course(0, "CHEM10", "Hóa 10", null, 3, "10"),
+                new Course(0, "chem10 ", "Hóa", null, 3, "10"),
+                new Course(0, " Math10", "Toán", null, 4, "10")));
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(Arrays.asList(1, 2), result.getFailures().stream().map(BatchResult.Outcome::getIndex).collect(Collectors.toList()));
+        assertEquals(2, courses.getAll().size());
+    }
+
+    @Test
+    void roomNumbersAreUniqueIgnoringCaseAndSpaces() {
+        String path = new File(dir, "rooms.dat").getPath();
+        IdGenerator ids = ids();
+        RoomDAOImpl rooms = new RoomDAOImpl(path, ids);
+        rooms.setWriteBehindWindow(0);
+        Room lab = new Room(0, "A101", "A", 30, "Lab");
+        rooms.add(lab);
+
+        assertThrows(DataAccessException.class, () -> rooms.add(new Room(0, " a101", "A", 40, "Lecture")));
+        lab.setRoomNumber("a101");
+        rooms.update(lab);
+
+        RoomDAOImpl reloaded = new RoomDAOImpl(path, ids);
+        assertEquals(lab.getRoomId(), reloaded.findByRoomNumber("A101 ").get().getRoomId());
+        assertThrows(DataAccessException.class, () -> reloaded.add(new Room(0, "A101", "A", 40, "Lecture")));
+    }
+
+    @Test
+    void capacityQueriesReturnRoomsFromSmallestFit() {
+        RoomDAOImpl rooms = new RoomDAOImpl(new File(dir, "rooms.dat").getPath(), ids());
+        rooms.setWriteBehindWindow(0);
+        Room small = new Room(0, "A101", "A", 20, "Lecture");
+        Room large = new Room(0, "A102", "A", 60, "Hall");
+        Room medium = new Room(0, "A103", "A", 40, "Lecture");
+        for (Room room : Arrays.asList(small, large, medium)) {
+            rooms.add(room);
+        }
+
+        assertEquals(Arrays.asList(medium.getRoomId(), large.getRoomId()), roomIds(rooms.findByCapacity(40)));
+        assertEquals(3, rooms.findByCapacity(0).size());
+        assertTrue(rooms.findByCapacity(61).isEmpty());
+
+        small.setCapacity(80);
+        rooms.update(small);
+        assertEquals(Arrays.asList(large.getRoomId(), small.getRoomId()), roomIds(rooms.findByCapacity(50)));
+    }
+
+    private IdGenerator ids() {
+        return new IdGenerator(new File(dir, "ids.dat").getPath());
+    }
+
+    private static List<Integer> roomIds(List<Room> rooms) {
+        return rooms.stream().map(Room::getRoomId).collect(Collectors.toList());
+    }
+}
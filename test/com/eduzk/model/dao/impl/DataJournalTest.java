@@ -0,0 +1,193 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Role;
+import com.eduzk.model.entities.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataJournalTest {
+
+    @TempDir
+    File dir;
+
+    private static final class Recorder implements DataJournal.Visitor {
+        final List<String> seen = new ArrayList<>();
+
+        @Override
+        public void put(int id, byte[] payload) {
+            seen.add("put " + id + " " + new String(payload));
+        }
+
+        @Override
+        public void remove(int id) {
+            seen.add("remove " + id);
+        }
+    }
+
+    private static DataJournal.Record put(int id, String payload) {
+        return new DataJournal.Record(DataJournal.OP_PUT, id, payload.getBytes());
+    }
+
+    @Test
+    void replaysRecordsInOrder() throws IOException {
+        DataJournal journal = new DataJournal(new File(dir, "a.journal").getPath());
+        journal.append(Arrays.asList(put(1, "one"), put(2, "two")));
+        journal.append(Arrays.asList(new DataJournal.Record(DataJournal.OP_REMOVE, 1, null), put(2, "two'")));
+
+        Recorder recorder = new Recorder();
+        assertEquals(4, journal.replay(recorder));
+        assertEquals(Arrays.asList("put 1 one", "put 2 two", "remove 1", "put 2 two'"), recorder.seen);
+    }
+
+    @Test
+    void ignoresTornRecordHeader() throws IOException {
+        File file = new File(dir, "b.journal");
+        DataJournal journal = new DataJournal(file.getPath());
+        journal.append(Arrays.asList(put(1, "one"), put(2, "two")));
+        journal.close();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{DataJournal.OP_PUT, 0, 0});
+        }
+
+        Recorder recorder = new Recorder();
+        assertEquals(2, journal.replay(recorder));
+        assertEquals(Arrays.asList("put 1 one", "put 2 two"), recorder.seen);
+    }
+
+    @Test
+    void ignoresTornPayload() throws IOException {
+        File file = new File(dir, "c.journal");
+        DataJournal journal = new DataJournal(file.getPath());
+        journal.append(Arrays.asList(put(1, "one"), put(2, "a longer payload")));
+        journal.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 5);
+        }
+
+        Recorder recorder = new Recorder();
+        assertEquals(1, journal.replay(recorder));
+        assertEquals(Arrays.asList("put 1 one"), recorder.seen);
+    }
+
+    @Test
+    void truncatesZeroFilledTailAndKeepsAppending() throws IOException {
+        File file = new File(dir, "e.journal");
+        DataJournal journal = new DataJournal(file.getPath());
+        journal.append(Arrays.asList(put(1, "one"), put(2, "two")));
+        journal.close();
+        long intact = file.length();
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[64]);
+        }
+
+        assertEquals(2, journal.replay(new Recorder()));
+        assertEquals(intact, file.length());
+
+        journal.append(Arrays.asList(put(3, "three")));
+        Recorder recorder = new Recorder();
+        assertEquals(3, journal.replay(recorder));
+        assertEquals(Arrays.asList("put 1 one", "put 2 two", "put 3 three"), recorder.seen);
+    }
+
+    @Test
+    void stopsAtGarbageLengthOrChecksumMismatch() throws IOException {
+        File file = new File(dir, "f.journal");
+        DataJournal journal = new DataJournal(file.getPath());
+        journal.append(Arrays.asList(put(1, "one")));
+        long first = file.length();
+        journal.append(Arrays.asList(put(2, "two"), put(3, "three")));
+        journal.close();
+
+        // Flip a payload byte of the second record: it and everything after it are dropped.
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(first + 13);
+            raf.write('X');
+        }
+        Recorder recorder = new Recorder();
+        assertEquals(1, journal.replay(recorder));
+        assertEquals(Arrays.asList("put 1 one"), recorder.seen);
+        assertEquals(first, file.length());
+
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            out.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xF0, 1, 2, 3, 4, 5, 6, 7, 8});
+        }
+        assertEquals(1, journal.replay(new Recorder()));
+        assertEquals(first, file.length());
+    }
+
+    @Test
+    void replaysRotatedJournalBeforeCurrent() throws IOException {
+        DataJournal journal = new DataJournal(new File(dir, "d.journal").getPath());
+        journal.append(Arrays.asList(put(1, "old")));
+        journal.rotate();
+        journal.append(Arrays.asList(put(1, "new")));
+
+        Recorder recorder = new Recorder();
+        journal.replay(recorder);
+        assertEquals(Arrays.asList("put 1 old", "put 1 new"), recorder.seen);
+
+        journal.discardRotated();
+        recorder = new Recorder();
+        journal.replay(recorder);
+        assertEquals(Arrays.asList("put 1 new"), recorder.seen);
+    }
+
+    @Test
+    void storeReloadsUpToTornTail() throws IOException {
+        String path = new File(dir, "users.dat").getPath();
+        IdGenerator ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        UserDAOImpl users = new UserDAOImpl(path, ids);
+        users.setWriteBehindWindow(0);
+        users.add(user("alice"));
+        users.add(user("bob"));
+        users.add(user("carol"));
+        users.flush();
+
+        try (RandomAccessFile raf = new RandomAccessFile(path + ".journal", "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        UserDAOImpl reloaded = new UserDAOImpl(path, ids);
+        assertTrue(reloaded.findByUsername("alice").isPresent());
+        assertTrue(reloaded.findByUsername("bob").isPresent());
+        assertFalse(reloaded.findByUsername("carol").isPresent());
+    }
+
+    @Test
+    void storeLoadsPastZeroFilledTail() throws IOException {
+        String path = new File(dir, "users.dat").getPath();
+        IdGenerator ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        UserDAOImpl users = new UserDAOImpl(path, ids);
+        users.setWriteBehindWindow(0);
+        users.add(user("alice"));
+        users.flush();
+
+        try (FileOutputStream out = new FileOutputStream(path + ".journal", true)) {
+            out.write(new byte[64]);
+        }
+
+        UserDAOImpl reloaded = new UserDAOImpl(path, ids);
+        assertTrue(reloaded.findByUsername("alice").isPresent());
+        reloaded.add(user("bob"));
+        reloaded.flush();
+        assertTrue(new UserDAOImpl(path, ids).findByUsername("bob").isPresent());
+    }
+
+    private static User user(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setPassword("secret");
+        user.setRole(Role.ADMIN);
+        return user;
+    }
+}
@@ -0,0 +1,80 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Room;
+import com.eduzk.model.exceptions.DataAccessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableFilesTest {
+
+    @TempDir
+    File dir;
+
+    private RoomDAOImpl twoGenerations(String path) {
+        RoomDAOImpl rooms = new RoomDAOImpl(path, new IdGenerator(new File(dir, "ids.dat").getPath()));
+        rooms.setWriteBehindWindow(0);
+        rooms.add(new Room(0, "A101", "A", 30, "Lecture"));
+        rooms.add(new Room(0, "B202", "B", 20, "Lab"));
+        return rooms;
+    }
+
+    private static void flipByte(File file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0xFF);
+        }
+    }
+
+    @Test
+    void replaceKeepsPreviousGeneration() {
+        String path = new File(dir, "rooms.dat").getPath();
+        twoGenerations(path);
+
+        File previous = DurableFiles.previousGeneration(new File(path));
+        assertTrue(previous.exists());
+        assertFalse(new File(path + DurableFiles.TEMP_SUFFIX).exists());
+    }
+
+    @Test
+    void fallsBackToPreviousGenerationOnChecksumMismatch() throws IOException {
+        String path = new File(dir, "rooms.dat").getPath();
+        twoGenerations(path);
+        File file = new File(path);
+        flipByte(file, file.length() / 2);
+
+        RoomDAOImpl reloaded = new RoomDAOImpl(path, new IdGenerator(new File(dir, "ids.dat").getPath()));
+        assertEquals(1, reloaded.getAll().size());
+        assertTrue(reloaded.findByRoomNumber("A101").isPresent());
+        assertTrue(new File(path + ".corrupt").exists());
+    }
+
+    @Test
+    void restoresPreviousGenerationWhenFileIsMissing() {
+        String path = new File(dir, "rooms.dat").getPath();
+        twoGenerations(path);
+        assertTrue(new File(path).delete());
+
+        RoomDAOImpl reloaded = new RoomDAOImpl(path, new IdGenerator(new File(dir, "ids.dat").getPath()));
+        assertTrue(reloaded.findByRoomNumber("A101").isPresent());
+        assertTrue(new File(path).length() > 0);
+    }
+
+    @Test
+    void failsWithoutPreviousGeneration() throws IOException {
+        String path = new File(dir, "rooms.dat").getPath();
+        twoGenerations(path);
+        File file = new File(path);
+        assertTrue(DurableFiles.previousGeneration(file).delete());
+        flipByte(file, file.length() / 2);
+
+        assertThrows(DataAccessException.class, () -> new RoomDAOImpl(path, new IdGenerator(new File(dir, "ids.dat").getPath())));
+    }
+}
@@ -0,0 +1,91 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Course;
+import com.eduzk.model.entities.EduClass;
+import com.eduzk.model.entities.Teacher;
+import com.eduzk.model.exceptions.DataAccessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentIndexTest {
+
+    @TempDir
+    File dir;
+
+    private EduClassDAOImpl classes;
+    private Course math;
+    private Teacher teacher;
+
+    @BeforeEach
+    void openStore() {
+        classes = new EduClassDAOImpl(new File(dir, "classes.dat").getPath(), new IdGenerator(new File(dir, "ids.dat").getPath()));
+        classes.setWriteBehindWindow(0);
+        math = new Course(1, "MATH", "Toán", null, 4, "10");
+        teacher = new Teacher(2, "Lê Văn Hùng", null, "Nam", "Toán", null, null);
+    }
+
+    @Test
+    void studentsMapToEveryClassTheyAreIn() {
+        EduClass first = newClass("10A1", 40);
+        EduClass second = newClass("10A2", 40);
+        EduClass third = newClass("10A3", 40);
+        classes.addStudentsToClass(first.getClassId(), Arrays.asList(7, 8, 9));
+        classes.addStudentsToClass(third.getClassId(), Arrays.asList(9, 7));
+        classes.addStudentToClass(second.getClassId(), 9);
+
+        assertEquals(Arrays.asList(first.getClassId(), third.getClassId()), classIds(classes.findByStudentId(7)));
+        assertEquals(Arrays.asList(first.getClassId(), second.getClassId(), third.getClassId()), classIds(classes.findByStudentId(9)));
+        assertTrue(classes.findByStudentId(42).isEmpty());
+
+        assertEquals(2, classes.removeStudentsFromClass(first.getClassId(), Arrays.asList(7, 9, 42)));
+        assertEquals(Collections.singletonList(third.getClassId()), classIds(classes.findByStudentId(7)));
+        assertEquals(Arrays.asList(second.getClassId(), third.getClassId()), classIds(classes.findByStudentId(9)));
+        assertEquals(Collections.singletonList(first.getClassId()), classIds(classes.findByStudentId(8)));
+    }
+
+    @Test
+    void replacingTheRosterReKeysItsStudents() {
+        EduClass eduClass = newClass("10A1", 40);
+        classes.addStudentsToClass(eduClass.getClassId(), Arrays.asList(7, 8));
+
+        EduClass edited = classes.getById(eduClass.getClassId());
+        edited.setStudentIds(Arrays.asList(8, 10));
+        classes.update(edited);
+
+        assertTrue(classes.findByStudentId(7).isEmpty());
+        assertEquals(1, classes.findByStudentId(8).size());
+        assertEquals(1, classes.findByStudentId(10).size());
+    }
+
+    @Test
+    void enrollmentStopsAtCapacityAndSkipsExistingStudents() {
+        EduClass eduClass = newClass("10A1", 3);
+        classes.addStudentToClass(eduClass.getClassId(), 7);
+
+        assertEquals(2, classes.addStudentsToClass(eduClass.getClassId(), Arrays.asList(7, 8, 9, 10)));
+        assertTrue(classes.findByStudentId(10).isEmpty());
+        assertEquals(1, classes.findByStudentId(7).size());
+        assertThrows(DataAccessException.class, () -> classes.addStudentToClass(eduClass.getClassId(), 10));
+        assertThrows(DataAccessException.class, () -> classes.delete(eduClass.getClassId()));
+        assertEquals(3, classes.getById(eduClass.getClassId()).getCurrentEnrollment());
+    }
+
+    private EduClass newClass(String name, int capacity) {
+        EduClass eduClass = new EduClass(0, name, math, teacher, capacity, "2025-2026", "HK1");
+        classes.add(eduClass);
+        return eduClass;
+    }
+
+    private static List<Integer> classIds(List<EduClass> classes) {
+        return classes.stream().map(EduClass::getClassId).sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Course;
+import com.eduzk.model.entities.EduClass;
+import com.eduzk.model.entities.Teacher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupIndexTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void reKeysEntityEditedInPlace() {
+        GroupIndex<List<String>, String> index = new GroupIndex<>("tags", tags -> tags, false);
+        List<String> tags = new ArrayList<>(Arrays.asList("a", "b"));
+        index.put(1, tags);
+        index.put(2, Collections.singletonList("b"));
+
+        tags.remove("a");
+        tags.add("c");
+        index.put(1, tags);
+
+        assertTrue(index.get("a").isEmpty());
+        assertEquals(Arrays.asList(1, 2), new ArrayList<>(index.get("b")));
+        assertTrue(index.contains("c", 1));
+
+        index.remove(1);
+        assertEquals(Collections.singletonList(2), new ArrayList<>(index.get("b")));
+        assertTrue(index.get("c").isEmpty());
+    }
+
+    @Test
+    void orderedIndexReturnsIdsByKey() {
+        GroupIndex<Integer, Integer> index = new GroupIndex<>("capacity", capacity -> Collections.singletonList(capacity), true);
+        index.put(1, 40);
+        index.put(2, 20);
+        index.put(3, 30);
+        index.put(4, 30);
+
+        assertEquals(Arrays.asList(3, 4, 1), index.atLeast(25));
+        assertThrows(IllegalStateException.class, () -> new GroupIndex<Integer, Integer>("plain", Collections::singletonList, false).atLeast(0));
+    }
+
+    @Test
+    void daoIndexesFollowMutationsAndReload() {
+        String path = new File(dir, "classes.dat").getPath();
+        IdGenerator ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        EduClassDAOImpl classes = new EduClassDAOImpl(path, ids);
+        classes.setWriteBehindWindow(0);
+        Course math = new Course(1, "MATH", "Toán", null, 4, "10");
+        Teacher teacher = new Teacher(2, "Lê Văn Hùng", null, "Nam", "Toán", null, null);
+        EduClass first = new EduClass(0, "10A1", math, teacher, 40, "2025-2026", "HK1");
+        EduClass second = new EduClass(0, "10A2", math, teacher, 40, "2025-2026", "HK1");
+        classes.add(first);
+        classes.add(second);
+        classes.addStudentsToClass(first.getClassId(), Arrays.asList(7, 8));
+        classes.addStudentToClass(second.getClassId(), 7);
+        classes.removeStudentFromClass(first.getClassId(), 8);
+
+        assertEquals(Arrays.asList(first.getClassId(), second.getClassId()), classIds(classes.findByStudentId(7)));
+        assertTrue(classes.findByStudentId(8).isEmpty());
+        assertEquals(2, classes.findByCourseId(1).size());
+
+        classes.removeStudentFromClass(second.getClassId(), 7);
+        classes.delete(second.getClassId());
+        EduClassDAOImpl reloaded = new EduClassDAOImpl(path, ids);
+        assertEquals(Collections.singletonList(first.getClassId()), classIds(reloaded.findByStudentId(7)));
+        assertTrue(reloaded.findByStudentId(8).isEmpty());
+        assertEquals(1, reloaded.findByCourseId(1).size());
+    }
+
+    private static List<Integer> classIds(List<EduClass> classes) {
+        return classes.stream().map(EduClass::getClassId).sorted().collect(Collectors.toList());
+    }
+}
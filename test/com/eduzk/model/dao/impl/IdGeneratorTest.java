@@ -0,0 +1,94 @@
+package com.eduzk.model.dao.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdGeneratorTest {
+
+    @TempDir
+    File dir;
+
+    private String idFile() {
+        return new File(dir, "ids.dat").getPath();
+    }
+
+    @Test
+    void reserveRangeReturnsContiguousIds() {
+        IdGenerator ids = new IdGenerator(idFile(), 10);
+        assertEquals(1, ids.getNextStudentId());
+        assertEquals(2, ids.reserveRange(IdGenerator.STUDENT_ID_KEY, 5));
+        assertEquals(7, ids.getNextStudentId());
+        assertEquals(1, ids.getNextTeacherId());
+    }
+
+    @Test
+    void rangeLargerThanBlockIsReservedDurably() {
+        IdGenerator ids = new IdGenerator(idFile(), 10);
+        int first = ids.reserveRange(IdGenerator.STUDENT_ID_KEY, 25);
+        assertEquals(1, first);
+
+        IdGenerator reopened = new IdGenerator(idFile(), 10);
+        assertTrue(reopened.getNextStudentId() > first + 24);
+    }
+
+    @Test
+    void restartNeverReusesHandedOutIds() {
+        IdGenerator ids = new IdGenerator(idFile(), 4);
+        int last = 0;
+        for (int i = 0; i < 9; i++) {
+            last = ids.getNextUserId();
+        }
+
+        assertTrue(new IdGenerator(idFile(), 4).getNextUserId() > last);
+    }
+
+    @Test
+    void rejectsEmptyRange() {
+        IdGenerator ids = new IdGenerator(idFile());
+        assertThrows(IllegalArgumentException.class, () -> ids.reserveRange(IdGenerator.ROOM_ID_KEY, 0));
+    }
+
+    @Test
+    void concurrentCallersGetDistinctIds() throws Exception {
+        // Every block refill is fsynced; 64 still makes the callers cross about 25 block boundaries.
+        IdGenerator ids = new IdGenerator(idFile(), 64);
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final boolean ranges = t % 2 == 0;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        if (ranges) {
+                            int first = ids.reserveRange(IdGenerator.COURSE_ID_KEY, 3);
+                            for (int id = first; id < first + 3; id++) {
+                                assertTrue(seen.add(id));
+                            }
+                        } else {
+                            assertTrue(seen.add(ids.getNextCourseId()));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(4 * 100 * 3 + 4 * 100, seen.size());
+        assertTrue(new IdGenerator(idFile(), 64).getNextCourseId() > seen.size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Role;
+import com.eduzk.model.entities.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalCompactorTest {
+
+    @TempDir
+    File dir;
+
+    private String path() {
+        return new File(dir, "users.dat").getPath();
+    }
+
+    private IdGenerator ids() {
+        return new IdGenerator(new File(dir, "ids.dat").getPath());
+    }
+
+    private UserDAOImpl open() {
+        UserDAOImpl users = new UserDAOImpl(path(), ids());
+        users.setWriteBehindWindow(0);
+        return users;
+    }
+
+    private static User user(String name) {
+        return new User(0, name, "secret", Role.ADMIN, null, null);
+    }
+
+    private static List<User> users(String prefix, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(prefix + i));
+        }
+        return users;
+    }
+
+    private File journal() {
+        return new File(path() + ".journal");
+    }
+
+    private File rotated() {
+        return new File(path() + ".journal.compacting");
+    }
+
+    @Test
+    void compactsOnceTheRecordThresholdIsReached() throws InterruptedException {
+        UserDAOImpl users = open();
+        users.addAll(users("u", JournalCompactor.MAX_JOURNAL_RECORDS - 1));
+        users.flush();
+        assertFalse(users.needsCompaction());
+        assertEquals(0, users.getCompactionStats().getCompactionCount());
+
+        users.add(user("last"));
+        users.flush();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (users.getCompactionStats().getCompactionCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, users.getCompactionStats().getCompactionCount());
+        assertFalse(users.needsCompaction());
+        assertEquals(JournalCompactor.MAX_JOURNAL_RECORDS, open().getAll().size());
+    }
+
+    @Test
+    void compactionFoldsTheJournalIntoTheSnapshot() {
+        UserDAOImpl users = open();
+        users.add(user("alice"));
+        User bob = user("bob");
+        users.add(bob);
+        users.delete(bob.getUserId());
+        assertTrue(journal().length() > 0);
+
+        users.compact();
+        assertEquals(1, users.getCompactionStats().getCompactionCount());
+        assertEquals(0, journal().length());
+        assertFalse(rotated().exists() && rotated().length() > 0);
+
+        users.add(user("carol"));
+        UserDAOImpl reloaded = open();
+        assertEquals(2, reloaded.getAll().size());
+        assertTrue(reloaded.findByUsername("alice").isPresent());
+        assertFalse(reloaded.findByUsername("bob").isPresent());
+        assertTrue(reloaded.findByUsername("carol").isPresent());
+    }
+
+    @Test
+    void crashBeforeTheRotatedJournalIsDiscardedReplaysIt() throws IOException {
+        UserDAOImpl users = open();
+        users.add(user("alice"));
+        User bob = user("bob");
+        users.add(bob);
+        users.delete(bob.getUserId());
+        byte[] rotatedRecords = Files.readAllBytes(journal().toPath());
+
+        // The snapshot is written but the rotated journal survives, then more writes land in the new journal.
+        users.compact();
+        Files.write(rotated().toPath(), rotatedRecords);
+        users.add(user("carol"));
+
+        UserDAOImpl reloaded = open();
+        assertEquals(2, reloaded.getAll().size());
+        assertTrue(reloaded.findByUsername("alice").isPresent());
+        assertTrue(reloaded.findByUsername("carol").isPresent());
+        assertFalse(reloaded.findByUsername("bob").isPresent());
+
+        reloaded.compact();
+        assertEquals(2, open().getAll().size());
+    }
+
+    @Test
+    void crashBeforeTheSnapshotIsWrittenKeepsTheRotatedJournal() throws IOException {
+        UserDAOImpl users = open();
+        users.add(user("alice"));
+        users.add(user("bob"));
+        Files.move(journal().toPath(), rotated().toPath());
+
+        UserDAOImpl reloaded = open();
+        assertEquals(2, reloaded.getAll().size());
+        reloaded.add(user("carol"));
+        assertEquals(3, open().getAll().size());
+    }
+
+    @Test
+    void onlyTheNewestInstanceOfAFileCompacts() {
+        UserDAOImpl stale = open();
+        stale.add(user("alice"));
+        UserDAOImpl current = open();
+        current.add(user("bob"));
+        assertFalse(JournalCompactor.getInstance().owns(stale));
+        assertTrue(JournalCompactor.getInstance().owns(current));
+
+        stale.compact();
+        assertEquals(0, stale.getCompactionStats().getCompactionCount());
+        assertTrue(open().findByUsername("bob").isPresent());
+    }
+}
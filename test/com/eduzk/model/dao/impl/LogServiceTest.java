@@ -0,0 +1,144 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.interfaces.LogEventListener;
+import com.eduzk.model.entities.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 5, 8, 0);
+
+    @TempDir
+    File dir;
+
+    // 25 entries a minute apart; even ones by alice (ADMIN, "Login"), odd ones by bob (TEACHER, "Update Student").
+    private String writeLog() {
+        String path = new File(dir, "logs.dat").getPath();
+        LogService service = new LogService(path);
+        for (int i = 0; i < 25; i++) {
+            boolean alice = i % 2 == 0;
+            service.addLogEntry(new LogEntry(START.plusMinutes(i), alice ? "alice" : "bob", alice ? "ADMIN" : "TEACHER",
+                    alice ? "Login" : "Update Student", "entry " + i));
+        }
+        service.drain();
+        return path;
+    }
+
+    private static List<String> details(LogPage page) {
+        List<String> details = new ArrayList<>();
+        for (LogEntry entry : page.getEntries()) {
+            details.add(entry.getDetails());
+        }
+        return details;
+    }
+
+    @Test
+    void pagesNewestFirstWithoutGapsOrOverlap() {
+        LogService service = new LogService(writeLog());
+        try {
+            LogPage first = service.queryLogs(new LogQuery().page(0, 10));
+            assertEquals("entry 24", first.getEntries().get(0).getDetails());
+            assertTrue(first.hasMore());
+            assertEquals(10, first.getNextOffset());
+
+            List<String> all = new ArrayList<>(details(first));
+            LogPage page = first;
+            while (page.hasMore()) {
+                page = service.queryLogs(new LogQuery().page(page.getNextOffset(), 10));
+                all.addAll(details(page));
+            }
+            assertEquals(5, page.getEntries().size());
+            assertEquals(25, all.size());
+            for (int i = 0; i < 25; i++) {
+                assertEquals("entry " + (24 - i), all.get(i));
+            }
+
+            LogPage beyond = service.queryLogs(new LogQuery().page(30, 10));
+            assertTrue(beyond.getEntries().isEmpty());
+            assertFalse(beyond.hasMore());
+        } finally {
+            service.drain();
+        }
+    }
+
+    @Test
+    void filtersApplyBeforePaging() {
+        LogService service = new LogService(writeLog());
+        try {
+            LogPage alice = service.queryLogs(new LogQuery().user("alice").page(2, 5));
+            assertEquals(List.of("entry 20", "entry 18", "entry 16", "entry 14", "entry 12"), details(alice));
+            assertTrue(alice.hasMore());
+
+            LogPage updates = service.queryLogs(new LogQuery().action("update").role("TEACHER").page(10, 5));
+            assertEquals(List.of("entry 3", "entry 1"), details(updates));
+            assertFalse(updates.hasMore());
+
+            LogPage window = service.queryLogs(new LogQuery().between(START.plusMinutes(5), START.plusMinutes(9)).page(1, 10));
+            assertEquals(List.of("entry 7", "entry 6", "entry 5"), details(window));
+
+            assertTrue(service.queryLogs(new LogQuery().user("carol")).getEntries().isEmpty());
+        } finally {
+            service.drain();
+        }
+    }
+
+    @Test
+    void pagesAsOfAnEarlierSequenceIgnoreNewerEntries() throws InterruptedException {
+        LogService service = new LogService(writeLog());
+        AtomicLong lastSequence = new AtomicLong();
+        CountDownLatch written = new CountDownLatch(3);
+        service.addLogEventListener(new LogEventListener() {
+            @Override
+            public void logAdded(LogEntry newLogEntry) {
+            }
+
+            @Override
+            public void logsAdded(List<LogEntry> newLogEntries, long sequence) {
+                lastSequence.set(sequence);
+                for (int i = 0; i < newLogEntries.size(); i++) {
+                    written.countDown();
+                }
+            }
+        });
+        try {
+            LogPage shown = service.queryLogs(new LogQuery().page(0, 10));
+            assertEquals(0, shown.getSequence());
+            for (int i = 0; i < 3; i++) {
+                service.addLogEntry(new LogEntry(START.plusHours(1).plusMinutes(i), "carol", "ADMIN", "Login", "new " + i));
+            }
+            assertTrue(written.await(10, TimeUnit.SECONDS));
+            assertEquals(3, lastSequence.get());
+
+            LogPage next = service.queryLogs(new LogQuery().asOf(shown.getSequence()).page(10, 5));
+            assertEquals(List.of("entry 14", "entry 13", "entry 12", "entry 11", "entry 10"), details(next));
+            assertEquals(0, next.getSequence());
+
+            LogPage latest = service.queryLogs(new LogQuery().page(0, 4));
+            assertEquals(List.of("new 2", "new 1", "new 0", "entry 24"), details(latest));
+            assertEquals(3, latest.getSequence());
+
+            LogPage olderCarol = service.queryLogs(new LogQuery().asOf(1).user("carol"));
+            assertEquals(List.of("new 0"), details(olderCarol));
+        } finally {
+            service.drain();
+        }
+    }
+
+    @Test
+    void rejectsInvalidPage() {
+        assertThrows(IllegalArgumentException.class, () -> new LogQuery().page(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new LogQuery().page(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LogQuery().asOf(-1));
+    }
+}
@@ -0,0 +1,123 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.impl.codec.EntityFileFormat;
+import com.eduzk.model.dao.impl.codec.RoomCodec;
+import com.eduzk.model.entities.AcademicRecord;
+import com.eduzk.model.entities.Room;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedRecordFileTest {
+
+    @TempDir
+    File dir;
+
+    private File writeRooms() throws IOException {
+        File file = new File(dir, "rooms.dat");
+        try (OutputStream out = new FileOutputStream(file)) {
+            EntityFileFormat.writeAll(out, Arrays.asList(
+                    new Room(5, "E5", "E", 50, "Lab"),
+                    new Room(2, "B2", "B", 20, "Lab"),
+                    new Room(9, "I9", "I", 90, "Hall")), RoomCodec.INSTANCE, Room::getRoomId);
+        }
+        return file;
+    }
+
+    @Test
+    void looksUpRecordsByIdWithoutDecodingTheRest() throws IOException {
+        MappedRecordFile<Room> mapped = MappedRecordFile.open(writeRooms(), RoomCodec.INSTANCE);
+        try {
+            assertEquals(3, mapped.size());
+            assertEquals(5, mapped.idAt(0));
+            assertEquals("B2", mapped.decodeAt(1).getRoomNumber());
+            assertEquals("I9", mapped.decodeById(9).getRoomNumber());
+            assertTrue(mapped.containsId(2));
+            assertFalse(mapped.containsId(3));
+            assertNull(mapped.decodeById(3));
+        } finally {
+            mapped.close();
+        }
+    }
+
+    @Test
+    void closedFileCanBeReplaced() throws IOException {
+        File file = writeRooms();
+        MappedRecordFile<Room> mapped = MappedRecordFile.open(file, RoomCodec.INSTANCE);
+        mapped.close();
+        mapped.close();
+
+        Files.delete(file.toPath());
+        File replacement = writeRooms();
+        MappedRecordFile<Room> reopened = MappedRecordFile.open(replacement, RoomCodec.INSTANCE);
+        assertEquals(3, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void rejectsTruncatedOrCorruptFiles() throws IOException {
+        File file = writeRooms();
+        long length = file.length();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(length / 2);
+            raf.write(raf.read() ^ 0xFF);
+        }
+        assertThrows(IOException.class, () -> MappedRecordFile.open(file, RoomCodec.INSTANCE));
+
+        File truncated = writeRooms();
+        try (RandomAccessFile raf = new RandomAccessFile(truncated, "rw")) {
+            raf.setLength(length - 20);
+        }
+        assertThrows(IOException.class, () -> MappedRecordFile.open(truncated, RoomCodec.INSTANCE));
+    }
+
+    private static AcademicRecord record(int studentId, int classId, double math) {
+        AcademicRecord record = new AcademicRecord(studentId, classId);
+        record.setGrade("Toán", math);
+        return record;
+    }
+
+    @Test
+    void mappedStoreLayersJournalChangesOverTheFile() {
+        String path = new File(dir, "records.dat").getPath();
+        IdGenerator ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        AcademicRecordDAOImpl records = new AcademicRecordDAOImpl(path, ids);
+        records.setWriteBehindWindow(0);
+        records.addOrUpdate(record(1, 10, 7.0));
+        records.addOrUpdate(record(2, 10, 8.0));
+        records.addOrUpdate(record(3, 20, 9.0));
+        records.compact();
+
+        // Mapped from the snapshot, then changed through the journal.
+        AcademicRecordDAOImpl mapped = new AcademicRecordDAOImpl(path, ids);
+        mapped.setWriteBehindWindow(0);
+        assertEquals(8.0, mapped.findByStudentAndClass(2, 10).get().getGrade("Toán"));
+        mapped.addOrUpdate(record(2, 10, 5.5));
+        mapped.delete(mapped.findByStudentAndClass(3, 20).get().getRecordId());
+        mapped.addOrUpdate(record(4, 20, 6.0));
+
+        AcademicRecordDAOImpl reopened = new AcademicRecordDAOImpl(path, ids);
+        assertEquals(5.5, reopened.findByStudentAndClass(2, 10).get().getGrade("Toán"));
+        assertFalse(reopened.findByStudentAndClass(3, 20).isPresent());
+        assertEquals(2, reopened.findAllByClassId(10).size());
+        assertEquals(1, reopened.findAllByClassId(20).size());
+
+        // Folding the journal into a new mapped file keeps the same view.
+        reopened.compact();
+        assertEquals(5.5, reopened.findByStudentAndClass(2, 10).get().getGrade("Toán"));
+        assertEquals(3, reopened.getAll().size());
+        AcademicRecordDAOImpl compacted = new AcademicRecordDAOImpl(path, ids);
+        assertEquals(3, compacted.getAll().size());
+        assertEquals(6.0, compacted.findByStudentAndClass(4, 20).get().getGrade("Toán"));
+        assertTrue(new File(path + ".journal").length() == 0 || !new File(path + ".journal").exists());
+    }
+}
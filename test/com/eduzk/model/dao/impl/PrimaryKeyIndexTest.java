@@ -0,0 +1,56 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Room;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimaryKeyIndexTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void lookupsStayCorrectAfterDeletesAnywhereInTheList() {
+        String path = new File(dir, "rooms.dat").getPath();
+        IdGenerator ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        RoomDAOImpl rooms = new RoomDAOImpl(path, ids);
+        List<Integer> roomIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Room room = new Room(0, "R" + i, "A", 10 + i, "Lab");
+            rooms.add(room);
+            roomIds.add(room.getRoomId());
+        }
+
+        // First, last, middle, and the element that was just swapped into a hole.
+        int[] deleted = {0, 9, 4, 8};
+        for (int position : deleted) {
+            rooms.delete(roomIds.get(position));
+        }
+
+        for (int i = 0; i < roomIds.size(); i++) {
+            final int position = i;
+            boolean gone = Arrays.stream(deleted).anyMatch(d -> d == position);
+            Room found = rooms.getById(roomIds.get(i));
+            if (gone) {
+                assertNull(found);
+            } else {
+                assertEquals("R" + i, found.getRoomNumber());
+            }
+        }
+        assertEquals(6, rooms.getAll().size());
+
+        rooms.add(new Room(0, "R10", "A", 20, "Lab"));
+        rooms.flush();
+        RoomDAOImpl reloaded = new RoomDAOImpl(path, ids);
+        assertEquals(7, reloaded.getAll().size());
+        assertEquals("R5", reloaded.getById(roomIds.get(5)).getRoomNumber());
+        assertTrue(reloaded.findByRoomNumber("R10").isPresent());
+    }
+}
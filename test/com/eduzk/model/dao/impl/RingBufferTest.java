@@ -0,0 +1,89 @@
+package com.eduzk.model.dao.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    @Test
+    void roundsCapacityUpAndRejectsWhenFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        assertEquals(4, buffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(Arrays.asList(1, 2, 3, 4), drained);
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void rejectsNullItemsAndBadCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<Integer>(8).offer(null));
+    }
+
+    @Test
+    void concurrentProducersLoseNothingAndKeepTheirOrder() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        RingBuffer<int[]> buffer = new RingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(new int[]{producer, i})) {
+                            Thread.yield();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    failed.set(true);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        int[] nextExpected = new int[producers];
+        int received = 0;
+        List<int[]> batch = new ArrayList<>();
+        start.countDown();
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (received < producers * perProducer && System.currentTimeMillis() < deadline) {
+            batch.clear();
+            if (buffer.drainTo(batch, 32) == 0) {
+                Thread.yield();
+                continue;
+            }
+            for (int[] item : batch) {
+                assertEquals(nextExpected[item[0]]++, item[1]);
+                received++;
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertFalse(failed.get());
+        assertEquals(producers * perProducer, received);
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Schedule;
+import com.eduzk.model.exceptions.ScheduleConflictException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSlotIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 9, 8);
+
+    @TempDir
+    File dir;
+
+    @Test
+    void sessionsThatOnlyTouchDoNotConflict() {
+        ScheduleSlotIndex index = new ScheduleSlotIndex("slot");
+        index.put(1, session(1, 7, 10, MONDAY, "08:00", "09:30"));
+
+        assertNull(index.findTeacherConflict(session(2, 7, 10, MONDAY, "09:30", "11:00")));
+        assertNull(index.findRoomConflict(session(2, 7, 10, MONDAY, "06:30", "08:00")));
+        assertEquals(1, index.findTeacherConflict(session(2, 7, 11, MONDAY, "09:29", "11:00")).scheduleId);
+        assertEquals(1, index.findRoomConflict(session(2, 8, 10, MONDAY, "06:30", "08:01")).scheduleId);
+    }
+
+    @Test
+    void findsOverlapsOnlyForTheSameDayAndResource() {
+        ScheduleSlotIndex index = new ScheduleSlotIndex("slot");
+        index.put(1, session(1, 7, 10, MONDAY, "07:00", "11:00"));
+        index.put(2, session(2, 7, 10, MONDAY, "08:00", "08:30"));
+
+        // The long early session still overlaps a slot that starts after the short one has ended.
+        assertEquals(1, index.findTeacherConflict(session(3, 7, 20, MONDAY, "10:00", "10:30")).scheduleId);
+        assertNotNull(index.findRoomConflict(session(3, 9, 10, MONDAY, "06:00", "12:00")));
+        assertNull(index.findTeacherConflict(session(3, 8, 20, MONDAY, "10:00", "10:30")));
+        assertNull(index.findRoomConflict(session(3, 9, 20, MONDAY, "10:00", "10:30")));
+        assertNull(index.findTeacherConflict(session(3, 7, 10, MONDAY.plusDays(1), "10:00", "10:30")));
+
+        // A session never conflicts with its own earlier version.
+        assertNull(index.findTeacherConflict(session(1, 7, 10, MONDAY, "06:00", "07:30")));
+
+        index.remove(1);
+        assertNull(index.findTeacherConflict(session(3, 7, 10, MONDAY, "10:00", "10:30")));
+        assertEquals(2, index.findRoomConflict(session(3, 9, 10, MONDAY, "08:15", "09:00")).scheduleId);
+    }
+
+    @Test
+    void daoRejectsConflictsAndFreesSlotsOnChange() throws Exception {
+        IdGenerator ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        ScheduleDAOImpl schedules = new ScheduleDAOImpl(new File(dir, "schedules.dat").getPath(), ids);
+        schedules.setWriteBehindWindow(0);
+        Schedule first = session(0, 7, 10, MONDAY, "08:00", "09:30");
+        schedules.add(first);
+        schedules.add(session(0, 7, 10, MONDAY, "09:30", "11:00"));
+
+        assertThrows(ScheduleConflictException.class, () -> schedules.add(session(0, 7, 11, MONDAY, "09:00", "10:00")));
+        assertThrows(ScheduleConflictException.class, () -> schedules.add(session(0, 8, 10, MONDAY, "10:59", "12:00")));
+        assertEquals(2, schedules.getAllSchedules().size());
+
+        first.setStartTime(LocalTime.parse("07:00"));
+        first.setEndTime(LocalTime.parse("08:00"));
+        schedules.update(first);
+        schedules.add(session(0, 8, 10, MONDAY, "08:00", "09:30"));
+
+        schedules.delete(first.getScheduleId());
+        schedules.add(session(0, 7, 11, MONDAY, "07:30", "08:00"));
+        assertEquals(3, schedules.getAllSchedules().size());
+    }
+
+    @Test
+    void rangesIncludeBothEndDatesInChronologicalOrder() {
+        ScheduleSlotIndex index = new ScheduleSlotIndex("slot");
+        index.put(4, session(4, 7, 10, MONDAY.plusDays(2), "07:00", "08:00"));
+        index.put(1, session(1, 7, 10, MONDAY, "13:00", "14:00"));
+        index.put(3, session(3, 8, 11, MONDAY.plusDays(1), "07:00", "08:00"));
+        index.put(2, session(2, 8, 10, MONDAY, "07:00", "08:00"));
+        index.put(5, session(5, 7, 11, MONDAY.minusDays(1), "23:00", "23:59"));
+
+        assertEquals(Arrays.asList(2, 1, 3, 4), index.between(MONDAY, MONDAY.plusDays(2)));
+        assertEquals(Collections.singletonList(3), index.between(MONDAY.plusDays(1), MONDAY.plusDays(1)));
+        assertEquals(Arrays.asList(1, 4), index.forTeacherBetween(7, MONDAY, MONDAY.plusDays(7)));
+        assertEquals(Arrays.asList(5, 3), index.forRoomBetween(11, MONDAY.minusDays(1), MONDAY.plusDays(1)));
+        assertTrue(index.between(MONDAY.plusDays(2), MONDAY).isEmpty());
+        assertTrue(index.between(null, MONDAY).isEmpty());
+        assertTrue(index.forTeacherBetween(99, MONDAY, MONDAY.plusDays(2)).isEmpty());
+
+        // Moving a session to another day re-keys it.
+        index.put(2, session(2, 8, 10, MONDAY.plusDays(3), "07:00", "08:00"));
+        assertEquals(Arrays.asList(1, 3, 4), index.between(MONDAY, MONDAY.plusDays(2)));
+        assertEquals(Collections.singletonList(2), index.forRoomBetween(10, MONDAY.plusDays(3), MONDAY.plusDays(3)));
+    }
+
+    @Test
+    void daoRangeQueriesSurviveReload() throws Exception {
+        String path = new File(dir, "schedules.dat").getPath();
+        IdGenerator ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        ScheduleDAOImpl schedules = new ScheduleDAOImpl(path, ids);
+        schedules.setWriteBehindWindow(0);
+        Schedule late = session(0, 7, 10, MONDAY, "13:00", "14:00");
+        Schedule early = session(0, 8, 10, MONDAY, "07:00", "08:00");
+        Schedule next = session(0, 7, 11, MONDAY.plusDays(1), "07:00", "08:00");
+        schedules.add(late);
+        schedules.add(early);
+        schedules.add(next);
+
+        ScheduleDAOImpl reloaded = new ScheduleDAOImpl(path, ids);
+        assertEquals(Arrays.asList(early.getScheduleId(), late.getScheduleId(), next.getScheduleId()),
+                scheduleIds(reloaded.findByDateRange(MONDAY, MONDAY.plusDays(1))));
+        assertEquals(Arrays.asList(late.getScheduleId(), next.getScheduleId()),
+                scheduleIds(reloaded.findByTeacherId(7, MONDAY, MONDAY.plusDays(1))));
+        assertEquals(Arrays.asList(early.getScheduleId(), late.getScheduleId()),
+                scheduleIds(reloaded.findByRoomId(10, MONDAY, MONDAY)));
+        assertTrue(reloaded.findByDateRange(MONDAY.plusDays(2), MONDAY.plusDays(9)).isEmpty());
+    }
+
+    private static Schedule session(int id, int teacherId, int roomId, LocalDate date, String start, String end) {
+        return new Schedule(id, 1, teacherId, roomId, date, LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    private static List<Integer> scheduleIds(List<Schedule> schedules) {
+        return schedules.stream().map(Schedule::getScheduleId).collect(Collectors.toList());
+    }
+}
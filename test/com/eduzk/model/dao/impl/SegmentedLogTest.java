@@ -0,0 +1,142 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.impl.codec.LogEntryCodec;
+import com.eduzk.model.entities.LogEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedLogTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2025, 9, 8, 12, 0);
+
+    @TempDir
+    File dir;
+
+    @Test
+    void rollsToANewSegmentOnceTheActiveOneIsFull() throws IOException {
+        SegmentedLog<LogEntry> log = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 120, 10);
+        for (int i = 0; i < 6; i++) {
+            log.append(entry(i));
+        }
+
+        assertTrue(log.getSegmentCount() > 1);
+        List<Long> segments = log.segmentIds();
+        for (int i = 1; i < segments.size(); i++) {
+            assertEquals(segments.get(i - 1) + 1, segments.get(i));
+        }
+        assertEquals(Arrays.asList("0", "1", "2", "3", "4", "5"), details(log.readRecent(100)));
+        assertEquals(Arrays.asList("3", "4", "5"), details(log.readRecent(3)));
+        log.close();
+
+        SegmentedLog<LogEntry> reopened = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 120, 10);
+        assertEquals(segments, reopened.segmentIds());
+        assertEquals(Arrays.asList("4", "5"), details(reopened.readRecent(2)));
+    }
+
+    @Test
+    void retentionDropsWholeOldestSegments() throws IOException {
+        SegmentedLog<LogEntry> log = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 1, 2);
+        List<Long> expired = new ArrayList<>();
+        log.setObserver(new SegmentedLog.Observer<LogEntry>() {
+            @Override
+            public void appended(long segment, int offset, LogEntry record) {
+            }
+
+            @Override
+            public void expired(long segment) {
+                expired.add(segment);
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            log.append(entry(i));
+        }
+        log.close();
+
+        assertEquals(Arrays.asList(4L, 5L), log.segmentIds());
+        assertEquals(Arrays.asList(1L, 2L, 3L), expired);
+        assertEquals(2, dir.listFiles().length);
+        assertEquals(Arrays.asList("3", "4"), details(log.readRecent(100)));
+    }
+
+    @Test
+    void appendAfterRestartCutsATornTail() throws IOException {
+        SegmentedLog<LogEntry> log = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10);
+        log.appendAll(Arrays.asList(entry(0), entry(1), entry(2)));
+        log.close();
+        File segment = onlySegment();
+        long intact = segment.length();
+        try (FileOutputStream out = new FileOutputStream(segment, true)) {
+            out.write(new byte[] {0, 0, 0, 40, 1, 2});
+        }
+
+        SegmentedLog<LogEntry> reopened = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10);
+        assertEquals(Arrays.asList("0", "1", "2"), details(reopened.readRecent(100)));
+        reopened.append(entry(3));
+        reopened.close();
+
+        assertEquals(segment.getName(), onlySegment().getName());
+        assertTrue(segment.length() > intact);
+        assertEquals(Arrays.asList("0", "1", "2", "3"), details(new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10).readRecent(100)));
+    }
+
+    @Test
+    void zeroFilledTailIsNotReadAsRecords() throws IOException {
+        SegmentedLog<LogEntry> log = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10);
+        log.appendAll(Arrays.asList(entry(0), entry(1)));
+        log.close();
+        try (FileOutputStream out = new FileOutputStream(onlySegment(), true)) {
+            out.write(new byte[64]);
+        }
+
+        SegmentedLog<LogEntry> reopened = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10);
+        assertEquals(Arrays.asList("0", "1"), details(reopened.readRecent(100)));
+        reopened.append(entry(2));
+        assertEquals(Arrays.asList("0", "1", "2"), details(reopened.readRecent(100)));
+        reopened.close();
+        assertEquals(Arrays.asList("0", "1", "2"), details(new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10).readRecent(100)));
+    }
+
+    @Test
+    void segmentWithBadHeaderIsSkippedAndNotAppendedTo() throws IOException {
+        SegmentedLog<LogEntry> log = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10);
+        log.append(entry(0));
+        log.close();
+        try (FileOutputStream out = new FileOutputStream(new File(dir, "segment-0000000002.log"))) {
+            out.write(new byte[] {'J', 'U', 'N', 'K', 0, 0, 0, 1});
+        }
+
+        SegmentedLog<LogEntry> reopened = new SegmentedLog<>(dir, LogEntryCodec.INSTANCE, 4096, 10);
+        assertEquals(Collections.singletonList("0"), details(reopened.readRecent(100)));
+        reopened.append(entry(1));
+        reopened.close();
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), reopened.segmentIds());
+        assertEquals(Arrays.asList("0", "1"), details(reopened.readRecent(100)));
+    }
+
+    private File onlySegment() {
+        File[] files = dir.listFiles();
+        assertEquals(1, files.length);
+        return files[0];
+    }
+
+    private static LogEntry entry(int n) {
+        return new LogEntry(NOON.plusSeconds(n), "admin", "ADMIN", "UPDATE", String.valueOf(n));
+    }
+
+    private static List<String> details(List<LogEntry> entries) {
+        return entries.stream().map(LogEntry::getDetails).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,34 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Room;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotReadTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    void readersShareOneCopyUntilTheNextWrite() {
+        RoomDAOImpl rooms = new RoomDAOImpl(new File(dir, "rooms.dat").getPath(), new IdGenerator(new File(dir, "ids.dat").getPath()));
+        rooms.add(new Room(0, "A101", "A", 30, "Lecture"));
+
+        List<Room> first = rooms.getAll();
+        assertSame(first, rooms.getAll());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(new Room()));
+
+        rooms.add(new Room(0, "B202", "B", 20, "Lab"));
+        rooms.add(new Room(0, "C303", "C", 10, "Lab"));
+        List<Room> second = rooms.getAll();
+        assertNotSame(first, second);
+        assertEquals(1, first.size());
+        assertEquals(3, second.size());
+        assertSame(second, rooms.getAll());
+    }
+}
@@ -0,0 +1,104 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.interfaces.BatchResult;
+import com.eduzk.model.entities.AcademicRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentClassIndexTest {
+
+    @TempDir
+    File dir;
+
+    private String path;
+    private IdGenerator ids;
+    private AcademicRecordDAOImpl records;
+
+    @BeforeEach
+    void openStore() {
+        path = new File(dir, "records.dat").getPath();
+        ids = new IdGenerator(new File(dir, "ids.dat").getPath());
+        records = new AcademicRecordDAOImpl(path, ids);
+        records.setWriteBehindWindow(0);
+    }
+
+    @Test
+    void swappedAndExtremeIdsGetTheirOwnKeys() {
+        AcademicRecord oneTwo = record(1, 2, 5.0);
+        AcademicRecord twoOne = record(2, 1, 6.0);
+        AcademicRecord maxStudent = record(Integer.MAX_VALUE, 1, 7.0);
+        AcademicRecord maxClass = record(1, Integer.MAX_VALUE, 8.0);
+        for (AcademicRecord record : Arrays.asList(oneTwo, twoOne, maxStudent, maxClass)) {
+            records.addOrUpdate(record);
+        }
+
+        assertEquals(oneTwo.getRecordId(), records.findByStudentAndClass(1, 2).get().getRecordId());
+        assertEquals(twoOne.getRecordId(), records.findByStudentAndClass(2, 1).get().getRecordId());
+        assertEquals(maxStudent.getRecordId(), records.findByStudentAndClass(Integer.MAX_VALUE, 1).get().getRecordId());
+        assertEquals(maxClass.getRecordId(), records.findByStudentAndClass(1, Integer.MAX_VALUE).get().getRecordId());
+        assertFalse(records.findByStudentAndClass(2, 2).isPresent());
+        assertEquals(2, records.findAllByStudentId(1).size());
+    }
+
+    @Test
+    void sameStudentAndClassUpdatesTheExistingRecord() {
+        AcademicRecord original = record(7, 3, 5.0);
+        records.addOrUpdate(original);
+
+        AcademicRecord resubmitted = record(7, 3, 9.5);
+        records.addOrUpdate(resubmitted);
+
+        assertEquals(original.getRecordId(), resubmitted.getRecordId());
+        assertEquals(1, records.findAllByClassId(3).size());
+        assertEquals(9.5, records.findByStudentAndClass(7, 3).get().getGrade("math"));
+
+        // Moving the record to another class re-keys it.
+        resubmitted.setClassId(4);
+        records.addOrUpdate(resubmitted);
+        assertFalse(records.findByStudentAndClass(7, 3).isPresent());
+        assertEquals(original.getRecordId(), records.findByStudentAndClass(7, 4).get().getRecordId());
+    }
+
+    @Test
+    void batchUpsertsResolveRecordsByStudentAndClass() {
+        AcademicRecord existing = record(7, 3, 5.0);
+        records.addOrUpdate(existing);
+
+        BatchResult<AcademicRecord> result = records.upsertAll(Arrays.asList(record(7, 3, 6.0), record(8, 3, 7.0), record(8, 3, 8.0)));
+
+        assertFalse(result.hasFailures());
+        assertEquals(existing.getRecordId(), result.getSucceeded().get(0).getRecordId());
+        assertEquals(result.getSucceeded().get(1).getRecordId(), result.getSucceeded().get(2).getRecordId());
+        assertEquals(2, records.findAllByClassId(3).size());
+        assertEquals(8.0, records.findByStudentAndClass(8, 3).get().getGrade("math"));
+    }
+
+    @Test
+    void deletedPairsAreFreedAndKeysSurviveReload() {
+        AcademicRecord first = record(7, 3, 5.0);
+        AcademicRecord second = record(8, 3, 6.0);
+        records.addOrUpdate(first);
+        records.addOrUpdate(second);
+        records.delete(first.getRecordId());
+        records.addOrUpdate(record(7, 3, 9.0));
+        records.flush();
+
+        AcademicRecordDAOImpl reloaded = new AcademicRecordDAOImpl(path, ids);
+        assertNotEquals(first.getRecordId(), reloaded.findByStudentAndClass(7, 3).get().getRecordId());
+        assertEquals(9.0, reloaded.findByStudentAndClass(7, 3).get().getGrade("math"));
+        assertEquals(second.getRecordId(), reloaded.findByStudentAndClass(8, 3).get().getRecordId());
+        assertEquals(2, reloaded.findAllByClassId(3).size());
+    }
+
+    private static AcademicRecord record(int studentId, int classId, double grade) {
+        AcademicRecord record = new AcademicRecord(studentId, classId);
+        record.setGrade("math", grade);
+        return record;
+    }
+}
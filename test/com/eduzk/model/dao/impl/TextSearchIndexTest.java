@@ -0,0 +1,86 @@
+package com.eduzk.model.dao.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextSearchIndexTest {
+
+    @Test
+    void foldsVietnameseAccentsAndDecomposedInput() {
+        assertEquals("dang thi hong", TextSearchIndex.fold("Đặng Thị Hồng"));
+        assertEquals("luu duc", TextSearchIndex.fold("Lưu đức"));
+        // The same name typed with combining marks instead of precomposed letters.
+        assertEquals("nguyen", TextSearchIndex.fold("Nguye\u0302\u0303n"));
+        assertEquals(Arrays.asList("tran", "van", "an", "0901"), TextSearchIndex.tokenize("  Trần-Văn   Ân, 0901"));
+        assertEquals("", TextSearchIndex.fold(null));
+    }
+
+    @Test
+    void matchesWithOrWithoutAccents() {
+        TextSearchIndex<String[]> index = newIndex();
+        index.put(1, person("Đặng Thị Hồng", null));
+        index.put(2, person("Dang Van Hung", null));
+        index.put(3, person("Nguyễn Đức", null));
+
+        assertEquals(Arrays.asList(1, 2), index.search("dang", 0));
+        assertEquals(Arrays.asList(1, 2), index.search("ĐẶNG", 0));
+        assertEquals(Collections.singletonList(3), index.search("Nguye\u0302\u0303n \u0111u\u031bc", 0));
+        assertEquals(Collections.singletonList(1), index.search("hong dang", 0));
+        assertTrue(index.search("dang duc", 0).isEmpty());
+        assertTrue(index.search(" -- ", 0).isEmpty());
+    }
+
+    @Test
+    void exactTokensAndHeavierFieldsRankFirst() {
+        TextSearchIndex<String[]> index = newIndex();
+        index.put(1, person("Lê Anh", null));
+        index.put(2, person("Trần An", null));
+        index.put(3, person("Phạm Bình", "an@school.edu"));
+        index.put(4, person("Võ Anh", null));
+
+        // Exact name match 3 * 3, prefix name matches 3 * 2 tied by id, exact email match 1 * 3.
+        assertEquals(Arrays.asList(2, 1, 4, 3), index.search("an", 0));
+        assertEquals(Arrays.asList(2, 1), index.search("an", 2));
+        assertEquals(Arrays.asList(1, 4), index.search("anh", 5));
+    }
+
+    @Test
+    void phoneNumbersMatchAsOneRunOfDigits() {
+        TextSearchIndex<String[]> index = newIndex();
+        index.put(1, person("Lê Anh", "090-123-4567"));
+        index.put(2, person("Võ Anh", "0911 222 333"));
+
+        assertEquals(Collections.singletonList(1), index.search("0901234567", 0));
+        assertEquals(Collections.singletonList(1), index.search("090123", 0));
+        assertEquals(Collections.singletonList(1), index.search("4567", 0));
+        assertEquals(Collections.singletonList(2), index.search("anh 0911222", 0));
+    }
+
+    @Test
+    void reindexingDropsOldTokens() {
+        TextSearchIndex<String[]> index = newIndex();
+        index.put(1, person("Đặng Hồng", "0901"));
+        index.put(1, person("Lý Hồng", null));
+
+        assertTrue(index.search("dang", 0).isEmpty());
+        assertTrue(index.search("0901", 0).isEmpty());
+        assertEquals(Collections.singletonList(1), index.search("ly", 0));
+
+        index.remove(1);
+        assertTrue(index.search("hong", 0).isEmpty());
+    }
+
+    private static TextSearchIndex<String[]> newIndex() {
+        return new TextSearchIndex<String[]>("search", person -> Arrays.asList(
+                TextSearchIndex.field(person[0], 3),
+                TextSearchIndex.phoneField(person[1], 1)));
+    }
+
+    private static String[] person(String name, String contact) {
+        return new String[] {name, contact};
+    }
+}
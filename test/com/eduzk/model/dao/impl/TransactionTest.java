@@ -0,0 +1,117 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.dao.impl.codec.EntityFileFormat;
+import com.eduzk.model.dao.impl.codec.UserCodec;
+import com.eduzk.model.entities.Role;
+import com.eduzk.model.entities.Room;
+import com.eduzk.model.entities.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionTest {
+
+    @TempDir
+    File dir;
+
+    private IdGenerator ids() {
+        return new IdGenerator(new File(dir, "ids.dat").getPath());
+    }
+
+    private UserDAOImpl users(IdGenerator ids) {
+        UserDAOImpl users = new UserDAOImpl(new File(dir, "users.dat").getPath(), ids);
+        users.setWriteBehindWindow(0);
+        return users;
+    }
+
+    private RoomDAOImpl rooms(IdGenerator ids) {
+        RoomDAOImpl rooms = new RoomDAOImpl(new File(dir, "rooms.dat").getPath(), ids);
+        rooms.setWriteBehindWindow(0);
+        return rooms;
+    }
+
+    @Test
+    void commitIsDurableAcrossStores() {
+        IdGenerator ids = ids();
+        UserDAOImpl users = users(ids);
+        RoomDAOImpl rooms = rooms(ids);
+
+        try (Transaction tx = TransactionManager.getInstance().begin()) {
+            users.add(new User(0, "alice", "secret", Role.ADMIN, null, null));
+            rooms.add(new Room(0, "A101", "A", 30, "Lecture"));
+            assertEquals(2, tx.size());
+            tx.commit();
+            assertFalse(tx.isActive());
+        }
+        assertFalse(new File(dir, TransactionManager.JOURNAL_FILE_NAME).exists());
+
+        IdGenerator reopened = ids();
+        assertTrue(users(reopened).findByUsername("alice").isPresent());
+        assertTrue(rooms(reopened).findByRoomNumber("A101").isPresent());
+    }
+
+    @Test
+    void rollbackRestoresPreviousState() {
+        IdGenerator ids = ids();
+        UserDAOImpl users = users(ids);
+        User alice = new User(0, "alice", "secret", Role.ADMIN, null, null);
+        users.add(alice);
+
+        try (Transaction tx = TransactionManager.getInstance().begin()) {
+            users.update(new User(alice.getUserId(), "alicia", "secret", Role.ADMIN, null, null));
+            users.add(new User(0, "bob", "secret", Role.ADMIN, null, null));
+            assertTrue(users.findByUsername("alicia").isPresent());
+            assertEquals(2, tx.size());
+        }
+
+        assertTrue(users.findByUsername("alice").isPresent());
+        assertFalse(users.findByUsername("alicia").isPresent());
+        assertFalse(users.findByUsername("bob").isPresent());
+
+        UserDAOImpl reloaded = users(ids());
+        assertEquals(1, reloaded.getAll().size());
+        assertTrue(reloaded.findByUsername("alice").isPresent());
+    }
+
+    @Test
+    void rollbackKeepsNewerWritesFromOutsideTheTransaction() throws InterruptedException {
+        UserDAOImpl users = users(ids());
+        User alice = new User(0, "alice", "secret", Role.ADMIN, null, null);
+        User bob = new User(0, "bob", "secret", Role.ADMIN, null, null);
+        users.add(alice);
+        users.add(bob);
+
+        try (Transaction tx = TransactionManager.getInstance().begin()) {
+            users.update(new User(alice.getUserId(), "alicia", "secret", Role.ADMIN, null, null));
+            users.update(new User(bob.getUserId(), "robert", "secret", Role.ADMIN, null, null));
+            Thread outside = new Thread(() -> users.update(new User(alice.getUserId(), "alex", "secret", Role.ADMIN, null, null)));
+            outside.start();
+            outside.join();
+            tx.rollback();
+        }
+
+        assertTrue(users.findByUsername("alex").isPresent());
+        assertFalse(users.findByUsername("alice").isPresent());
+        assertTrue(users.findByUsername("bob").isPresent());
+        assertFalse(users.findByUsername("robert").isPresent());
+    }
+
+    @Test
+    void recoversCommittedChangesOnStartup() throws IOException {
+        User carol = new User(42, "carol", "secret", Role.ADMIN, null, null);
+        DataJournal.Record record = new DataJournal.Record(DataJournal.OP_PUT, 42, EntityFileFormat.encode(carol, UserCodec.INSTANCE));
+        TransactionJournal journal = new TransactionJournal(new File(dir, TransactionManager.JOURNAL_FILE_NAME));
+        journal.commit(1L, Collections.singletonList(new TransactionJournal.Entry("users.dat", record)));
+
+        UserDAOImpl users = users(ids());
+        assertEquals(42, users.findByUsername("carol").get().getUserId());
+        assertTrue(journal.readCommitted("users.dat").isEmpty());
+
+        assertTrue(users(ids()).findByUsername("carol").isPresent());
+    }
+}
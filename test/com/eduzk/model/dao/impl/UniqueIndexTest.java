@@ -0,0 +1,81 @@
+package com.eduzk.model.dao.impl;
+
+import com.eduzk.model.entities.Role;
+import com.eduzk.model.entities.User;
+import com.eduzk.model.exceptions.DataAccessException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UniqueIndexTest {
+
+    @TempDir
+    File dir;
+
+    private static UniqueIndex<String, String> lowerCaseIndex() {
+        return new UniqueIndex<>("name", value -> value != null ? value.toLowerCase() : null);
+    }
+
+    @Test
+    void reKeysOnPutAndForgetsOnRemove() {
+        UniqueIndex<String, String> index = lowerCaseIndex();
+        index.put(1, "Alice");
+        assertEquals(1, index.get("alice"));
+
+        index.put(1, "Alicia");
+        assertEquals(UniqueIndex.MISSING, index.get("alice"));
+        assertEquals(1, index.get("alicia"));
+
+        index.remove(1);
+        assertEquals(UniqueIndex.MISSING, index.get("alicia"));
+    }
+
+    @Test
+    void nullKeysAreNotIndexed() {
+        UniqueIndex<String, String> index = lowerCaseIndex();
+        index.put(1, null);
+        assertEquals(UniqueIndex.MISSING, index.get(null));
+        assertFalse(index.isTakenByOther("anything", 1));
+    }
+
+    @Test
+    void duplicateKeyPassesToNextHolderOnRemove() {
+        UniqueIndex<String, String> index = lowerCaseIndex();
+        index.put(1, "Bob");
+        index.put(2, "BOB");
+        index.put(3, "bob");
+        assertEquals(1, index.get("bob"));
+        assertTrue(index.isTakenByOther("bob", 4));
+        assertFalse(index.isTakenByOther("bob", 2));
+
+        index.remove(1);
+        int next = index.get("bob");
+        assertTrue(next == 2 || next == 3);
+
+        index.remove(next);
+        assertEquals(next == 2 ? 3 : 2, index.get("bob"));
+        assertTrue(index.isTakenByOther("bob", next));
+    }
+
+    @Test
+    void userDaoRejectsDuplicateUsernamesAndLinks() {
+        UserDAOImpl users = new UserDAOImpl(new File(dir, "users.dat").getPath(), new IdGenerator(new File(dir, "ids.dat").getPath()));
+        users.setWriteBehindWindow(0);
+        User alice = new User(0, "Alice", "secret", Role.STUDENT, null, 10);
+        users.add(alice);
+
+        assertThrows(DataAccessException.class, () -> users.add(new User(0, "alice", "secret", Role.ADMIN, null, null)));
+        assertThrows(DataAccessException.class, () -> users.add(new User(0, "bob", "secret", Role.STUDENT, null, 10)));
+        assertEquals(alice.getUserId(), users.findByUsername("ALICE").get().getUserId());
+        assertEquals(alice.getUserId(), users.findByStudentId(10).get().getUserId());
+
+        User renamed = new User(alice.getUserId(), "Alicia", "secret", Role.STUDENT, null, 10);
+        users.update(renamed);
+        assertFalse(users.findByUsername("alice").isPresent());
+        users.add(new User(0, "alice", "secret", Role.ADMIN, null, null));
+        assertTrue(users.findByUsername("alicia").isPresent());
+    }
+}
@@ -0,0 +1,112 @@
+package com.eduzk.model.dao.impl.codec;
+
+import com.eduzk.model.entities.Course;
+import com.eduzk.model.entities.EduClass;
+import com.eduzk.model.entities.Student;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityFileFormatTest {
+
+    private static Student student(int id, String name) {
+        return new Student(id, name, LocalDate.of(2010, 5, 17), "Nữ", "Hà Nội", "Phụ huynh", "0912 345 678", null);
+    }
+
+    private static EduClass eduClass() {
+        EduClass eduClass = new EduClass(7, "10A1", new Course(3, "MATH10", "Toán", null, 4, "10"), null, 40, "2025-2026", "HK1");
+        eduClass.setStudentIds(Arrays.asList(1, 2, 3));
+        return eduClass;
+    }
+
+    private static void assertSameStudent(Student expected, Student actual) {
+        assertEquals(expected.getStudentId(), actual.getStudentId());
+        assertEquals(expected.getFullName(), actual.getFullName());
+        assertEquals(expected.getDateOfBirth(), actual.getDateOfBirth());
+        assertEquals(expected.getPhone(), actual.getPhone());
+        assertNull(actual.getEmail());
+    }
+
+    private static void assertSameClass(EduClass expected, EduClass actual) {
+        assertEquals(expected.getClassId(), actual.getClassId());
+        assertEquals(expected.getClassName(), actual.getClassName());
+        assertEquals(expected.getCourse().getCourseCode(), actual.getCourse().getCourseCode());
+        assertEquals(expected.getCourse().getCredits(), actual.getCourse().getCredits());
+        assertNull(actual.getPrimaryTeacher());
+        assertEquals(expected.getStudentIds(), actual.getStudentIds());
+    }
+
+    @Test
+    void recordRoundTrip() throws IOException {
+        Student original = student(1, "Nguyễn Thị Lan");
+        assertSameStudent(original, EntityFileFormat.decode(EntityFileFormat.encode(original, StudentCodec.INSTANCE), StudentCodec.INSTANCE));
+
+        EduClass eduClass = eduClass();
+        assertSameClass(eduClass, EntityFileFormat.decode(EntityFileFormat.encode(eduClass, EduClassCodec.INSTANCE), EduClassCodec.INSTANCE));
+    }
+
+    @Test
+    void fileRoundTrip() throws IOException {
+        List<Student> students = Arrays.asList(student(1, "An"), student(2, "Bình"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EntityFileFormat.writeAll(out, students, StudentCodec.INSTANCE, Student::getStudentId);
+
+        List<Student> read = EntityFileFormat.readAll(new ByteArrayInputStream(out.toByteArray()), StudentCodec.INSTANCE);
+        assertEquals(2, read.size());
+        assertSameStudent(students.get(0), read.get(0));
+        assertSameStudent(students.get(1), read.get(1));
+    }
+
+    @Test
+    void readsVersionOneEduClassRecord() throws IOException {
+        EduClass eduClass = eduClass();
+        // Version 1 wrote nested records without their own version shorts.
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeShort(1);
+        out.writeInt(eduClass.getClassId());
+        CodecSupport.writeString(out, eduClass.getClassName());
+        out.writeBoolean(true);
+        CourseCodec.INSTANCE.write(out, eduClass.getCourse());
+        out.writeBoolean(false);
+        out.writeInt(eduClass.getMaxCapacity());
+        CodecSupport.writeString(out, eduClass.getAcademicYear());
+        CodecSupport.writeString(out, eduClass.getSemester());
+        out.writeInt(eduClass.getStudentIds().size());
+        for (Integer studentId : eduClass.getStudentIds()) {
+            out.writeInt(studentId);
+        }
+        out.flush();
+
+        assertSameClass(eduClass, EntityFileFormat.decode(buffer.toByteArray(), EduClassCodec.INSTANCE));
+    }
+
+    @Test
+    void readsLegacySerializedRecord() throws IOException {
+        Student original = student(5, "Trần Văn Minh");
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+            oos.writeObject(original);
+        }
+
+        assertSameStudent(original, EntityFileFormat.decode(buffer.toByteArray(), StudentCodec.INSTANCE));
+    }
+
+    @Test
+    void rejectsNewerRecordVersion() throws IOException {
+        byte[] payload = EntityFileFormat.encode(eduClass(), EduClassCodec.INSTANCE);
+        payload[0] = 0;
+        payload[1] = 9;
+
+        assertThrows(IOException.class, () -> EntityFileFormat.decode(payload, EduClassCodec.INSTANCE));
+    }
+}